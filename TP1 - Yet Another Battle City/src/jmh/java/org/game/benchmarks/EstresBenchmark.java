@@ -0,0 +1,154 @@
+package org.game.benchmarks;
+
+import org.game.modelo.Direccion;
+import org.game.modelo.ConstantesTablero;
+import org.game.modelo.Posicion;
+import org.game.modelo.entidades.Bala;
+import org.game.modelo.entidades.EnemigoBasico;
+import org.game.modelo.entidades.PoolBalas;
+import org.game.modelo.entidades.Tanque;
+import org.game.modelo.entidades.TanqueEnemigo;
+import org.game.modelo.terreno.Bloque;
+import org.game.modelo.terreno.BloqueAcero;
+import org.game.modelo.terreno.BloqueLadrillo;
+import org.game.modelo.terreno.Terreno;
+import org.game.niveles.Nivel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de un tick sobre niveles sintéticos con muchos tanques y balas.
+ * El terreno es un damero de ladrillos y acero en las celdas impares de la grilla de {@link Terreno}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EstresBenchmark {
+    private static final int TICKS = 60;
+    private static final double PASO = 1.0 / 60;
+    private static final long SEMILLA = 42L;
+    private static final int CONSULTAS = 1000;
+
+    @Param({"50", "200"})
+    public int tanques;
+
+    @Param({"100", "1000"})
+    public int balas;
+
+    private Nivel nivel;
+
+    /**
+     * Arma una sola vez el nivel sobre el que se miden las colisiones, que no lo modifican.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        nivel = crearNivel();
+    }
+
+    /**
+     * Arma un nivel nuevo con el terreno, los tanques y las balas indicados.
+     * @return nivel sintético
+     */
+    Nivel crearNivel() {
+        SplittableRandom aleatorio = new SplittableRandom(SEMILLA);
+        Nivel nuevo = new Nivel(aleatorio);
+        for (int fila = 1; fila < Terreno.FILAS - 1; fila += 2) {
+            for (int col = 1; col < Terreno.COLUMNAS - 1; col += 2) {
+                Posicion pos = new Posicion(col * Terreno.TAMANIO_CELDA, fila * Terreno.TAMANIO_CELDA);
+                Bloque bloque = (fila + col) % 4 == 0 ? new BloqueAcero(pos) : new BloqueLadrillo(pos);
+                nuevo.agregarBloque(bloque);
+            }
+        }
+        List<TanqueEnemigo> enemigos = new ArrayList<>();
+        for (int i = 0; i < tanques; i++) {
+            TanqueEnemigo enemigo = new EnemigoBasico(posicionAleatoria(aleatorio), aleatorio);
+            enemigos.add(enemigo);
+            nuevo.agregarEnemigo(enemigo);
+        }
+        Direccion[] direcciones = Direccion.values();
+        for (int i = 0; i < balas; i++) {
+            TanqueEnemigo propietario = enemigos.get(aleatorio.nextInt(enemigos.size()));
+            Direccion direccion = direcciones[aleatorio.nextInt(direcciones.length)];
+            nuevo.agregarBala(new Bala(posicionAleatoria(aleatorio), direccion, 400, propietario));
+        }
+        return nuevo;
+    }
+
+    /**
+     * Nivel que se consume al jugarlo, por lo que se vuelve a armar antes de cada invocación.
+     */
+    @State(Scope.Thread)
+    public static class NivelEnJuego {
+        private Nivel nivel;
+
+        /**
+         * Arma un nivel nuevo con la configuración del benchmark.
+         * @param configuracion estado del benchmark con la cantidad de tanques y balas
+         */
+        @Setup(Level.Invocation)
+        public void preparar(EstresBenchmark configuracion) {
+            nivel = configuracion.crearNivel();
+        }
+    }
+
+    /**
+     * Un segundo de juego del nivel sintético.
+     * @param estado nivel recién armado
+     */
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void nivelUpdate(NivelEnJuego estado) {
+        for (int i = 0; i < TICKS; i++) {
+            estado.nivel.update(PASO);
+        }
+    }
+
+    /**
+     * Solo la detección de colisiones de las balas, sin moverlas ni resolver los impactos: por cada bala
+     * consulta los bloques y tanques cercanos y cuenta con cuáles se superpone. Recorre las balas en orden
+     * hasta hacer siempre la misma cantidad de consultas, así el resultado queda en ns por bala.
+     * @return cantidad de superposiciones encontradas
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONSULTAS)
+    public int colisiones() {
+        PoolBalas pool = nivel.obtenerPoolBalas();
+        int cantidad = pool.cantidad();
+        int choques = 0;
+        for (int i = 0; i < CONSULTAS; i++) {
+            int bala = pool.obtenerIndice(i % cantidad);
+            int x = (int)pool.x(bala);
+            int y = (int)pool.y(bala);
+            for (Bloque bloque: nivel.bloquesEnArea(x, y, Bala.ANCHO_BALA, Bala.ALTURA_BALA)) {
+                if (pool.intersecta(bala, bloque.obtenerAreaX(), bloque.obtenerAreaY(), bloque.obtenerAreaAncho(), bloque.obtenerAreaAlto())) {
+                    choques++;
+                }
+            }
+            for (Tanque tanque: nivel.tanquesEnArea(x, y, Bala.ANCHO_BALA, Bala.ALTURA_BALA)) {
+                if (pool.intersecta(bala, tanque.obtenerAreaX(), tanque.obtenerAreaY(), tanque.obtenerAreaAncho(), tanque.obtenerAreaAlto())) {
+                    choques++;
+                }
+            }
+        }
+        return choques;
+    }
+
+    private static Posicion posicionAleatoria(SplittableRandom aleatorio) {
+        return new Posicion(
+                aleatorio.nextDouble(ConstantesTablero.ANCHO_SUBTABLERO - Bloque.ANCHO_BLOQUE),
+                aleatorio.nextDouble(ConstantesTablero.ALTURA_SUBTABLERO - Bloque.ALTURA_BLOQUE));
+    }
+}
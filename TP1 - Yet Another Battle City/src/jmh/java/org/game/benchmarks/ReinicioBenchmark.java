@@ -0,0 +1,63 @@
+package org.game.benchmarks;
+
+import org.game.modelo.Juego;
+import org.game.niveles.CatalogoNiveles;
+import org.game.niveles.Nivel;
+import org.game.niveles.NivelLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el reinicio de un nivel desde su plantilla en caché con el parseo de su XML.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ReinicioBenchmark {
+    private static final long SEMILLA = 42L;
+
+    @Param({"1", "2", "3"})
+    public int nivel;
+
+    private Juego juego;
+
+    /**
+     * Crea una partida de dos jugadores en el nivel a medir y precarga las plantillas.
+     */
+    @Setup
+    public void preparar() {
+        CatalogoNiveles.obtenerCompartido().precargar();
+        juego = new Juego(2, SEMILLA);
+        while (juego.getNroNivelActual() < nivel) {
+            juego.avanzarNivel();
+        }
+    }
+
+    /**
+     * Reinicio completo del nivel actual desde la plantilla, incluyendo los jugadores.
+     */
+    @Benchmark
+    public Nivel reiniciarNivel() {
+        juego.reiniciarNivel();
+        return juego.obtenerNivelActual();
+    }
+
+    /**
+     * Parseo del XML del nivel, el costo que tenía cada carga antes de la caché de plantillas.
+     */
+    @Benchmark
+    public Object parsearXML() throws Exception {
+        try (InputStream entrada = ReinicioBenchmark.class.getResourceAsStream("/niveles/GeneratedLevels/Level" + nivel + ".xml")) {
+            return NivelLoader.leerXML(entrada);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.game.benchmarks;
+
+import org.game.modelo.AccesoBenchmarks;
+import org.game.modelo.Juego;
+import org.game.niveles.Nivel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de un tick de juego sobre los niveles reales (Level1 a Level3).
+ * Cada invocación simula 10 segundos de juego a partir del nivel recién cargado,
+ * y los resultados se reportan por tick. Con -prof gc se obtienen las asignaciones por tick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TickBenchmark {
+    private static final int TICKS = 600;
+    private static final double PASO = 1.0 / 60;
+    private static final long SEMILLA = 42L;
+
+    @Param({"1", "2", "3"})
+    public int nivel;
+
+    private Juego juego;
+
+    /**
+     * Crea una partida de dos jugadores y la lleva hasta el nivel a medir.
+     */
+    @Setup(Level.Invocation)
+    public void preparar() {
+        juego = new Juego(2, SEMILLA);
+        while (juego.getNroNivelActual() < nivel) {
+            juego.avanzarNivel();
+        }
+    }
+
+    /**
+     * Tick completo del juego: nivel, disparos enemigos, colisiones y estado.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void juegoUpdate() {
+        for (int i = 0; i < TICKS; i++) {
+            juego.update(PASO);
+        }
+    }
+
+    /**
+     * Solo la actualización del nivel: tanques, balas y sus colisiones.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void nivelUpdate() {
+        Nivel nivelActual = juego.obtenerNivelActual();
+        for (int i = 0; i < TICKS; i++) {
+            nivelActual.update(PASO);
+        }
+    }
+
+    /**
+     * Solo la verificación de colisiones de tanques contra bloques, tanques y power-ups.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void verificarColisiones() {
+        for (int i = 0; i < TICKS; i++) {
+            AccesoBenchmarks.verificarColisiones(juego);
+        }
+    }
+}
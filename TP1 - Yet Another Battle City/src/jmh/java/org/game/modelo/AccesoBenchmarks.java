@@ -0,0 +1,21 @@
+package org.game.modelo;
+
+/**
+ * Da acceso a los benchmarks a partes de Juego que no son públicas, para medirlas de forma aislada.
+ * Vive en el mismo paquete que Juego pero solo entre las fuentes de los benchmarks, así que no amplía la API del juego.
+ */
+public final class AccesoBenchmarks {
+    /**
+     * Clase de utilidad, no se instancia.
+     */
+    private AccesoBenchmarks() {
+    }
+
+    /**
+     * Ejecuta solo la verificación de colisiones de tanques contra bloques, tanques y power-ups.
+     * @param juego juego a medir
+     */
+    public static void verificarColisiones(Juego juego) {
+        juego.verficarColisiones();
+    }
+}
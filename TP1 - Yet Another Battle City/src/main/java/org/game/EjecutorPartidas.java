@@ -0,0 +1,165 @@
+package org.game;
+
+import org.game.modelo.Juego;
+import org.game.niveles.CatalogoNiveles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class EjecutorPartidas {
+    private static final double TICKS_POR_SEGUNDO = 60.0;
+    private static final long MAX_TICKS = 60L * 60 * 5;
+
+    private final int hilos;
+    private final int cantJugadores;
+    private final long maxTicks;
+    private final double ticksPorSegundo;
+
+    /**
+     * Crea un ejecutor que juega partidas sin interfaz gráfica ni sonido en paralelo.
+     * Cada partida tiene su propio Juego, su propia fuente de números aleatorios y su propio buffer de eventos,
+     * y solo comparte con las demás las plantillas inmutables de los niveles.
+     * @param hilos cantidad de hilos a usar
+     * @param cantJugadores cantidad de jugadores de cada partida (1 o 2)
+     * @param maxTicks cantidad máxima de ticks de cada partida
+     * @param ticksPorSegundo cantidad de ticks por segundo de tiempo de juego
+     * @throws IllegalArgumentException si la cantidad de hilos no es positiva
+     */
+    public EjecutorPartidas(int hilos, int cantJugadores, long maxTicks, double ticksPorSegundo) {
+        if (hilos <= 0) {
+            throw new IllegalArgumentException("La cantidad de hilos debe ser positiva");
+        }
+        this.hilos = hilos;
+        this.cantJugadores = cantJugadores;
+        this.maxTicks = maxTicks;
+        this.ticksPorSegundo = ticksPorSegundo;
+    }
+
+    /**
+     * Crea un ejecutor que usa un hilo por procesador disponible.
+     * @param cantJugadores cantidad de jugadores de cada partida (1 o 2)
+     * @param maxTicks cantidad máxima de ticks de cada partida
+     * @param ticksPorSegundo cantidad de ticks por segundo de tiempo de juego
+     */
+    public EjecutorPartidas(int cantJugadores, long maxTicks, double ticksPorSegundo) {
+        this(Runtime.getRuntime().availableProcessors(), cantJugadores, maxTicks, ticksPorSegundo);
+    }
+
+    /**
+     * Juega en paralelo una partida por cada semilla, comenzando en el nivel indicado para cada una.
+     * @param semillas semilla de cada partida
+     * @param nivelesIniciales nivel inicial de cada partida
+     * @return resultados en el mismo orden que las semillas
+     * @throws IllegalArgumentException si la cantidad de semillas y de niveles no coincide
+     * @throws IllegalStateException si alguna partida falla o se interrumpe la espera
+     */
+    public List<ResultadoPartida> ejecutar(long[] semillas, int[] nivelesIniciales) {
+        if (semillas.length != nivelesIniciales.length) {
+            throw new IllegalArgumentException("La cantidad de semillas no coincide con la cantidad de niveles");
+        }
+        CatalogoNiveles.obtenerCompartido().precargar();
+        List<Callable<ResultadoPartida>> tareas = new ArrayList<>(semillas.length);
+        for (int i = 0; i < semillas.length; i++) {
+            long semilla = semillas[i];
+            int nivelInicial = nivelesIniciales[i];
+            tareas.add(() -> jugar(semilla, nivelInicial));
+        }
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Math.min(hilos, Math.max(1, tareas.size())));
+        try {
+            List<ResultadoPartida> resultados = new ArrayList<>(tareas.size());
+            for (Future<ResultadoPartida> futuro: ejecutor.invokeAll(tareas)) {
+                resultados.add(futuro.get());
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Se interrumpió la ejecución de las partidas", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló una de las partidas", e.getCause());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Juega en paralelo la cantidad de partidas indicada. Las semillas se derivan de la semilla base
+     * y los niveles iniciales recorren todos los niveles disponibles, uno por partida.
+     * @param cantidad cantidad de partidas
+     * @param semillaBase semilla de la que se derivan las semillas de las partidas
+     * @return resultados de las partidas
+     */
+    public List<ResultadoPartida> ejecutar(int cantidad, long semillaBase) {
+        SplittableRandom aleatorio = new SplittableRandom(semillaBase);
+        int cantidadNiveles = CatalogoNiveles.obtenerCompartido().cantidadNiveles();
+        long[] semillas = new long[cantidad];
+        int[] niveles = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            semillas[i] = aleatorio.nextLong();
+            niveles[i] = 1 + i % cantidadNiveles;
+        }
+        return ejecutar(semillas, niveles);
+    }
+
+    /**
+     * Juega una partida completa en el hilo actual.
+     * @param semilla semilla de la partida
+     * @param nivelInicial nivel con el que comienza la partida
+     * @return resultado de la partida
+     */
+    public ResultadoPartida jugar(long semilla, int nivelInicial) {
+        Juego juego = new Juego(cantJugadores, semilla, nivelInicial);
+        Simulador simulador = new Simulador(juego, ticksPorSegundo);
+        simulador.ejecutar(maxTicks);
+        return new ResultadoPartida(semilla, nivelInicial, juego.getNroNivelActual(), juego.obtenerEstadoJuego(),
+                simulador.obtenerTicks(), juego.obtenerEnemigosDestruidos(), juego.baseDestruida());
+    }
+
+    /**
+     * Punto de entrada para jugar muchas partidas en paralelo y mostrar un resumen.
+     * Argumentos opcionales: cantidad de partidas, cantidad de jugadores, cantidad máxima de ticks, semilla base e hilos.
+     * @param args argumentos de la línea de comandos
+     */
+    public static void main(String[] args) {
+        int cantidad = 100;
+        int cantJugadores = 1;
+        long maxTicks = MAX_TICKS;
+        long semillaBase = System.nanoTime();
+        int hilos = Runtime.getRuntime().availableProcessors();
+        if (args.length > 0) {
+            cantidad = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            cantJugadores = Integer.parseInt(args[1]);
+        }
+        if (args.length > 2) {
+            maxTicks = Long.parseLong(args[2]);
+        }
+        if (args.length > 3) {
+            semillaBase = Long.parseLong(args[3]);
+        }
+        if (args.length > 4) {
+            hilos = Integer.parseInt(args[4]);
+        }
+
+        EjecutorPartidas ejecutor = new EjecutorPartidas(hilos, cantJugadores, maxTicks, TICKS_POR_SEGUNDO);
+        long inicio = System.nanoTime();
+        ResumenPartidas resumen = ResumenPartidas.de(ejecutor.ejecutar(cantidad, semillaBase));
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        System.out.println("Semilla base: " + semillaBase);
+        System.out.println("Partidas: " + resumen.partidas() + " en " + hilos + " hilos");
+        System.out.println("Victorias: " + resumen.victorias());
+        System.out.println("Derrotas: " + resumen.derrotas());
+        System.out.println("Inconclusas: " + resumen.inconclusas());
+        System.out.println("Bases destruidas: " + resumen.basesDestruidas());
+        System.out.printf("Enemigos destruidos por partida: %.2f%n", resumen.enemigosDestruidosPromedio());
+        System.out.printf("Ticks por partida: %.0f%n", resumen.ticksPromedio());
+        System.out.printf("Ticks por segundo (total): %.0f%n", resumen.ticksTotales() / segundos);
+    }
+}
@@ -6,34 +6,71 @@ import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import org.game.controladores.ControladorJuego;
+import org.game.controladores.EntradaJugadores;
+import org.game.modelo.BufferEventos;
+import org.game.modelo.EstadoJuego;
 import org.game.modelo.Juego;
+import org.game.modelo.entidades.ModoIA;
+import org.game.modelo.ia.PlanificadorIA;
+import org.game.niveles.CatalogoNiveles;
+import org.game.repeticion.Repeticion;
+import org.game.repeticion.ReproductorRepeticion;
+import org.game.visualizacion.GestorFuentes;
 import org.game.visualizacion.GestorImagen;
 import org.game.visualizacion.GestorSonido;
+import org.game.visualizacion.ReproductorEventos;
+import org.game.visualizacion.SalidaAudio;
 import org.game.visualizacion.VistaJuego;
 import org.game.visualizacion.VistaMenu;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class Main extends Application {
     private static final int ANCHO_VENTANA = 800;
     private static final int ALTURA_VENTANA = 600;
+    private static final String PARAMETRO_FRECUENCIA_FISICA = "fisica-hz";
+    private static final String PARAMETRO_GRABAR = "grabar";
+    private static final String PARAMETRO_REPETIR = "repetir";
+    private static final String PARAMETRO_VELOCIDAD = "velocidad";
+    private static final String PARAMETRO_DESDE_TICK = "desde-tick";
+    private static final String PARAMETRO_IA = "ia";
+    private static final String PARAMETRO_DISPARO_APUNTADO = "--disparo-apuntado";
+    private static final long PRESUPUESTO_IA_NANOS = 500_000;
 
-    private GestorSonido gestorSonido = new GestorSonido();
+    private SalidaAudio gestorSonido = new GestorSonido();
+    private ReproductorEventos reproductorEventos = new ReproductorEventos(gestorSonido);
     private GestorImagen gestorImagen;
+    private GestorFuentes gestorFuentes;
     private VistaMenu vistaMenu;
     private Scene escenaMenu;
+    private double frecuenciaFisica = PasoFijo.FRECUENCIA_POR_DEFECTO;
+    private ModoIA modoIA = ModoIA.ALEATORIO;
+    private boolean disparoApuntado;
+    private Path rutaGrabacion;
+    private Repeticion grabacionActual;
 
     /**
      * Método principal de inicio de la aplicación. Configura la ventana principal,
-     * inicializa los gestores de imagen y sonido, y muestra el menú principal.
+     * inicializa los gestores de imagen, fuentes y sonido, precarga los niveles en segundo plano y muestra el menú principal.
      * Asocia las acciones del menú para iniciar el juego o salir.
+     * Con el parámetro --repetir=archivo reproduce esa repetición en lugar de esperar una selección del menú.
      * @param stagePrimaria la ventana principal de la aplicación
      */
     @Override
     public void start(Stage stagePrimaria) {
         stagePrimaria.setTitle("Yet Another Battle City");
         stagePrimaria.setResizable(false);
+        CatalogoNiveles.obtenerCompartido().precargarEnSegundoPlano();
+        frecuenciaFisica = leerParametroPositivo(PARAMETRO_FRECUENCIA_FISICA, PasoFijo.FRECUENCIA_POR_DEFECTO);
+        modoIA = leerModoIA();
+        disparoApuntado = getParameters().getUnnamed().contains(PARAMETRO_DISPARO_APUNTADO);
+        String grabar = getParameters().getNamed().get(PARAMETRO_GRABAR);
+        rutaGrabacion = grabar != null ? Path.of(grabar) : null;
 
         gestorImagen = new GestorImagen();
-        vistaMenu = new VistaMenu(gestorImagen);
+        gestorFuentes = new GestorFuentes();
+        vistaMenu = new VistaMenu(gestorImagen, gestorFuentes);
         escenaMenu = new Scene(vistaMenu, ANCHO_VENTANA, ALTURA_VENTANA);
 
         Image logo = gestorImagen.obtenerImagen("LOGO");
@@ -52,20 +89,133 @@ public class Main extends Application {
         stagePrimaria.setScene(escenaMenu);
         stagePrimaria.show();
         vistaMenu.requestFocus();
+
+        String repetir = getParameters().getNamed().get(PARAMETRO_REPETIR);
+        if (repetir != null) {
+            iniciarRepeticion(stagePrimaria, Path.of(repetir));
+        }
+    }
+
+    /**
+     * Se llama al cerrar la aplicación. Guarda la partida que se estaba grabando y detiene el hilo que reproduce los sonidos.
+     */
+    @Override
+    public void stop() {
+        guardarGrabacion();
+        gestorSonido.cerrar();
+    }
+
+    /**
+     * Escribe la partida que se está grabando en el archivo indicado con --grabar, si hay alguna.
+     */
+    private void guardarGrabacion() {
+        if (grabacionActual == null) {
+            return;
+        }
+        try {
+            grabacionActual.guardar(rutaGrabacion);
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar la repetición en " + rutaGrabacion + ": " + e.getMessage());
+        }
+        grabacionActual = null;
+    }
+
+    /**
+     * Lee un parámetro numérico positivo de la forma --nombre=N. Si no se indica o no es válido, usa el valor por defecto.
+     * @param nombre nombre del parámetro
+     * @param porDefecto valor a usar si falta o no es válido
+     * @return valor del parámetro
+     */
+    private double leerParametroPositivo(String nombre, double porDefecto) {
+        String valor = getParameters().getNamed().get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            double numero = Double.parseDouble(valor);
+            if (numero > 0) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo y se usa el valor por defecto.
+        }
+        System.err.println("Valor inválido para --" + nombre + ": " + valor);
+        return porDefecto;
+    }
+
+    /**
+     * Lee un parámetro entero no negativo de la forma --nombre=N. Si no se indica o no es válido, usa el valor por defecto.
+     * @param nombre nombre del parámetro
+     * @param porDefecto valor a usar si falta o no es válido
+     * @return valor del parámetro
+     */
+    private long leerParametroNoNegativo(String nombre, long porDefecto) {
+        String valor = getParameters().getNamed().get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            long numero = Long.parseLong(valor);
+            if (numero >= 0) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo y se usa el valor por defecto.
+        }
+        System.err.println("Valor inválido para --" + nombre + ": " + valor);
+        return porDefecto;
+    }
+
+    /**
+     * Lee el modo de la inteligencia de los enemigos del parámetro --ia=aleatorio o --ia=dirigido.
+     * Si no se indica o no es válido, los enemigos se mueven al azar como siempre.
+     * @return modo de la inteligencia de los enemigos
+     */
+    private ModoIA leerModoIA() {
+        String valor = getParameters().getNamed().get(PARAMETRO_IA);
+        if (valor == null) {
+            return ModoIA.ALEATORIO;
+        }
+        for (ModoIA modo: ModoIA.values()) {
+            if (modo.name().equalsIgnoreCase(valor)) {
+                return modo;
+            }
+        }
+        System.err.println("Valor inválido para --" + PARAMETRO_IA + ": " + valor);
+        return ModoIA.ALEATORIO;
     }
 
     /**
      * Inicia una nueva partida del juego con la cantidad de jugadores especificada.
      * Configura la escena del juego, el controlador y el bucle de animación principal.
+     * La física avanza en pasos fijos: el tiempo real de cada cuadro se acumula y se consume en pasos
+     * de la frecuencia configurada, y la vista dibuja interpolando con el tiempo que sobra.
+     * Los eventos que anota el modelo durante los pasos se convierten en sonidos una vez por cuadro,
+     * y recién al final del cuadro se envían a la salida de audio, juntando los repetidos.
+     * Las entradas de los jugadores se toman una vez por paso y solo se aplican mientras el juego corre; si se indicó --grabar,
+     * esas mismas entradas se graban en una repetición que se guarda al terminar la partida.
+     * Sin grabación, las decisiones de los enemigos tienen además un presupuesto de tiempo por paso, ya que no hace falta
+     * reproducir la partida; al grabar se deja sin presupuesto para que la repetición vuelva a dar lo mismo.
+     * Los enemigos usan el modo de inteligencia indicado con --ia, y con --disparo-apuntado disparan solo cuando ven un blanco.
      * Permite volver al menú al finalizar la partida y reinicia la música de fondo.
      * @param stagePrimaria la ventana principal de la aplicación
      * @param cantJugadores cantidad de jugadores (1 o 2)
      */
     private void iniciarJuego(Stage stagePrimaria, int cantJugadores) {
-        Juego modeloJuego = new Juego(cantJugadores, gestorSonido);
-        VistaJuego vistaJuego = new VistaJuego(modeloJuego, gestorImagen);
+        Juego modeloJuego = new Juego(cantJugadores);
+        modeloJuego.usarModoIA(modoIA);
+        modeloJuego.usarDisparoApuntado(disparoApuntado);
+        Repeticion grabacion = null;
+        if (rutaGrabacion != null) {
+            grabacion = Repeticion.grabar(modeloJuego, frecuenciaFisica);
+        } else {
+            modeloJuego.usarPlanificadorIA(new PlanificadorIA(PlanificadorIA.DECISIONES_POR_TICK, PRESUPUESTO_IA_NANOS));
+        }
+        grabacionActual = grabacion;
+        BufferEventos eventos = modeloJuego.obtenerEventos();
+        VistaJuego vistaJuego = new VistaJuego(modeloJuego, gestorImagen, gestorFuentes);
         vistaJuego.centrarTablero(ANCHO_VENTANA, ALTURA_VENTANA);
-        ControladorJuego controladorJuego = new ControladorJuego(modeloJuego);
+        ControladorJuego controladorJuego = new ControladorJuego();
 
         Scene escenaJuego = new Scene(vistaJuego, ANCHO_VENTANA, ALTURA_VENTANA);
         escenaJuego.setOnKeyPressed(controladorJuego::handleKeyPressed);
@@ -73,6 +223,10 @@ public class Main extends Application {
 
         stagePrimaria.setScene(escenaJuego);
 
+        PasoFijo pasoFijo = new PasoFijo(frecuenciaFisica, PasoFijo.MAX_PASOS_POR_DEFECTO);
+        double paso = pasoFijo.obtenerPaso();
+        Repeticion grabacionPartida = grabacion;
+
         new AnimationTimer() {
             private long ultimaActualizacion = 0;
 
@@ -87,21 +241,104 @@ public class Main extends Application {
 
                 if (vistaJuego.isFinTransicion()) {
                     this.stop();
-                    vistaMenu.setOnSeleccion1Jugador(() -> iniciarJuego(stagePrimaria, 1));
-                    vistaMenu.setOnSeleccion2Jugadores(() -> iniciarJuego(stagePrimaria, 2));
-                    vistaMenu.setOnSeleccionSalir(stagePrimaria::close);
-                    stagePrimaria.setScene(escenaMenu);
-                    gestorSonido.detener("MUSICA_FONDO");
-                    gestorSonido.reproducir("MUSICA_FONDO");
-                    vistaJuego.resetTransicionFin();
-                    vistaMenu.requestFocus();
+                    guardarGrabacion();
+                    volverAlMenu(stagePrimaria, vistaJuego);
                     return;
                 }
 
-                controladorJuego.actualizarMovimiento(tiempoDelta);
-                modeloJuego.update(tiempoDelta);
-                vistaJuego.render();
+                int pasos = pasoFijo.avanzar(tiempoDelta);
+                for (int i = 0; i < pasos; i++) {
+                    modeloJuego.guardarPosicionesPrevias();
+                    int entrada = controladorJuego.tomarEntrada();
+                    if (modeloJuego.obtenerEstadoJuego() == EstadoJuego.CORRIENDO) {
+                        if (grabacionPartida != null) {
+                            grabacionPartida.agregar(entrada);
+                        }
+                        EntradaJugadores.aplicar(modeloJuego, entrada, paso);
+                    }
+                    modeloJuego.update(paso);
+                }
+                eventos.recorrer(reproductorEventos);
+                eventos.limpiar();
+                gestorSonido.finalizarCuadro();
+                vistaJuego.render(pasoFijo.obtenerAlfa());
             }
         }.start();
     }
+
+    /**
+     * Reproduce en la vista del juego una repetición grabada con --grabar, sin controles de los jugadores.
+     * Con --velocidad=N la reproducción corre N veces más rápido (o más lento si N es menor que 1), y con
+     * --desde-tick=N avanza sin dibujar hasta ese tick antes de empezar a mostrarla.
+     * Los cambios de nivel los sigue haciendo la vista, después de su cartel, igual que en una partida normal.
+     * Al terminar la partida vuelve al menú; si la grabación se corta antes, la vista queda en el último tick.
+     * @param stagePrimaria la ventana principal de la aplicación
+     * @param ruta ruta del archivo de la repetición
+     */
+    private void iniciarRepeticion(Stage stagePrimaria, Path ruta) {
+        Repeticion repeticion;
+        try {
+            repeticion = Repeticion.cargar(ruta);
+        } catch (IOException e) {
+            System.err.println("No se pudo leer la repetición " + ruta + ": " + e.getMessage());
+            return;
+        }
+        double velocidad = leerParametroPositivo(PARAMETRO_VELOCIDAD, 1.0);
+        long desdeTick = leerParametroNoNegativo(PARAMETRO_DESDE_TICK, 0);
+        ReproductorRepeticion reproductor = new ReproductorRepeticion(repeticion);
+        reproductor.avanzarHasta(desdeTick);
+        Juego modeloJuego = reproductor.obtenerJuego();
+        BufferEventos eventos = modeloJuego.obtenerEventos();
+        VistaJuego vistaJuego = new VistaJuego(modeloJuego, gestorImagen, gestorFuentes);
+        vistaJuego.centrarTablero(ANCHO_VENTANA, ALTURA_VENTANA);
+        stagePrimaria.setScene(new Scene(vistaJuego, ANCHO_VENTANA, ALTURA_VENTANA));
+
+        int maxPasos = (int)Math.ceil(PasoFijo.MAX_PASOS_POR_DEFECTO * Math.max(1.0, velocidad));
+        PasoFijo pasoFijo = new PasoFijo(repeticion.obtenerTicksPorSegundo(), maxPasos);
+
+        new AnimationTimer() {
+            private long ultimaActualizacion = 0;
+
+            @Override
+            public void handle(long ahora) {
+                if (ultimaActualizacion == 0) {
+                    ultimaActualizacion = ahora;
+                    return;
+                }
+                double tiempoDelta = (ahora - ultimaActualizacion) / 1_000_000_000.0;
+                ultimaActualizacion = ahora;
+
+                if (vistaJuego.isFinTransicion()) {
+                    this.stop();
+                    volverAlMenu(stagePrimaria, vistaJuego);
+                    return;
+                }
+
+                int pasos = pasoFijo.avanzar(tiempoDelta * velocidad);
+                for (int i = 0; i < pasos && modeloJuego.obtenerEstadoJuego() == EstadoJuego.CORRIENDO; i++) {
+                    reproductor.avanzar();
+                }
+                eventos.recorrer(reproductorEventos);
+                eventos.limpiar();
+                gestorSonido.finalizarCuadro();
+                vistaJuego.render(pasoFijo.obtenerAlfa());
+            }
+        }.start();
+    }
+
+    /**
+     * Vuelve al menú principal al terminar una partida o una repetición, reiniciando la música de fondo.
+     * @param stagePrimaria la ventana principal de la aplicación
+     * @param vistaJuego vista de la partida que terminó
+     */
+    private void volverAlMenu(Stage stagePrimaria, VistaJuego vistaJuego) {
+        vistaMenu.setOnSeleccion1Jugador(() -> iniciarJuego(stagePrimaria, 1));
+        vistaMenu.setOnSeleccion2Jugadores(() -> iniciarJuego(stagePrimaria, 2));
+        vistaMenu.setOnSeleccionSalir(stagePrimaria::close);
+        stagePrimaria.setScene(escenaMenu);
+        gestorSonido.detener("MUSICA_FONDO");
+        gestorSonido.reproducir("MUSICA_FONDO");
+        vistaJuego.resetTransicionFin();
+        vistaMenu.requestFocus();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package org.game;
+
+public class PasoFijo {
+    public static final double FRECUENCIA_POR_DEFECTO = 60.0;
+    public static final int MAX_PASOS_POR_DEFECTO = 5;
+
+    private final double paso;
+    private final int maxPasosPorCuadro;
+    private double acumulado;
+
+    /**
+     * Crea un acumulador que reparte el tiempo real de cada cuadro en pasos de física de duración fija.
+     * @param frecuencia cantidad de pasos de física por segundo
+     * @param maxPasosPorCuadro cantidad máxima de pasos a ejecutar en un cuadro; el tiempo que sobra se descarta
+     * @throws IllegalArgumentException si la frecuencia o la cantidad máxima de pasos no son positivas
+     */
+    public PasoFijo(double frecuencia, int maxPasosPorCuadro) {
+        if (!(frecuencia > 0) || maxPasosPorCuadro <= 0) {
+            throw new IllegalArgumentException("La frecuencia y la cantidad máxima de pasos deben ser positivas");
+        }
+        this.paso = 1.0 / frecuencia;
+        this.maxPasosPorCuadro = maxPasosPorCuadro;
+        this.acumulado = 0;
+    }
+
+    /**
+     * Suma el tiempo real transcurrido y devuelve cuántos pasos fijos hay que ejecutar en este cuadro.
+     * Si el tiempo alcanza para más pasos que el máximo (por ejemplo, luego de una pausa larga),
+     * se ejecuta el máximo y el resto se descarta, de modo que el costo de cada cuadro queda acotado.
+     * @param tiempoReal tiempo real transcurrido desde el cuadro anterior (en segundos)
+     * @return cantidad de pasos a ejecutar
+     */
+    public int avanzar(double tiempoReal) {
+        if (tiempoReal > 0) {
+            acumulado += tiempoReal;
+        }
+        int pasos = (int)(acumulado / paso);
+        if (pasos > maxPasosPorCuadro) {
+            pasos = maxPasosPorCuadro;
+            acumulado = 0;
+        } else {
+            acumulado -= pasos * paso;
+        }
+        return pasos;
+    }
+
+    /**
+     * Devuelve la duración de cada paso de física.
+     * @return duración del paso en segundos
+     */
+    public double obtenerPaso() {
+        return paso;
+    }
+
+    /**
+     * Devuelve qué fracción del siguiente paso ya transcurrió, para interpolar el dibujo
+     * entre el estado anterior y el actual.
+     * @return fracción entre 0 y 1
+     */
+    public double obtenerAlfa() {
+        return Math.min(1.0, acumulado / paso);
+    }
+}
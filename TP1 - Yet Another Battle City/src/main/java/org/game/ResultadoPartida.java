@@ -0,0 +1,31 @@
+package org.game;
+
+import org.game.modelo.EstadoJuego;
+
+public record ResultadoPartida(long semilla, int nivelInicial, int nivelAlcanzado, EstadoJuego estadoFinal,
+                               long ticks, int enemigosDestruidos, boolean baseDestruida) {
+
+    /**
+     * Indica si los jugadores ganaron la partida, superando todos los niveles.
+     * @return true si la partida terminó en victoria
+     */
+    public boolean ganaronJugadores() {
+        return estadoFinal == EstadoJuego.VICTORIA;
+    }
+
+    /**
+     * Indica si los enemigos ganaron la partida, destruyendo la base o a todos los jugadores.
+     * @return true si la partida terminó en derrota
+     */
+    public boolean ganaronEnemigos() {
+        return estadoFinal == EstadoJuego.FIN;
+    }
+
+    /**
+     * Indica si la partida se cortó por alcanzar la cantidad máxima de ticks sin un ganador.
+     * @return true si la partida no terminó
+     */
+    public boolean inconclusa() {
+        return !ganaronJugadores() && !ganaronEnemigos();
+    }
+}
@@ -0,0 +1,52 @@
+package org.game;
+
+import java.util.List;
+
+public record ResumenPartidas(int partidas, int victorias, int derrotas, int inconclusas,
+                              long ticksTotales, long enemigosDestruidos, int basesDestruidas) {
+
+    /**
+     * Resume los resultados de un conjunto de partidas.
+     * @param resultados resultados de las partidas
+     * @return resumen con los totales
+     */
+    public static ResumenPartidas de(List<ResultadoPartida> resultados) {
+        int victorias = 0;
+        int derrotas = 0;
+        int inconclusas = 0;
+        long ticks = 0;
+        long enemigos = 0;
+        int bases = 0;
+        for (ResultadoPartida resultado: resultados) {
+            if (resultado.ganaronJugadores()) {
+                victorias++;
+            } else if (resultado.ganaronEnemigos()) {
+                derrotas++;
+            } else {
+                inconclusas++;
+            }
+            ticks += resultado.ticks();
+            enemigos += resultado.enemigosDestruidos();
+            if (resultado.baseDestruida()) {
+                bases++;
+            }
+        }
+        return new ResumenPartidas(resultados.size(), victorias, derrotas, inconclusas, ticks, enemigos, bases);
+    }
+
+    /**
+     * Devuelve el promedio de ticks por partida.
+     * @return ticks promedio, o 0 si no hubo partidas
+     */
+    public double ticksPromedio() {
+        return partidas == 0 ? 0 : (double)ticksTotales / partidas;
+    }
+
+    /**
+     * Devuelve el promedio de enemigos destruidos por partida.
+     * @return enemigos destruidos en promedio, o 0 si no hubo partidas
+     */
+    public double enemigosDestruidosPromedio() {
+        return partidas == 0 ? 0 : (double)enemigosDestruidos / partidas;
+    }
+}
@@ -0,0 +1,136 @@
+package org.game;
+
+import org.game.modelo.EstadoJuego;
+import org.game.modelo.Juego;
+
+public class Simulador {
+    private static final double TICKS_POR_SEGUNDO = 60.0;
+    private static final long MAX_TICKS = 60L * 60 * 5;
+
+    private final Juego juego;
+    private final double paso;
+    private long ticks;
+    private long nanosEjecucion;
+
+    /**
+     * Crea un simulador que avanza el juego indicado con un paso de tiempo fijo.
+     * @param juego juego a simular
+     * @param ticksPorSegundo cantidad de ticks por segundo de tiempo de juego
+     */
+    public Simulador(Juego juego, double ticksPorSegundo) {
+        this.juego = juego;
+        this.paso = 1.0 / ticksPorSegundo;
+        this.ticks = 0;
+        this.nanosEjecucion = 0;
+    }
+
+    /**
+     * Avanza la simulación un tick. Si el nivel actual fue completado, avanza al siguiente nivel.
+     * Los eventos anotados durante el tick se descartan, ya que no hay sonido ni vista que los consuma.
+     */
+    public void tick() {
+        if (juego.obtenerEstadoJuego() == EstadoJuego.NIVEL_COMPLETO) {
+            juego.avanzarNivel();
+        } else {
+            juego.update(paso);
+        }
+        juego.obtenerEventos().limpiar();
+        ticks++;
+    }
+
+    /**
+     * Ejecuta la simulación tan rápido como lo permita el procesador, hasta que la partida
+     * termine o se alcance la cantidad máxima de ticks.
+     * @param maxTicks cantidad máxima de ticks a ejecutar
+     * @return cantidad de ticks ejecutados en esta llamada
+     */
+    public long ejecutar(long maxTicks) {
+        long inicio = System.nanoTime();
+        long ejecutados = 0;
+        while (ejecutados < maxTicks && !terminado()) {
+            tick();
+            ejecutados++;
+        }
+        nanosEjecucion += System.nanoTime() - inicio;
+        return ejecutados;
+    }
+
+    /**
+     * Indica si la partida terminó, ya sea por victoria o por derrota.
+     * @return true si la partida terminó, false en caso contrario
+     */
+    public boolean terminado() {
+        EstadoJuego estado = juego.obtenerEstadoJuego();
+        return estado == EstadoJuego.VICTORIA || estado == EstadoJuego.FIN;
+    }
+
+    /**
+     * Devuelve la cantidad total de ticks ejecutados.
+     * @return cantidad de ticks
+     */
+    public long obtenerTicks() {
+        return ticks;
+    }
+
+    /**
+     * Devuelve el tiempo de juego simulado hasta el momento.
+     * @return tiempo simulado en segundos
+     */
+    public double obtenerTiempoSimulado() {
+        return ticks * paso;
+    }
+
+    /**
+     * Devuelve la velocidad de simulación medida durante las llamadas a ejecutar.
+     * @return ticks ejecutados por segundo de tiempo real
+     */
+    public double obtenerTicksPorSegundo() {
+        if (nanosEjecucion == 0) {
+            return 0;
+        }
+        return ticks / (nanosEjecucion / 1_000_000_000.0);
+    }
+
+    /**
+     * Devuelve el juego simulado.
+     * @return instancia de Juego
+     */
+    public Juego obtenerJuego() {
+        return juego;
+    }
+
+    /**
+     * Punto de entrada para ejecutar una partida sin interfaz gráfica ni sonido.
+     * Argumentos opcionales: cantidad de jugadores, cantidad máxima de ticks, ticks por segundo y semilla.
+     * @param args argumentos de la línea de comandos
+     */
+    public static void main(String[] args) {
+        int cantJugadores = 1;
+        long maxTicks = MAX_TICKS;
+        double ticksPorSegundo = TICKS_POR_SEGUNDO;
+        long semilla = System.nanoTime();
+        if (args.length > 0) {
+            cantJugadores = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            maxTicks = Long.parseLong(args[1]);
+        }
+        if (args.length > 2) {
+            ticksPorSegundo = Double.parseDouble(args[2]);
+        }
+        if (args.length > 3) {
+            semilla = Long.parseLong(args[3]);
+        }
+
+        Simulador simulador = new Simulador(new Juego(cantJugadores, semilla), ticksPorSegundo);
+        simulador.ejecutar(maxTicks);
+
+        Juego juego = simulador.obtenerJuego();
+        System.out.println("Semilla: " + juego.obtenerSemilla());
+        System.out.println("Ticks ejecutados: " + simulador.obtenerTicks());
+        System.out.printf("Tiempo simulado: %.2f s%n", simulador.obtenerTiempoSimulado());
+        System.out.printf("Ticks por segundo: %.0f%n", simulador.obtenerTicksPorSegundo());
+        System.out.println("Nivel alcanzado: " + juego.getNroNivelActual());
+        System.out.println("Estado final: " + juego.obtenerEstadoJuego());
+    }
+}
@@ -1,26 +1,28 @@
 package org.game.controladores;
 
 import org.game.modelo.Direccion;
-import org.game.modelo.Juego;
 import javafx.scene.input.KeyEvent;
 
 public class ControladorJuego {
-    private final Juego gameModel;
     private Direccion direccionJugador1;
     private Direccion direccionJugador2;
+    private boolean disparoJugador1;
+    private boolean disparoJugador2;
 
     /**
-     * Crea un controlador de juego asociado al modelo de juego dado.
-     * @param modeloJuego Instancia del modelo de juego
+     * Crea un controlador que anota las teclas de ambos jugadores. No modifica el modelo: el bucle del juego
+     * toma la entrada de cada tick con tomarEntrada() y la aplica con EntradaJugadores.
      */
-    public ControladorJuego(Juego modeloJuego) {
-        this.gameModel = modeloJuego;
+    public ControladorJuego() {
         this.direccionJugador1 = null;
         this.direccionJugador2 = null;
+        this.disparoJugador1 = false;
+        this.disparoJugador2 = false;
     }
 
     /**
-     * Maneja el evento de presionar una tecla. Actualiza la dirección de movimiento de los jugadores o ejecuta disparos.
+     * Maneja el evento de presionar una tecla. Actualiza la dirección de movimiento de los jugadores o anota sus disparos,
+     * que se aplican recién en el siguiente tick para que la partida se pueda grabar y reproducir.
      * @param evento Evento de teclado presionado
      */
     public void handleKeyPressed(KeyEvent evento) {
@@ -38,7 +40,7 @@ public class ControladorJuego {
                 direccionJugador1 = Direccion.DERECHA;
                 break;
             case SPACE:
-                gameModel.disparoJugador(1, direccionJugador1);
+                disparoJugador1 = true;
                 break;
 
             case UP:
@@ -54,42 +56,35 @@ public class ControladorJuego {
                 direccionJugador2 = Direccion.DERECHA;
                 break;
             case ENTER:
-                gameModel.disparoJugador(2, direccionJugador2);
+                disparoJugador2 = true;
                 break;
         }
     }
 
     /**
-     * Maneja el evento de soltar una tecla. Detiene el movimiento del jugador correspondiente.
+     * Maneja el evento de soltar una tecla. Detiene el movimiento del jugador correspondiente a partir del siguiente tick.
      * @param evento Evento de teclado liberado
      */
     public void handleKeyReleased(KeyEvent evento) {
         switch (evento.getCode()) {
             case W: case S: case A: case D:
                 direccionJugador1 = null;
-                if (gameModel.obtenerJugador1() != null) {
-                    gameModel.obtenerJugador1().actualizarMovimiento(false);
-                }
                 break;
             case UP: case DOWN: case LEFT: case RIGHT:
                 direccionJugador2 = null;
-                if (gameModel.obtenerJugador2() != null) {
-                    gameModel.obtenerJugador2().actualizarMovimiento(false);
-                }
                 break;
         }
     }
 
     /**
-     * Actualiza el movimiento de los tanques de ambos jugadores según la dirección actual y el tiempo transcurrido.
-     * @param tiempoDelta Tiempo transcurrido desde la última actualización (en segundos)
+     * Devuelve la entrada de ambos jugadores para el próximo tick, codificada con EntradaJugadores,
+     * y descarta los disparos anotados para que cada pulsación dispare una sola vez.
+     * @return entrada codificada del tick
      */
-    public void actualizarMovimiento(double tiempoDelta) {
-        if (direccionJugador1 != null) {
-            gameModel.moverTanque(gameModel.obtenerJugador1(), direccionJugador1, tiempoDelta);
-        }
-        if (direccionJugador2 != null) {
-            gameModel.moverTanque(gameModel.obtenerJugador2(), direccionJugador2, tiempoDelta);
-        }
+    public int tomarEntrada() {
+        int entrada = EntradaJugadores.codificar(direccionJugador1, disparoJugador1, direccionJugador2, disparoJugador2);
+        disparoJugador1 = false;
+        disparoJugador2 = false;
+        return entrada;
     }
 }
@@ -0,0 +1,110 @@
+package org.game.controladores;
+
+import org.game.modelo.Direccion;
+import org.game.modelo.Juego;
+import org.game.modelo.entidades.Tanque;
+
+public final class EntradaJugadores {
+    public static final int SIN_ENTRADA = 0;
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+    private static final int BITS_POR_JUGADOR = 4;
+    private static final int MASCARA_DIRECCION = 0b0111;
+    private static final int DISPARO = 0b1000;
+
+    /**
+     * Clase de utilidad, no se instancia.
+     */
+    private EntradaJugadores() {
+    }
+
+    /**
+     * Codifica en un solo byte lo que hicieron ambos jugadores durante un tick. Cada jugador ocupa cuatro bits:
+     * los tres bajos son la dirección (0 si no se mueve, o el ordinal de la dirección más uno) y el alto indica si disparó.
+     * El Jugador 1 va en los bits bajos y el Jugador 2 en los altos.
+     * @param direccion1 dirección del Jugador 1, o null si no se mueve
+     * @param disparo1 true si el Jugador 1 disparó
+     * @param direccion2 dirección del Jugador 2, o null si no se mueve
+     * @param disparo2 true si el Jugador 2 disparó
+     * @return entrada codificada, entre 0 y 255
+     */
+    public static int codificar(Direccion direccion1, boolean disparo1, Direccion direccion2, boolean disparo2) {
+        return codificarJugador(direccion1, disparo1) | (codificarJugador(direccion2, disparo2) << BITS_POR_JUGADOR);
+    }
+
+    /**
+     * Codifica la entrada de un jugador en cuatro bits.
+     * @param direccion dirección del jugador, o null si no se mueve
+     * @param disparo true si el jugador disparó
+     * @return entrada del jugador codificada
+     */
+    private static int codificarJugador(Direccion direccion, boolean disparo) {
+        int codigo = direccion == null ? 0 : direccion.ordinal() + 1;
+        return disparo ? codigo | DISPARO : codigo;
+    }
+
+    /**
+     * Devuelve la dirección de un jugador en una entrada codificada.
+     * @param entrada entrada codificada
+     * @param nroJugador número de jugador (1 o 2)
+     * @return dirección del jugador, o null si no se mueve
+     */
+    public static Direccion direccion(int entrada, int nroJugador) {
+        int codigo = (entrada >> desplazamiento(nroJugador)) & MASCARA_DIRECCION;
+        return codigo == 0 ? null : DIRECCIONES[codigo - 1];
+    }
+
+    /**
+     * Indica si un jugador disparó en una entrada codificada.
+     * @param entrada entrada codificada
+     * @param nroJugador número de jugador (1 o 2)
+     * @return true si el jugador disparó
+     */
+    public static boolean disparo(int entrada, int nroJugador) {
+        return ((entrada >> desplazamiento(nroJugador)) & DISPARO) != 0;
+    }
+
+    /**
+     * Devuelve la posición de los bits del jugador dentro de la entrada.
+     * @param nroJugador número de jugador (1 o 2)
+     * @return cantidad de bits a desplazar
+     */
+    private static int desplazamiento(int nroJugador) {
+        return nroJugador == 1 ? 0 : BITS_POR_JUGADOR;
+    }
+
+    /**
+     * Aplica al juego la entrada de un tick: primero los disparos y después el movimiento de cada jugador.
+     * Es lo único que hacen los jugadores sobre el modelo, por lo que aplicar las mismas entradas a un juego
+     * con la misma semilla reproduce la partida.
+     * @param juego juego sobre el que aplicar la entrada
+     * @param entrada entrada codificada
+     * @param tiempoDelta duración del tick (en segundos)
+     */
+    public static void aplicar(Juego juego, int entrada, double tiempoDelta) {
+        aplicarJugador(juego, 1, juego.obtenerJugador1(), entrada, tiempoDelta);
+        aplicarJugador(juego, 2, juego.obtenerJugador2(), entrada, tiempoDelta);
+    }
+
+    /**
+     * Aplica la entrada de un jugador. Si no se mueve, su tanque deja de mostrarse en movimiento.
+     * @param juego juego sobre el que aplicar la entrada
+     * @param nroJugador número de jugador (1 o 2)
+     * @param jugador tanque del jugador, o null si no está en la partida
+     * @param entrada entrada codificada
+     * @param tiempoDelta duración del tick (en segundos)
+     */
+    private static void aplicarJugador(Juego juego, int nroJugador, Tanque jugador, int entrada, double tiempoDelta) {
+        if (jugador == null) {
+            return;
+        }
+        Direccion direccion = direccion(entrada, nroJugador);
+        if (disparo(entrada, nroJugador)) {
+            juego.disparoJugador(nroJugador, direccion);
+        }
+        if (direccion != null) {
+            juego.moverTanque(jugador, direccion, tiempoDelta);
+        } else {
+            jugador.actualizarMovimiento(false);
+        }
+    }
+}
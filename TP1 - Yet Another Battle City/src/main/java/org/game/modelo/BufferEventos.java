@@ -0,0 +1,139 @@
+package org.game.modelo;
+
+import java.util.Arrays;
+
+public class BufferEventos {
+    public static final int CAPACIDAD_POR_DEFECTO = 64;
+    private static final TipoEvento[] TIPOS = TipoEvento.values();
+
+    private byte[] tipos;
+    private int[] xs;
+    private int[] ys;
+    private int[] datos;
+    private int cantidad;
+
+    /**
+     * Crea un buffer de eventos con la capacidad por defecto.
+     */
+    public BufferEventos() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un buffer donde el modelo anota los eventos de cada tick (disparos, impactos, destrucciones,
+     * power-ups recogidos) para que el sonido, la vista o las estadísticas los procesen una vez por cuadro.
+     * Los eventos se guardan en arreglos paralelos que se reutilizan, por lo que anotar no crea objetos
+     * salvo cuando hace falta agrandarlos.
+     * El dato de cada evento es: el ordinal del TipoBloque para BLOQUE_IMPACTADO, 1 si el impacto fue contra
+     * un tanque blindado o invulnerable para TANQUE_IMPACTADO, 1 si era enemigo para TANQUE_DESTRUIDO,
+     * el ordinal del TipoPowerUp para POWERUP_RECOGIDO y 0 en los demás casos.
+     * @param capacidad cantidad de eventos que entran antes de agrandar los arreglos
+     */
+    public BufferEventos(int capacidad) {
+        int inicial = Math.max(1, capacidad);
+        this.tipos = new byte[inicial];
+        this.xs = new int[inicial];
+        this.ys = new int[inicial];
+        this.datos = new int[inicial];
+        this.cantidad = 0;
+    }
+
+    /**
+     * Anota un evento al final del buffer.
+     * @param tipo tipo del evento
+     * @param x coordenada x donde ocurrió
+     * @param y coordenada y donde ocurrió
+     * @param dato dato adicional del evento
+     */
+    public void registrar(TipoEvento tipo, int x, int y, int dato) {
+        if (cantidad == tipos.length) {
+            int nuevaCapacidad = tipos.length * 2;
+            tipos = Arrays.copyOf(tipos, nuevaCapacidad);
+            xs = Arrays.copyOf(xs, nuevaCapacidad);
+            ys = Arrays.copyOf(ys, nuevaCapacidad);
+            datos = Arrays.copyOf(datos, nuevaCapacidad);
+        }
+        tipos[cantidad] = (byte)tipo.ordinal();
+        xs[cantidad] = x;
+        ys[cantidad] = y;
+        datos[cantidad] = dato;
+        cantidad++;
+    }
+
+    /**
+     * Devuelve la cantidad de eventos anotados desde la última limpieza.
+     * @return cantidad de eventos
+     */
+    public int cantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Devuelve el tipo del evento indicado.
+     * @param i índice del evento, en orden de registro
+     * @return tipo del evento
+     */
+    public TipoEvento tipo(int i) {
+        return TIPOS[tipos[i]];
+    }
+
+    /**
+     * Devuelve la coordenada x del evento indicado.
+     * @param i índice del evento
+     * @return coordenada x
+     */
+    public int x(int i) {
+        return xs[i];
+    }
+
+    /**
+     * Devuelve la coordenada y del evento indicado.
+     * @param i índice del evento
+     * @return coordenada y
+     */
+    public int y(int i) {
+        return ys[i];
+    }
+
+    /**
+     * Devuelve el dato adicional del evento indicado.
+     * @param i índice del evento
+     * @return dato del evento
+     */
+    public int dato(int i) {
+        return datos[i];
+    }
+
+    /**
+     * Cuenta los eventos anotados de un tipo.
+     * @param tipo tipo de evento
+     * @return cantidad de eventos de ese tipo
+     */
+    public int contar(TipoEvento tipo) {
+        int total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (tipos[i] == tipo.ordinal()) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Pasa todos los eventos anotados, en orden, al consumidor indicado. No los borra, para que
+     * varios consumidores puedan recorrerlos en el mismo cuadro antes de limpiar.
+     * @param consumidor consumidor de eventos
+     */
+    public void recorrer(ConsumidorEventos consumidor) {
+        for (int i = 0; i < cantidad; i++) {
+            consumidor.procesar(TIPOS[tipos[i]], xs[i], ys[i], datos[i]);
+        }
+    }
+
+    /**
+     * Borra los eventos anotados, conservando los arreglos para los siguientes.
+     */
+    public void limpiar() {
+        cantidad = 0;
+    }
+}
@@ -0,0 +1,109 @@
+package org.game.modelo;
+
+public interface Colisionable {
+    /**
+     * @return Coordenada X (en píxeles enteros) del área de colisión.
+     */
+    int obtenerAreaX();
+
+    /**
+     * @return Coordenada Y (en píxeles enteros) del área de colisión.
+     */
+    int obtenerAreaY();
+
+    /**
+     * @return Ancho del área de colisión.
+     */
+    int obtenerAreaAncho();
+
+    /**
+     * @return Alto del área de colisión.
+     */
+    int obtenerAreaAlto();
+
+    /**
+     * Indica si el área de colisión se superpone con el rectángulo indicado.
+     * @param x Coordenada X del rectángulo
+     * @param y Coordenada Y del rectángulo
+     * @param ancho Ancho del rectángulo
+     * @param alto Alto del rectángulo
+     * @return true si se superponen, false en caso contrario
+     */
+    default boolean intersecta(int x, int y, int ancho, int alto) {
+        return intersectan(obtenerAreaX(), obtenerAreaY(), obtenerAreaAncho(), obtenerAreaAlto(), x, y, ancho, alto);
+    }
+
+    /**
+     * Indica si el área de colisión se superpone con la de otro elemento.
+     * @param otro Elemento con el que comparar
+     * @return true si se superponen, false en caso contrario
+     */
+    default boolean intersecta(Colisionable otro) {
+        return intersecta(otro.obtenerAreaX(), otro.obtenerAreaY(), otro.obtenerAreaAncho(), otro.obtenerAreaAlto());
+    }
+
+    /**
+     * Indica si dos rectángulos se superponen. Los rectángulos vacíos no se superponen con nada
+     * y compartir solo un borde no cuenta como superposición.
+     * @return true si se superponen, false en caso contrario
+     */
+    static boolean intersectan(int x1, int y1, int ancho1, int alto1, int x2, int y2, int ancho2, int alto2) {
+        if (ancho1 <= 0 || alto1 <= 0 || ancho2 <= 0 || alto2 <= 0) {
+            return false;
+        }
+        return x1 < x2 + ancho2 && x2 < x1 + ancho1 && y1 < y2 + alto2 && y2 < y1 + alto1;
+    }
+
+    /**
+     * Barrido de un rectángulo que avanza en línea recta sobre un eje contra otro rectángulo quieto.
+     * Devuelve cuántos píxeles enteros puede avanzar el primero antes de superponerse con el segundo,
+     * con el mismo criterio que intersectan, sin importar cuán largo sea el recorrido.
+     * @param dx componente X del sentido de avance (-1, 0 o 1)
+     * @param dy componente Y del sentido de avance (-1, 0 o 1)
+     * @param distancia píxeles enteros que avanza el primer rectángulo
+     * @return píxeles hasta el primer contacto (0 si ya se superponen), o -1 si no hay contacto en el recorrido
+     */
+    static int distanciaDeBarrido(int x1, int y1, int ancho1, int alto1, int dx, int dy, int distancia, int x2, int y2, int ancho2, int alto2) {
+        if (ancho1 <= 0 || alto1 <= 0 || ancho2 <= 0 || alto2 <= 0) {
+            return -1;
+        }
+        if (dx != 0) {
+            if (y1 >= y2 + alto2 || y2 >= y1 + alto1) {
+                return -1;
+            }
+            return distanciaDeContacto(x1, ancho1, dx, distancia, x2, ancho2);
+        }
+        if (x1 >= x2 + ancho2 || x2 >= x1 + ancho1) {
+            return -1;
+        }
+        return distanciaDeContacto(y1, alto1, dy, distancia, y2, alto2);
+    }
+
+    /**
+     * Barrido sobre un solo eje: cuántos píxeles avanza un segmento hasta superponerse con otro.
+     * @param inicio comienzo del segmento que avanza
+     * @param largo largo del segmento que avanza
+     * @param sentido sentido de avance (-1 o 1)
+     * @param distancia píxeles que avanza
+     * @param otro comienzo del segmento quieto
+     * @param largoOtro largo del segmento quieto
+     * @return píxeles hasta el primer contacto, o -1 si no hay contacto en el recorrido
+     */
+    private static int distanciaDeContacto(int inicio, int largo, int sentido, int distancia, int otro, int largoOtro) {
+        int avance;
+        if (sentido > 0) {
+            int contacto = Math.max(inicio, otro - largo + 1);
+            if (contacto >= otro + largoOtro) {
+                return -1;
+            }
+            avance = contacto - inicio;
+        } else {
+            int contacto = Math.min(inicio, otro + largoOtro - 1);
+            if (contacto <= otro - largo) {
+                return -1;
+            }
+            avance = inicio - contacto;
+        }
+        return avance <= distancia ? avance : -1;
+    }
+}
@@ -0,0 +1,12 @@
+package org.game.modelo;
+
+public interface ConsumidorEventos {
+    /**
+     * Procesa un evento del juego.
+     * @param tipo Tipo del evento
+     * @param x Coordenada X (en píxeles) donde ocurrió el evento
+     * @param y Coordenada Y (en píxeles) donde ocurrió el evento
+     * @param dato Dato adicional, cuyo significado depende del tipo (ver BufferEventos)
+     */
+    void procesar(TipoEvento tipo, int x, int y, int dato);
+}
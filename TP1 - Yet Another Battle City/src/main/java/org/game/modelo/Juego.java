@@ -1,18 +1,17 @@
 package org.game.modelo;
 
 import org.game.modelo.powerups.PowerUp;
-import org.game.modelo.entidades.Bala;
+import org.game.modelo.entidades.ModoIA;
 import org.game.modelo.entidades.Tanque;
 import org.game.modelo.entidades.TanqueEnemigo;
 import org.game.modelo.entidades.TanqueJugador;
-import org.game.modelo.terreno.Bloque;
+import org.game.modelo.ia.PlanificadorIA;
 import org.game.modelo.terreno.BloqueBase;
 import org.game.niveles.Nivel;
 import org.game.niveles.NivelLoader;
-import org.game.visualizacion.GestorSonido;
 
-import java.io.File;
 import java.util.List;
+import java.util.SplittableRandom;
 
 public class Juego {
     private static final int NIVEL_INICIAL = 1;
@@ -20,24 +19,55 @@ public class Juego {
     private static final int SALUD_TANQUE_JUGADOR = 3;
     private static final int TIEMPO_POR_DISPARO_JUGADOR = 2;
 
+    private final long semilla;
     private NivelLoader nivelLoader;
-    private GestorSonido gestorSonido;
+    private final BufferEventos eventos;
     private Nivel nivelActual;
     private int nroNivelActual;
     private TanqueJugador jugador1;
     private TanqueJugador jugador2;
     private EstadoJuego estadoJuego;
+    private int enemigosDestruidosPrevios;
+    private ModoIA modoIA = ModoIA.ALEATORIO;
+    private PlanificadorIA planificadorIA = new PlanificadorIA();
+    private boolean disparoApuntado = false;
 
     /**
-     * Crea una nueva instancia de Juego, inicializando el cargador de niveles y el gestor de sonido.
+     * Crea una nueva instancia de Juego con una semilla aleatoria.
+     * @param cantJugadores cantidad de jugadores (1 o 2)
+     */
+    public Juego(int cantJugadores) {
+        this(cantJugadores, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Crea una nueva instancia de Juego, inicializando el cargador de niveles y el buffer de eventos.
+     * Toda la aleatoriedad de la partida sale de una única fuente creada con la semilla indicada,
+     * por lo que la misma semilla con las mismas entradas reproduce la misma partida.
      * Llama a la inicialización del juego con la cantidad de jugadores indicada.
      * @param cantJugadores cantidad de jugadores (1 o 2)
-     * @param gestorSonido gestor de sonidos para reproducir efectos durante el juego
+     * @param semilla semilla de la fuente de números aleatorios de la partida
      */
-    public Juego(int cantJugadores, GestorSonido gestorSonido) {
-        this.nivelLoader = new NivelLoader(gestorSonido);
-        this.gestorSonido = gestorSonido;
-        this.nroNivelActual = NIVEL_INICIAL;
+    public Juego(int cantJugadores, long semilla) {
+        this(cantJugadores, semilla, NIVEL_INICIAL);
+    }
+
+    /**
+     * Crea una nueva instancia de Juego que comienza en el nivel indicado.
+     * @param cantJugadores cantidad de jugadores (1 o 2)
+     * @param semilla semilla de la fuente de números aleatorios de la partida
+     * @param nivelInicial número del nivel con el que comienza la partida
+     * @throws IllegalArgumentException si el nivel inicial no existe
+     */
+    public Juego(int cantJugadores, long semilla, int nivelInicial) {
+        this.semilla = semilla;
+        this.nivelLoader = new NivelLoader(new SplittableRandom(semilla));
+        this.eventos = new BufferEventos();
+        if (!nivelLoader.existeNivel(nivelInicial)) {
+            throw new IllegalArgumentException("No existe el nivel " + nivelInicial);
+        }
+        this.nroNivelActual = nivelInicial;
+        this.enemigosDestruidosPrevios = 0;
         inicializarJuego(cantJugadores);
     }
 
@@ -48,22 +78,31 @@ public class Juego {
      */
     private void inicializarJuego(int cantJugadores) {
         cargarNivel(nroNivelActual);
+        ubicarJugadores(cantJugadores == 2);
+    }
+
+    /**
+     * Crea los tanques de los jugadores en las posiciones iniciales del nivel actual, los agrega al nivel
+     * y deja el juego corriendo.
+     * @param dosJugadores true si también se debe crear el tanque del Jugador 2
+     */
+    private void ubicarJugadores(boolean dosJugadores) {
         Posicion p1;
         if (nivelActual.obtenerPosInicialJugador1() != null) {
             p1 = nivelActual.obtenerPosInicialJugador1();
         } else {
             p1 = new Posicion(250, 500);
         }
-        this.jugador1 = new TanqueJugador(1, p1, gestorSonido, VELOCIDAD_TANQUE_JUGADOR, SALUD_TANQUE_JUGADOR, TIEMPO_POR_DISPARO_JUGADOR, "TANQUE_PRIMER_JUGADOR_0", "TANQUE_PRIMER_JUGADOR_1");
+        this.jugador1 = new TanqueJugador(1, p1, VELOCIDAD_TANQUE_JUGADOR, SALUD_TANQUE_JUGADOR, TIEMPO_POR_DISPARO_JUGADOR, "TANQUE_PRIMER_JUGADOR_0", "TANQUE_PRIMER_JUGADOR_1");
         this.nivelActual.agregarTanque(jugador1);
-        if (cantJugadores == 2) {
+        if (dosJugadores) {
             Posicion p2;
             if (nivelActual.obtenerPosInicialJugador2() != null) {
                 p2 = nivelActual.obtenerPosInicialJugador2();
             } else {
                 p2 = new Posicion(550, 500);
             }
-            this.jugador2 = new TanqueJugador(2, p2, gestorSonido, VELOCIDAD_TANQUE_JUGADOR, SALUD_TANQUE_JUGADOR, TIEMPO_POR_DISPARO_JUGADOR, "TANQUE_SEGUNDO_JUGADOR_0", "TANQUE_SEGUNDO_JUGADOR_1");
+            this.jugador2 = new TanqueJugador(2, p2, VELOCIDAD_TANQUE_JUGADOR, SALUD_TANQUE_JUGADOR, TIEMPO_POR_DISPARO_JUGADOR, "TANQUE_SEGUNDO_JUGADOR_0", "TANQUE_SEGUNDO_JUGADOR_1");
             this.nivelActual.agregarTanque(jugador2);
         }
         this.estadoJuego = EstadoJuego.CORRIENDO;
@@ -75,6 +114,9 @@ public class Juego {
      * @param nroNivel número de nivel a cargar
      */
     public void cargarNivel(int nroNivel) {
+        if (this.nivelActual != null) {
+            this.enemigosDestruidosPrevios += nivelActual.obtenerEnemigosDestruidos();
+        }
         this.nroNivelActual = nroNivel;
         try {
             this.nivelActual = nivelLoader.load(nroNivel);
@@ -85,9 +127,67 @@ public class Juego {
         }
         if (this.nivelActual == null) {
             this.estadoJuego = EstadoJuego.VICTORIA;
+            return;
+        }
+        this.nivelActual.usarEventos(eventos);
+        this.nivelActual.usarModoIA(modoIA);
+        this.nivelActual.usarPlanificadorIA(planificadorIA);
+    }
+
+    /**
+     * Cambia el modo de la inteligencia de los enemigos del nivel actual y de los siguientes.
+     * @param modoIA modo de la inteligencia de los enemigos
+     */
+    public void usarModoIA(ModoIA modoIA) {
+        this.modoIA = modoIA;
+        if (this.nivelActual != null) {
+            this.nivelActual.usarModoIA(modoIA);
+        }
+    }
+
+    /**
+     * Devuelve el modo de la inteligencia de los enemigos.
+     * @return modo de la inteligencia
+     */
+    public ModoIA obtenerModoIA() {
+        return modoIA;
+    }
+
+    /**
+     * Activa o desactiva el disparo apuntado de los enemigos.
+     * @param disparoApuntado true para que los enemigos disparen solo cuando ven un blanco
+     */
+    public void usarDisparoApuntado(boolean disparoApuntado) {
+        this.disparoApuntado = disparoApuntado;
+    }
+
+    /**
+     * Indica si los enemigos disparan solo cuando ven un blanco.
+     * @return true si el disparo apuntado está activo
+     */
+    public boolean usaDisparoApuntado() {
+        return disparoApuntado;
+    }
+
+    /**
+     * Cambia el planificador que reparte las decisiones de los enemigos entre ticks, en el nivel actual y en los siguientes.
+     * @param planificadorIA planificador de la inteligencia
+     */
+    public void usarPlanificadorIA(PlanificadorIA planificadorIA) {
+        this.planificadorIA = planificadorIA;
+        if (this.nivelActual != null) {
+            this.nivelActual.usarPlanificadorIA(planificadorIA);
         }
     }
 
+    /**
+     * Devuelve el planificador que reparte las decisiones de los enemigos entre ticks.
+     * @return planificador de la inteligencia
+     */
+    public PlanificadorIA obtenerPlanificadorIA() {
+        return planificadorIA;
+    }
+
     /**
      * Actualiza el estado del juego si está corriendo: actualiza el nivel, gestiona disparos enemigos,
      * verifica colisiones y el estado general del juego.
@@ -120,57 +220,52 @@ public class Juego {
     /**
      * Verifica y gestiona las colisiones entre tanques, bloques y power-ups.
      * Aplica los efectos correspondientes cuando un jugador recoge un power-up.
+     * Es de paquete para que los benchmarks puedan medirlo de forma aislada.
      */
-    private void verficarColisiones() {
-        List<Bloque> bloques = new java.util.ArrayList<>(nivelActual.obtenerBloques());
-        List<Tanque> tanques = new java.util.ArrayList<>(nivelActual.obtenerTanques());
+    void verficarColisiones() {
         List<PowerUp> powerUps = new java.util.ArrayList<>(nivelActual.obtenerPowerUps());
-        for (Bloque bloque: bloques) {
-            if (!bloque.existe()) {
-                continue;
-            }
-            if (jugador1.obtenerArea().intersects(bloque.obtenerArea())) {
-                jugador1.colisionarConBloque(bloque);
-            }
-            if (jugador2 != null && jugador2.obtenerArea().intersects(bloque.obtenerArea())) {
-                jugador2.colisionarConBloque(bloque);
-            }
-            for (Tanque tanque: tanques) {
-                tanque.obtenerArea().intersects(bloque.obtenerArea());
-                tanque.colisionarConBloque(bloque);
-            }
-        }
-        for (Tanque tanque: tanques) {
-            if (jugador1.obtenerArea().intersects(tanque.obtenerArea())) {
-                jugador1.colisionarConTanque(tanque);
-            }
-            if (jugador2 != null && jugador2.obtenerArea().intersects(tanque.obtenerArea())) {
-                jugador2.colisionarConTanque(tanque);
-            }
+        for (Tanque tanque: nivelActual.obtenerTanques()) {
+            tanque.colisionarConTerreno(nivelActual);
+            nivelActual.reubicarTanque(tanque);
         }
+        verificarColisionJugadorConTanques(jugador1);
+        verificarColisionJugadorConTanques(jugador2);
         for (PowerUp powerUp: powerUps) {
-            if (jugador1.obtenerArea().intersects(powerUp.obtenerArea())){
+            if (jugador1.intersecta(powerUp)){
                 efectoPowerUp(jugador1, powerUp);
             }
-            if (jugador2 != null && jugador2.obtenerArea().intersects(powerUp.obtenerArea())){
+            if (jugador2 != null && jugador2.intersecta(powerUp)){
                 efectoPowerUp(jugador2, powerUp);
             }
         }
     }
 
+    /**
+     * Verifica las colisiones de un jugador contra los tanques cercanos a él.
+     * @param jugador jugador a verificar (puede ser null)
+     */
+    private void verificarColisionJugadorConTanques(TanqueJugador jugador) {
+        if (jugador == null) {
+            return;
+        }
+        for (Tanque tanque: nivelActual.tanquesEnArea(jugador)) {
+            jugador.colisionarConTanque(tanque);
+        }
+        nivelActual.reubicarTanque(jugador);
+    }
+
     /**
      * Aplica el efecto del power-up recogido por un tanque y lo elimina del nivel.
      * @param tanque tanque que recoge el power-up
      * @param powerUp power-up recogido
      */
     private void efectoPowerUp(Tanque tanque, PowerUp powerUp) {
+        eventos.registrar(TipoEvento.POWERUP_RECOGIDO, (int)powerUp.obtenerPosicion().x(), (int)powerUp.obtenerPosicion().y(), powerUp.obtenerTipo().ordinal());
         switch (powerUp.obtenerTipo()) {
             case GRANADA:
-                for (List<TanqueEnemigo> enemigos: List.of(nivelActual.obtenerTanquesEnemigos())) {
-                    for (TanqueEnemigo enemigo: enemigos) {
-                        enemigo.matarEnemigo();
-                        }
-                    }
+                for (TanqueEnemigo enemigo: nivelActual.obtenerTanquesEnemigos()) {
+                    enemigo.matarEnemigo();
+                }
                 nivelActual.eliminarPowerUp(powerUp);
                 break;
             case CASCO:
@@ -220,9 +315,21 @@ public class Juego {
     public void moverTanque(Tanque tanque, Direccion direccion, double tiempoDelta) {
         if (tanque != null) {
             tanque.movimiento(direccion, tiempoDelta);
+            nivelActual.reubicarTanque(tanque);
         }
     }
 
+    /**
+     * Guarda la posición de los tanques y las balas del nivel actual antes de un paso de física,
+     * para que la vista pueda dibujar interpolando entre el paso anterior y el actual.
+     */
+    public void guardarPosicionesPrevias() {
+        for (Tanque tanque: nivelActual.obtenerTanques()) {
+            tanque.guardarPosicionPrevia();
+        }
+        nivelActual.obtenerPoolBalas().guardarPosicionesPrevias();
+    }
+
     /**
      * Realiza el disparo del jugador indicado en la dirección dada, si puede disparar.
      * @param nroJugador número de jugador (1 o 2)
@@ -235,25 +342,28 @@ public class Juego {
         } else {
             jugador = jugador2;
         }
-        if (jugador != null && jugador.estaVivo() && !jugador.balaActiva()) {
-            Bala bala = jugador.disparar(direccion);
-            nivelActual.agregarBala(bala);
-            gestorSonido.reproducir("DISPARO");
+        if (jugador != null && jugador.estaVivo() && !jugador.balaActiva() && jugador.disparar(direccion, nivelActual.obtenerPoolBalas())) {
+            eventos.registrar(TipoEvento.DISPARO, jugador.obtenerAreaX(), jugador.obtenerAreaY(), 0);
             jugador.activarBala();
         }
     }
 
     /**
-     * Hace que todos los enemigos que pueden disparar lo hagan en su dirección actual.
+     * Hace que los enemigos que pueden disparar lo hagan. Con el disparo apuntado solo disparan si ven un blanco
+     * (un jugador, la base o una pared que les cierra el paso) y, si no lo ven, conservan el disparo para más adelante.
+     * Sin él disparan en su dirección actual en cuanto se recargan.
      */
     public void disparoEnemigos() {
         List<TanqueEnemigo> enemigos = nivelActual.obtenerTanquesEnemigos();
         for (TanqueEnemigo enemigo: enemigos) {
             if (enemigo.estaVivo() && enemigo.puedeDisparar) {
-                Direccion direccion = enemigo.obtenerDireccion();
-                Bala bala = enemigo.disparar(direccion);
-                nivelActual.agregarBala(bala);
-                gestorSonido.reproducir("DISPARO");
+                Direccion direccion = disparoApuntado ? enemigo.apuntar(nivelActual) : enemigo.obtenerDireccion();
+                if (direccion == null) {
+                    continue;
+                }
+                if (enemigo.disparar(direccion, nivelActual.obtenerPoolBalas())) {
+                    eventos.registrar(TipoEvento.DISPARO, enemigo.obtenerAreaX(), enemigo.obtenerAreaY(), 0);
+                }
                 enemigo.reiniciarCooldownDisparo();
             }
         }
@@ -265,9 +375,7 @@ public class Juego {
      */
     public void avanzarNivel() {
         int siguienteNivel = this.nroNivelActual + 1;
-        String pathNivel = "src/main/resources/niveles/GeneratedLevels/Level" + siguienteNivel + ".xml";
-        File archivoNivel = new File(pathNivel);
-        if (!archivoNivel.exists()) {
+        if (!existeNivel(siguienteNivel)) {
             this.estadoJuego = EstadoJuego.VICTORIA;
             return;
         }
@@ -276,25 +384,58 @@ public class Juego {
             this.estadoJuego = EstadoJuego.VICTORIA;
             return;
         }
-        Posicion p1;
-        if (nivelActual.obtenerPosInicialJugador1() != null) {
-            p1 = nivelActual.obtenerPosInicialJugador1();
-        } else {
-            p1 = new Posicion(250, 500);
+        ubicarJugadores(this.jugador2 != null);
+    }
+
+    /**
+     * Reinicia el nivel actual desde su plantilla, con los jugadores en sus posiciones iniciales y el juego corriendo.
+     * No vuelve a leer el archivo del nivel, por lo que reiniciar es mucho más barato que cargarlo.
+     */
+    public void reiniciarNivel() {
+        cargarNivel(this.nroNivelActual);
+        if (this.nivelActual == null) {
+            this.estadoJuego = EstadoJuego.VICTORIA;
+            return;
         }
-        this.jugador1 = new TanqueJugador(1, p1, gestorSonido, VELOCIDAD_TANQUE_JUGADOR, SALUD_TANQUE_JUGADOR, TIEMPO_POR_DISPARO_JUGADOR, "TANQUE_PRIMER_JUGADOR_0", "TANQUE_PRIMER_JUGADOR_1");
-        this.nivelActual.agregarTanque(jugador1);
-        if (this.jugador2 != null) {
-            Posicion p2;
-            if (nivelActual.obtenerPosInicialJugador2() != null) {
-                p2 = nivelActual.obtenerPosInicialJugador2();
-            } else {
-                p2 = new Posicion(550, 500);
-            }
-            this.jugador2 = new TanqueJugador(2, p2, gestorSonido, VELOCIDAD_TANQUE_JUGADOR, SALUD_TANQUE_JUGADOR, TIEMPO_POR_DISPARO_JUGADOR, "TANQUE_SEGUNDO_JUGADOR_0", "TANQUE_SEGUNDO_JUGADOR_1");
-            this.nivelActual.agregarTanque(jugador2);
+        ubicarJugadores(this.jugador2 != null);
+    }
+
+    /**
+     * Devuelve la semilla con la que se creó la partida.
+     * @return semilla de la fuente de números aleatorios
+     */
+    public long obtenerSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Devuelve la cantidad de tanques enemigos destruidos en toda la partida, sumando todos los niveles jugados.
+     * @return cantidad de enemigos destruidos
+     */
+    public int obtenerEnemigosDestruidos() {
+        int enNivelActual = nivelActual != null ? nivelActual.obtenerEnemigosDestruidos() : 0;
+        return enemigosDestruidosPrevios + enNivelActual;
+    }
+
+    /**
+     * Indica si la base del nivel actual fue destruida.
+     * @return true si el nivel tiene base y fue destruida, false en caso contrario
+     */
+    public boolean baseDestruida() {
+        if (nivelActual == null) {
+            return false;
         }
-        this.estadoJuego = EstadoJuego.CORRIENDO;
+        BloqueBase base = nivelActual.obtenerBase();
+        return base != null && !base.existe();
+    }
+
+    /**
+     * Devuelve el buffer donde la partida anota los eventos de cada tick. Se conserva entre niveles y
+     * no se vacía solo: quien lo consume (sonido, estadísticas, repeticiones) debe limpiarlo una vez por cuadro.
+     * @return buffer de eventos
+     */
+    public BufferEventos obtenerEventos() {
+        return eventos;
     }
 
     /**
@@ -330,14 +471,12 @@ public class Juego {
     }
 
     /**
-     * Verifica si existe el archivo del nivel indicado.
+     * Verifica si existe el nivel indicado entre los recursos del juego.
      * @param nroNivel número de nivel a verificar
-     * @return true si el archivo existe, false en caso contrario
+     * @return true si el nivel existe, false en caso contrario
      */
     public boolean existeNivel(int nroNivel) {
-        String pathNivel = "src/main/resources/niveles/GeneratedLevels/Level" + nroNivel + ".xml";
-        java.io.File archivoNivel = new java.io.File(pathNivel);
-        return archivoNivel.exists();
+        return nivelLoader.existeNivel(nroNivel);
     }
 
     /**
@@ -0,0 +1,10 @@
+package org.game.modelo;
+
+public enum TipoEvento {
+    DISPARO,
+    BLOQUE_IMPACTADO,
+    TANQUE_IMPACTADO,
+    TANQUE_DESTRUIDO,
+    BASE_DESTRUIDA,
+    POWERUP_RECOGIDO
+}
@@ -1,38 +1,108 @@
 package org.game.modelo.entidades;
 
+import org.game.modelo.Colisionable;
 import org.game.modelo.Direccion;
 import org.game.modelo.Posicion;
 import org.game.modelo.terreno.Bloque;
-import org.game.visualizacion.GestorSonido;
 
-import java.awt.*;
+public class Bala implements Colisionable {
+    public static final int ANCHO_BALA = 10;
+    public static final int ALTURA_BALA = 10;
 
-public class Bala {
-    public static int ANCHO_BALA = 10;
-    public static int ALTURA_BALA = 10;
-
-    protected Posicion posicion;
-    protected double velocidad;
-    protected Direccion direccion;
-    private boolean activa;
+    private PoolBalas pool;
+    private int indice;
+    private double x;
+    private double y;
+    private Direccion direccion;
+    private double velocidad;
     private Tanque propietario;
-    private GestorSonido gestorSonido;
+    private boolean activa;
 
     /**
-     * Crea una nueva bala con la posición, dirección, velocidad, propietario y gestor de sonido indicados.
+     * Crea una nueva bala suelta con la posición, dirección, velocidad y propietario indicados.
+     * Mientras no se agrega a un nivel guarda su estado en sus propios campos, sin ocupar lugar en ningún pool;
+     * todavía no está en el tablero, por lo que puede moverse e impactarse, pero no choca con bloques ni tanques.
      * @param posicion Posición inicial de la bala
      * @param direccion Dirección de movimiento
      * @param velocidad Velocidad de la bala
      * @param propietario Tanque que disparó la bala
-     * @param gestorSonido Gestor de sonidos para efectos de la bala
      */
-    public Bala(Posicion posicion, Direccion direccion, double velocidad, Tanque propietario, GestorSonido gestorSonido) {
-        this.posicion = posicion;
+    public Bala(Posicion posicion, Direccion direccion, double velocidad, Tanque propietario) {
+        soltar(posicion.x(), posicion.y(), direccion, velocidad, propietario, true);
+    }
+
+    /**
+     * Crea la vista de una bala que ya ocupa un lugar en un pool.
+     * @param pool Pool donde está la bala
+     * @param indice Índice de la bala en el pool
+     */
+    Bala(PoolBalas pool, int indice) {
+        this.pool = pool;
+        this.indice = indice;
+    }
+
+    /**
+     * Vincula la vista a un lugar de un pool, cuando la bala se agrega a un nivel o se mueve de pool.
+     * @param pool Pool donde está la bala
+     * @param indice Índice de la bala en el pool
+     */
+    void vincular(PoolBalas pool, int indice) {
+        this.pool = pool;
+        this.indice = indice;
+        this.propietario = null;
+    }
+
+    /**
+     * Desvincula la vista de su pool y guarda el estado de la bala en sus propios campos. El pool lo usa al liberar
+     * el lugar de una bala inactiva, para que la vista siga respondiendo sin que haga falta otro pool.
+     * @param x Coordenada x
+     * @param y Coordenada y
+     * @param direccion Dirección de movimiento
+     * @param velocidad Velocidad de la bala
+     * @param propietario Tanque que disparó la bala
+     * @param activa true si la bala sigue activa
+     */
+    void soltar(double x, double y, Direccion direccion, double velocidad, Tanque propietario, boolean activa) {
+        this.pool = null;
+        this.indice = -1;
+        this.x = x;
+        this.y = y;
         this.direccion = direccion;
         this.velocidad = velocidad;
-        this.activa = true;
         this.propietario = propietario;
-        this.gestorSonido = gestorSonido;
+        this.activa = activa;
+    }
+
+    /**
+     * Devuelve el pool donde está guardada la bala.
+     * @return Pool de la bala, o null si está suelta
+     */
+    PoolBalas obtenerPool() {
+        return pool;
+    }
+
+    /**
+     * Devuelve el índice de la bala dentro de su pool.
+     * @return Índice de la bala, o -1 si está suelta
+     */
+    int obtenerIndice() {
+        return indice;
+    }
+
+    /**
+     * Devuelve la dirección de la bala.
+     * @return Dirección de movimiento, o null si no tiene
+     */
+    Direccion obtenerDireccion() {
+        return pool != null ? pool.direccion(indice) : direccion;
+    }
+
+    /**
+     * Devuelve la velocidad de la bala.
+     * @return Velocidad de la bala
+     */
+    double obtenerVelocidad() {
+        return pool != null ? pool.velocidad(indice) : velocidad;
     }
 
     /**
@@ -40,8 +110,11 @@ public class Bala {
      * @param tiempoDelta Tiempo transcurrido desde la última actualización (en segundos)
      */
     public void movimiento(double tiempoDelta) {
-        if (direccion != null) {
-            posicion = posicion.mover(direccion, velocidad * tiempoDelta);
+        if (pool != null) {
+            pool.mover(indice, tiempoDelta);
+        } else if (activa && direccion != null) {
+            x += direccion.obtenerDx() * velocidad * tiempoDelta;
+            y += direccion.obtenerDy() * velocidad * tiempoDelta;
         }
     }
 
@@ -50,61 +123,73 @@ public class Bala {
      * @return Posición de la bala
      */
     public Posicion obtenerPosicion() {
-        return posicion;
+        return new Posicion(x(), y());
+    }
+
+    /**
+     * Devuelve la coordenada X del área ocupada por la bala para detección de colisiones.
+     * @return Coordenada X del área
+     */
+    @Override
+    public int obtenerAreaX() {
+        return (int)x();
+    }
+
+    /**
+     * Devuelve la coordenada Y del área ocupada por la bala para detección de colisiones.
+     * @return Coordenada Y del área
+     */
+    @Override
+    public int obtenerAreaY() {
+        return (int)y();
+    }
+
+    /**
+     * Devuelve el ancho del área ocupada por la bala.
+     * @return Ancho del área
+     */
+    @Override
+    public int obtenerAreaAncho() {
+        return ANCHO_BALA;
+    }
+
+    /**
+     * Devuelve el alto del área ocupada por la bala.
+     * @return Alto del área
+     */
+    @Override
+    public int obtenerAreaAlto() {
+        return ALTURA_BALA;
     }
 
     /**
-     * Devuelve el área rectangular ocupada por la bala para detección de colisiones.
-     * @return Rectángulo con la posición y tamaño de la bala
+     * Desactiva la bala si salió de los límites del tablero.
+     * Una bala suelta no está en el tablero, por lo que no hace nada.
+     * @return true si la bala salió del tablero, false en caso contrario
      */
-    public Rectangle obtenerArea() {
-        return new Rectangle((int)posicion.x(), (int)posicion.y(), ANCHO_BALA, ALTURA_BALA);
+    public boolean verificarLimites() {
+        return pool != null && pool.verificarLimites(indice);
     }
 
     /**
-     * Gestiona la colisión de la bala con un bloque, actualizando su estado y reproduciendo sonido si corresponde.
+     * Gestiona la colisión de la bala con un bloque, actualizando su estado y anotando el impacto si corresponde.
+     * Una bala suelta no está en el tablero, por lo que no hace nada.
      * @param bloque Bloque con el que colisiona
      */
     public void colisionarConBloque(Bloque bloque) {
-        if (activa && (posicion.x() < 0 || posicion.x() > 800 || posicion.y() < 0 || posicion.y() > 600)) {
-            impacto();
-            return;
-        }
-        if (activa && obtenerArea().intersects(bloque.obtenerArea())) {
-            if (bloque.impactoBala()) {
-                impacto();
-            }
-            bloque.reproducirSonidoImpacto(gestorSonido);
+        if (pool != null) {
+            pool.colisionarConBloque(indice, bloque);
         }
     }
 
     /**
      * Gestiona la colisión de la bala con un tanque, actualizando su estado y el del tanque.
+     * Una bala suelta no está en el tablero, por lo que no hace nada.
      * @param tanque Tanque con el que colisiona
      */
     public void colisionarConTanque(Tanque tanque) {
-        if (activa && obtenerArea().intersects(tanque.obtenerArea())) {
-            impacto();
-            if (tanque.esEnemigo() && propietario.esEnemigo()) {
-                return;
-            }
-            if ((tanque.esPrimerJugador() && propietario.esSegundoJugador()) ||
-                (tanque.esSegundoJugador() && propietario.esPrimerJugador())) {
-                tanque.congelar();
-            } else {
-                if (!tanque.esInvulnerable()){
-                    tanque.salud--;
-                }
-                if (tanque.esInvulnerable()){
-                    gestorSonido.reproducir("IMPACTO_TANQUE_BLINDADO");
-                }
-                if (tanque.esBlindado() && !propietario.tieneInstaKill()) {
-                    gestorSonido.reproducir("IMPACTO_TANQUE_BLINDADO");
-                }
-                if (propietario.tieneInstaKill()) {
-                    tanque.salud = 0;
-                }
-            }
+        if (pool != null) {
+            pool.colisionarConTanque(indice, tanque);
         }
     }
 
@@ -113,7 +198,7 @@ public class Bala {
      * @param otraBala Otra bala con la que colisiona
      */
     public void colisionarConBala(Bala otraBala) {
-        if (activa && otraBala.estaActiva() && obtenerArea().intersects(otraBala.obtenerArea())) {
+        if (estaActiva() && otraBala.estaActiva() && intersecta(otraBala)) {
             this.impacto();
             otraBala.impacto();
         }
@@ -123,8 +208,12 @@ public class Bala {
      * Realiza la acción de impacto de la bala, desactivándola y notificando a su propietario.
      */
     public void impacto() {
-        this.activa = false;
-        this.propietario.desactivarBala();
+        if (pool != null) {
+            pool.impacto(indice);
+        } else if (activa) {
+            activa = false;
+            propietario.desactivarBala();
+        }
     }
 
     /**
@@ -132,7 +221,7 @@ public class Bala {
      * @return true si está activa, false si debe eliminarse
      */
     public boolean estaActiva() {
-        return activa;
+        return pool != null ? pool.activa(indice) : activa;
     }
 
     /**
@@ -148,6 +237,22 @@ public class Bala {
      * @return Tanque propietario
      */
     public Tanque getPropietario() {
-        return propietario;
+        return pool != null ? pool.propietario(indice) : propietario;
+    }
+
+    /**
+     * Devuelve la coordenada x de la bala, del pool o de sus propios campos si está suelta.
+     * @return Coordenada x
+     */
+    double x() {
+        return pool != null ? pool.x(indice) : x;
+    }
+
+    /**
+     * Devuelve la coordenada y de la bala, del pool o de sus propios campos si está suelta.
+     * @return Coordenada y
+     */
+    double y() {
+        return pool != null ? pool.y(indice) : y;
     }
 }
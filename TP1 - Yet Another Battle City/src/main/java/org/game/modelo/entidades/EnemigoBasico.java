@@ -1,7 +1,9 @@
 package org.game.modelo.entidades;
 
 import org.game.modelo.Posicion;
-import org.game.visualizacion.GestorSonido;
+import org.game.modelo.ia.ConductaAsaltoBase;
+
+import java.util.SplittableRandom;
 
 public class EnemigoBasico extends TanqueEnemigo {
     private static final double VELOCIDAD = 150.0; // Píxeles por segundo
@@ -9,12 +11,20 @@ public class EnemigoBasico extends TanqueEnemigo {
     private static final int SALUD = 1;
 
     /**
-     * Crea un enemigo básico en la posición indicada.
+     * Crea un enemigo básico en la posición indicada, con una fuente de números aleatorios propia.
+     * @param posicionInicial Posición inicial del enemigo
+     */
+    public EnemigoBasico(Posicion posicionInicial) {
+        this(posicionInicial, new SplittableRandom());
+    }
+
+    /**
+     * Crea un enemigo básico en la posición indicada. En el modo dirigido va directo a la base.
      * @param posicionInicial Posición inicial del enemigo
-     * @param gestorSonido Gestor de sonidos para efectos del tanque
+     * @param aleatorio Fuente de números aleatorios de la partida
      */
-    public EnemigoBasico(Posicion posicionInicial, GestorSonido gestorSonido) {
-        super(posicionInicial, VELOCIDAD, SALUD, TIEMPO_POR_DISPARO, gestorSonido);
+    public EnemigoBasico(Posicion posicionInicial, SplittableRandom aleatorio) {
+        super(posicionInicial, VELOCIDAD, SALUD, TIEMPO_POR_DISPARO, aleatorio, new ConductaAsaltoBase());
     }
 
     /**
@@ -33,7 +43,7 @@ public class EnemigoBasico extends TanqueEnemigo {
      */
     @Override
     public String obtenerClaveImagen() {
-        if (seMueve && System.currentTimeMillis() % 200 > 100) {
+        if (mostrarFotogramaAlternativo()) {
             return "ENEMIGO_BASICO_1";
         }
         return "ENEMIGO_BASICO_0";
@@ -1,7 +1,9 @@
 package org.game.modelo.entidades;
 
 import org.game.modelo.Posicion;
-import org.game.visualizacion.GestorSonido;
+import org.game.modelo.ia.ConductaDefensor;
+
+import java.util.SplittableRandom;
 
 public class EnemigoBlindado extends TanqueEnemigo {
     private static final double VELOCIDAD = 150.0; // Píxeles por segundo
@@ -9,12 +11,20 @@ public class EnemigoBlindado extends TanqueEnemigo {
     private static final int SALUD = 3;
 
     /**
-     * Crea un enemigo blindado en la posición indicada.
+     * Crea un enemigo blindado en la posición indicada, con una fuente de números aleatorios propia.
+     * @param posicionInicial Posición inicial del enemigo
+     */
+    public EnemigoBlindado(Posicion posicionInicial) {
+        this(posicionInicial, new SplittableRandom());
+    }
+
+    /**
+     * Crea un enemigo blindado en la posición indicada. En el modo dirigido custodia la zona donde aparece.
      * @param posicionInicial Posición inicial del enemigo
-     * @param gestorSonido Gestor de sonidos para efectos del tanque
+     * @param aleatorio Fuente de números aleatorios de la partida
      */
-    public EnemigoBlindado(Posicion posicionInicial, GestorSonido gestorSonido) {
-        super(posicionInicial, VELOCIDAD, SALUD, TIEMPO_POR_DISPARO, gestorSonido);
+    public EnemigoBlindado(Posicion posicionInicial, SplittableRandom aleatorio) {
+        super(posicionInicial, VELOCIDAD, SALUD, TIEMPO_POR_DISPARO, aleatorio, new ConductaDefensor());
     }
 
     /**
@@ -42,7 +52,7 @@ public class EnemigoBlindado extends TanqueEnemigo {
      */
     @Override
     public String obtenerClaveImagen() {
-        if (seMueve && System.currentTimeMillis() % 200 > 100) {
+        if (mostrarFotogramaAlternativo()) {
             return "ENEMIGO_BLINDADO_1";
         }
         return "ENEMIGO_BLINDADO_0";
@@ -1,7 +1,9 @@
 package org.game.modelo.entidades;
 
 import org.game.modelo.Posicion;
-import org.game.visualizacion.GestorSonido;
+import org.game.modelo.ia.ConductaCazador;
+
+import java.util.SplittableRandom;
 
 public class EnemigoRapido extends TanqueEnemigo {
 	private static final double VELOCIDAD = 200.0; // Píxeles por segundo
@@ -9,12 +11,20 @@ public class EnemigoRapido extends TanqueEnemigo {
 	private static final int SALUD = 1;
 
 	/**
-	 * Crea un enemigo rápido en la posición indicada.
+	 * Crea un enemigo rápido en la posición indicada, con una fuente de números aleatorios propia.
+	 * @param posicionInicial Posición inicial del enemigo
+	 */
+	public EnemigoRapido(Posicion posicionInicial) {
+		this(posicionInicial, new SplittableRandom());
+	}
+
+	/**
+	 * Crea un enemigo rápido en la posición indicada. En el modo dirigido persigue a los jugadores.
 	 * @param posicionInicial Posición inicial del enemigo
-	 * @param gestorSonido   Gestor de sonidos para efectos del tanque
+	 * @param aleatorio Fuente de números aleatorios de la partida
 	 */
-	public EnemigoRapido(Posicion posicionInicial, GestorSonido gestorSonido) {
-		super(posicionInicial, VELOCIDAD, SALUD, TIEMPO_POR_DISPARO, gestorSonido);
+	public EnemigoRapido(Posicion posicionInicial, SplittableRandom aleatorio) {
+		super(posicionInicial, VELOCIDAD, SALUD, TIEMPO_POR_DISPARO, aleatorio, new ConductaCazador());
 	}
 
 	/**
@@ -33,7 +43,7 @@ public class EnemigoRapido extends TanqueEnemigo {
 	 */
 	@Override
 	public String obtenerClaveImagen() {
-		if (seMueve && System.currentTimeMillis() % 200 > 100) {
+		if (mostrarFotogramaAlternativo()) {
 			return "ENEMIGO_RAPIDO_1";
 		}
 		return "ENEMIGO_RAPIDO_0";
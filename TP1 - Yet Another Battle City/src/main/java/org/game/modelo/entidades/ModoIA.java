@@ -0,0 +1,6 @@
+package org.game.modelo.entidades;
+
+public enum ModoIA {
+    ALEATORIO,
+    DIRIGIDO
+}
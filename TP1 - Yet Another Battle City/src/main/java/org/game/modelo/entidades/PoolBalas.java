@@ -0,0 +1,485 @@
+package org.game.modelo.entidades;
+
+import org.game.modelo.BufferEventos;
+import org.game.modelo.Colisionable;
+import org.game.modelo.Direccion;
+import org.game.modelo.TipoEvento;
+import org.game.modelo.terreno.Bloque;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PoolBalas {
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+    private static final int LIMITE_X = 800;
+    private static final int LIMITE_Y = 600;
+    private static final int TAMANIO_CELDA = Bloque.ANCHO_BLOQUE;
+    private static final int COLUMNAS = (LIMITE_X + TAMANIO_CELDA - 1) / TAMANIO_CELDA;
+    private static final int FILAS = (LIMITE_Y + TAMANIO_CELDA - 1) / TAMANIO_CELDA;
+    private static final byte SIN_DIRECCION = -1;
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] xsPrevias;
+    private final double[] ysPrevias;
+    private final double[] velocidades;
+    private final byte[] direcciones;
+    private final Tanque[] propietarios;
+    private final boolean[] activas;
+    private final Bala[] vistas;
+    private final int[] enUso;
+    private final int[] libres;
+    private final int[] primeraDeCelda;
+    private final int[] siguienteEnCelda;
+    private BufferEventos eventos;
+    private int cantidad;
+    private int cantidadLibres;
+
+    /**
+     * Crea un pool de balas de capacidad fija. Cada bala ocupa un lugar en arreglos paralelos
+     * (posición, dirección, velocidad, propietario y estado) que se recicla cuando la bala deja de estar activa.
+     * @param capacidad cantidad máxima de balas simultáneas
+     * @param eventos buffer donde se anotan los impactos
+     */
+    public PoolBalas(int capacidad, BufferEventos eventos) {
+        this.xs = new double[capacidad];
+        this.ys = new double[capacidad];
+        this.xsPrevias = new double[capacidad];
+        this.ysPrevias = new double[capacidad];
+        this.velocidades = new double[capacidad];
+        this.direcciones = new byte[capacidad];
+        this.propietarios = new Tanque[capacidad];
+        this.activas = new boolean[capacidad];
+        this.vistas = new Bala[capacidad];
+        this.enUso = new int[capacidad];
+        this.libres = new int[capacidad];
+        this.primeraDeCelda = new int[COLUMNAS * FILAS];
+        this.siguienteEnCelda = new int[capacidad];
+        this.eventos = eventos;
+        this.cantidad = 0;
+        this.cantidadLibres = capacidad;
+        for (int i = 0; i < capacidad; i++) {
+            libres[i] = capacidad - 1 - i;
+        }
+    }
+
+    /**
+     * Cambia el buffer donde se anotan los impactos de las balas.
+     * @param eventos buffer de eventos
+     */
+    public void usarEventos(BufferEventos eventos) {
+        this.eventos = eventos;
+    }
+
+    /**
+     * Agrega una bala nueva ocupando un lugar libre, sin crear objetos.
+     * @param x coordenada x inicial
+     * @param y coordenada y inicial
+     * @param direccion dirección de movimiento
+     * @param velocidad velocidad de la bala
+     * @param propietario tanque que disparó la bala
+     * @return índice de la bala, o -1 si el pool está lleno
+     */
+    public int disparar(double x, double y, Direccion direccion, double velocidad, Tanque propietario) {
+        if (cantidadLibres == 0) {
+            return -1;
+        }
+        int bala = libres[--cantidadLibres];
+        xs[bala] = x;
+        ys[bala] = y;
+        xsPrevias[bala] = x;
+        ysPrevias[bala] = y;
+        velocidades[bala] = velocidad;
+        direcciones[bala] = direccion != null ? (byte)direccion.ordinal() : SIN_DIRECCION;
+        propietarios[bala] = propietario;
+        activas[bala] = true;
+        enUso[cantidad++] = bala;
+        return bala;
+    }
+
+    /**
+     * Mueve a este pool una bala suelta o de otro pool; desde ese momento la bala funciona como vista de su lugar.
+     * @param bala bala a agregar
+     * @return true si se agregó, false si ya estaba en este pool o el pool está lleno
+     */
+    public boolean agregar(Bala bala) {
+        if (bala.obtenerPool() == this) {
+            return false;
+        }
+        int indice = disparar(bala.x(), bala.y(), bala.obtenerDireccion(), bala.obtenerVelocidad(), bala.getPropietario());
+        if (indice < 0) {
+            return false;
+        }
+        activas[indice] = bala.estaActiva();
+        vistas[indice] = bala;
+        bala.vincular(this, indice);
+        return true;
+    }
+
+    /**
+     * Devuelve la cantidad de balas que ocupan un lugar del pool.
+     * @return cantidad de balas
+     */
+    public int cantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Devuelve el índice de la i-ésima bala en uso, en orden de disparo.
+     * @param i posición entre las balas en uso
+     * @return índice de la bala
+     */
+    public int obtenerIndice(int i) {
+        return enUso[i];
+    }
+
+    /**
+     * Devuelve la coordenada x de la bala.
+     * @param bala índice de la bala
+     * @return coordenada x
+     */
+    public double x(int bala) {
+        return xs[bala];
+    }
+
+    /**
+     * Devuelve la coordenada y de la bala.
+     * @param bala índice de la bala
+     * @return coordenada y
+     */
+    public double y(int bala) {
+        return ys[bala];
+    }
+
+    /**
+     * Devuelve la coordenada x que tenía la bala al comenzar el último paso de física.
+     * @param bala índice de la bala
+     * @return coordenada x previa
+     */
+    public double xPrevia(int bala) {
+        return xsPrevias[bala];
+    }
+
+    /**
+     * Devuelve la coordenada y que tenía la bala al comenzar el último paso de física.
+     * @param bala índice de la bala
+     * @return coordenada y previa
+     */
+    public double yPrevia(int bala) {
+        return ysPrevias[bala];
+    }
+
+    /**
+     * Guarda la posición actual de todas las balas en uso como la del paso anterior,
+     * para que la vista pueda interpolar entre ambas.
+     */
+    public void guardarPosicionesPrevias() {
+        for (int i = 0; i < cantidad; i++) {
+            int bala = enUso[i];
+            xsPrevias[bala] = xs[bala];
+            ysPrevias[bala] = ys[bala];
+        }
+    }
+
+    /**
+     * Devuelve la velocidad de la bala.
+     * @param bala índice de la bala
+     * @return velocidad
+     */
+    public double velocidad(int bala) {
+        return velocidades[bala];
+    }
+
+    /**
+     * Devuelve la dirección de la bala.
+     * @param bala índice de la bala
+     * @return dirección, o null si no tiene
+     */
+    public Direccion direccion(int bala) {
+        return direcciones[bala] == SIN_DIRECCION ? null : DIRECCIONES[direcciones[bala]];
+    }
+
+    /**
+     * Devuelve el tanque que disparó la bala.
+     * @param bala índice de la bala
+     * @return tanque propietario
+     */
+    public Tanque propietario(int bala) {
+        return propietarios[bala];
+    }
+
+    /**
+     * Indica si la bala está activa.
+     * @param bala índice de la bala
+     * @return true si está activa, false si debe liberarse
+     */
+    public boolean activa(int bala) {
+        return activas[bala];
+    }
+
+    /**
+     * Mueve la bala según su dirección y velocidad.
+     * @param bala índice de la bala
+     * @param tiempoDelta tiempo transcurrido desde la última actualización (en segundos)
+     */
+    public void mover(int bala, double tiempoDelta) {
+        if (direcciones[bala] != SIN_DIRECCION) {
+            Direccion direccion = DIRECCIONES[direcciones[bala]];
+            double distancia = velocidades[bala] * tiempoDelta;
+            xs[bala] += direccion.obtenerDx() * distancia;
+            ys[bala] += direccion.obtenerDy() * distancia;
+        }
+    }
+
+    /**
+     * Devuelve cuántos píxeles enteros avanzaría el área de colisión de la bala al moverse durante el paso.
+     * @param bala índice de la bala
+     * @param tiempoDelta tiempo transcurrido desde la última actualización (en segundos)
+     * @return píxeles enteros recorridos, 0 si la bala no tiene dirección
+     */
+    public int pixelesDelPaso(int bala, double tiempoDelta) {
+        if (direcciones[bala] == SIN_DIRECCION) {
+            return 0;
+        }
+        Direccion direccion = DIRECCIONES[direcciones[bala]];
+        double distancia = velocidades[bala] * tiempoDelta;
+        double inicio = direccion.obtenerDx() != 0 ? xs[bala] : ys[bala];
+        double fin = inicio + (direccion.obtenerDx() + direccion.obtenerDy()) * distancia;
+        return Math.abs((int)fin - (int)inicio);
+    }
+
+    /**
+     * Mueve la bala como mover, pero la deja en la primera posición en la que su área de colisión
+     * avanzó los píxeles indicados, es decir, donde toca el obstáculo encontrado por el barrido.
+     * @param bala índice de la bala
+     * @param tiempoDelta tiempo transcurrido desde la última actualización (en segundos)
+     * @param pixeles píxeles enteros hasta el contacto, o -1 si no hay contacto y la bala hace el recorrido completo
+     */
+    public void moverHastaContacto(int bala, double tiempoDelta, int pixeles) {
+        if (pixeles < 0) {
+            mover(bala, tiempoDelta);
+            return;
+        }
+        if (pixeles == 0 || direcciones[bala] == SIN_DIRECCION) {
+            return;
+        }
+        Direccion direccion = DIRECCIONES[direcciones[bala]];
+        double distancia = velocidades[bala] * tiempoDelta;
+        if (direccion.obtenerDx() != 0) {
+            xs[bala] = contacto(xs[bala], direccion.obtenerDx(), distancia, pixeles);
+        } else {
+            ys[bala] = contacto(ys[bala], direccion.obtenerDy(), distancia, pixeles);
+        }
+    }
+
+    /**
+     * Calcula la coordenada de contacto sobre el eje de avance. Avanzando, es el píxel de contacto;
+     * retrocediendo, el mayor valor cuyo píxel es el de contacto, sin pasarse del recorrido.
+     * @param inicio coordenada inicial
+     * @param sentido sentido de avance (-1 o 1)
+     * @param distancia distancia del recorrido completo
+     * @param pixeles píxeles enteros hasta el contacto
+     * @return coordenada de contacto
+     */
+    private static double contacto(double inicio, int sentido, double distancia, int pixeles) {
+        int pixel = (int)inicio + sentido * pixeles;
+        if (sentido > 0) {
+            return pixel;
+        }
+        return Math.max(inicio - distancia, pixel);
+    }
+
+    /**
+     * Desactiva la bala si salió de los límites del tablero.
+     * @param bala índice de la bala
+     * @return true si la bala salió del tablero, false en caso contrario
+     */
+    public boolean verificarLimites(int bala) {
+        if (activas[bala] && (xs[bala] < 0 || xs[bala] > LIMITE_X || ys[bala] < 0 || ys[bala] > LIMITE_Y)) {
+            impacto(bala);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Indica si la bala interseca el área indicada.
+     * @param bala índice de la bala
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @return true si se intersecan, false en caso contrario
+     */
+    public boolean intersecta(int bala, int x, int y, int ancho, int alto) {
+        return Colisionable.intersectan((int)xs[bala], (int)ys[bala], Bala.ANCHO_BALA, Bala.ALTURA_BALA, x, y, ancho, alto);
+    }
+
+    /**
+     * Gestiona la colisión de la bala con un bloque, actualizando su estado. Si el bloque detiene la bala,
+     * anota el impacto y, si era la base y quedó destruida, también su destrucción.
+     * @param bala índice de la bala
+     * @param bloque bloque con el que colisiona
+     */
+    public void colisionarConBloque(int bala, Bloque bloque) {
+        if (verificarLimites(bala)) {
+            return;
+        }
+        if (activas[bala] && intersecta(bala, bloque.obtenerAreaX(), bloque.obtenerAreaY(), bloque.obtenerAreaAncho(), bloque.obtenerAreaAlto())) {
+            if (bloque.impactoBala()) {
+                impacto(bala);
+                eventos.registrar(TipoEvento.BLOQUE_IMPACTADO, bloque.obtenerAreaX(), bloque.obtenerAreaY(), bloque.obtenerTipo().ordinal());
+                if (bloque.esBase() && !bloque.existe()) {
+                    eventos.registrar(TipoEvento.BASE_DESTRUIDA, bloque.obtenerAreaX(), bloque.obtenerAreaY(), 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gestiona la colisión de la bala con un tanque, actualizando su estado y el del tanque.
+     * Anota el impacto cuando la bala daña (o intenta dañar) al tanque.
+     * @param bala índice de la bala
+     * @param tanque tanque con el que colisiona
+     */
+    public void colisionarConTanque(int bala, Tanque tanque) {
+        if (!activas[bala] || !intersecta(bala, tanque.obtenerAreaX(), tanque.obtenerAreaY(), tanque.obtenerAreaAncho(), tanque.obtenerAreaAlto())) {
+            return;
+        }
+        Tanque propietario = propietarios[bala];
+        impacto(bala);
+        if (tanque.esEnemigo() && propietario.esEnemigo()) {
+            return;
+        }
+        if ((tanque.esPrimerJugador() && propietario.esSegundoJugador()) ||
+            (tanque.esSegundoJugador() && propietario.esPrimerJugador())) {
+            tanque.congelar();
+        } else {
+            if (!tanque.esInvulnerable()){
+                tanque.salud--;
+            }
+            boolean blindado = tanque.esInvulnerable() || (tanque.esBlindado() && !propietario.tieneInstaKill());
+            eventos.registrar(TipoEvento.TANQUE_IMPACTADO, tanque.obtenerAreaX(), tanque.obtenerAreaY(), blindado ? 1 : 0);
+            if (propietario.tieneInstaKill()) {
+                tanque.salud = 0;
+            }
+        }
+    }
+
+    /**
+     * Gestiona la colisión entre dos balas, desactivando ambas si colisionan.
+     * @param bala índice de la bala
+     * @param otraBala índice de la otra bala
+     */
+    public void colisionarConBala(int bala, int otraBala) {
+        if (activas[bala] && activas[otraBala] && intersecta(bala, (int)xs[otraBala], (int)ys[otraBala], Bala.ANCHO_BALA, Bala.ALTURA_BALA)) {
+            impacto(bala);
+            impacto(otraBala);
+        }
+    }
+
+    /**
+     * Gestiona las colisiones entre todas las balas activas. Agrupa las balas por celda en listas enlazadas
+     * sobre arreglos, de modo que cada bala solo se compara con las de su celda y las vecinas.
+     */
+    public void colisionarEntreBalas() {
+        Arrays.fill(primeraDeCelda, -1);
+        for (int i = 0; i < cantidad; i++) {
+            int bala = enUso[i];
+            if (activas[bala]) {
+                int celda = fila(bala) * COLUMNAS + columna(bala);
+                siguienteEnCelda[bala] = primeraDeCelda[celda];
+                primeraDeCelda[celda] = bala;
+            }
+        }
+        for (int i = 0; i < cantidad; i++) {
+            int bala = enUso[i];
+            if (!activas[bala]) {
+                continue;
+            }
+            int columna = columna(bala);
+            int fila = fila(bala);
+            for (int f = Math.max(0, fila - 1); f <= Math.min(FILAS - 1, fila + 1) && activas[bala]; f++) {
+                for (int c = Math.max(0, columna - 1); c <= Math.min(COLUMNAS - 1, columna + 1) && activas[bala]; c++) {
+                    for (int otra = primeraDeCelda[f * COLUMNAS + c]; otra >= 0; otra = siguienteEnCelda[otra]) {
+                        if (otra != bala) {
+                            colisionarConBala(bala, otra);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve la columna de la celda donde está la esquina de la bala.
+     * @param bala índice de la bala
+     * @return columna, limitada a la grilla
+     */
+    private int columna(int bala) {
+        return Math.max(0, Math.min(COLUMNAS - 1, (int)Math.floor(xs[bala] / TAMANIO_CELDA)));
+    }
+
+    /**
+     * Devuelve la fila de la celda donde está la esquina de la bala.
+     * @param bala índice de la bala
+     * @return fila, limitada a la grilla
+     */
+    private int fila(int bala) {
+        return Math.max(0, Math.min(FILAS - 1, (int)Math.floor(ys[bala] / TAMANIO_CELDA)));
+    }
+
+    /**
+     * Realiza la acción de impacto de la bala, desactivándola y notificando a su propietario.
+     * @param bala índice de la bala
+     */
+    public void impacto(int bala) {
+        activas[bala] = false;
+        propietarios[bala].desactivarBala();
+    }
+
+    /**
+     * Libera los lugares de las balas inactivas para reutilizarlos, manteniendo el orden de las demás.
+     * Las vistas de las balas liberadas quedan sueltas, con su último estado, para que sigan indicando que están inactivas.
+     */
+    public void liberarInactivas() {
+        int quedan = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int bala = enUso[i];
+            if (activas[bala]) {
+                enUso[quedan++] = bala;
+            } else {
+                if (vistas[bala] != null) {
+                    vistas[bala].soltar(xs[bala], ys[bala], direccion(bala), velocidades[bala], propietarios[bala], false);
+                    vistas[bala] = null;
+                }
+                propietarios[bala] = null;
+                libres[cantidadLibres++] = bala;
+            }
+        }
+        cantidad = quedan;
+    }
+
+    /**
+     * Devuelve la vista de la bala, creándola la primera vez que se pide.
+     * @param bala índice de la bala
+     * @return vista de la bala
+     */
+    public Bala obtenerBala(int bala) {
+        if (vistas[bala] == null) {
+            vistas[bala] = new Bala(this, bala);
+        }
+        return vistas[bala];
+    }
+
+    /**
+     * Agrega a la lista las vistas de todas las balas en uso, en orden de disparo.
+     * @param resultado lista donde se agregan las balas
+     */
+    public void obtenerBalas(List<Bala> resultado) {
+        for (int i = 0; i < cantidad; i++) {
+            resultado.add(obtenerBala(enUso[i]));
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package org.game.modelo.entidades;
 
+import org.game.modelo.Colisionable;
 import org.game.modelo.ConstantesTablero;
 import org.game.modelo.Direccion;
 import org.game.modelo.Posicion;
 import org.game.modelo.terreno.Bloque;
-import org.game.visualizacion.GestorSonido;
-
-import java.awt.*;
-
-public abstract class Tanque {
-    protected GestorSonido gestorSonido;
-    protected Posicion posicion;
-    protected Posicion posicionAnterior;
+import org.game.niveles.Nivel;
+
+public abstract class Tanque implements Colisionable {
+    private static final double DURACION_CONGELAMIENTO = 3.0; // Segundos
+    private static final double DURACION_INVULNERABILIDAD = 10.0; // Segundos
+    private static final double PERIODO_ANIMACION = 0.2; // Segundos
+    private static final int OFFSET_AREA_X = (int)((Bloque.ANCHO_BLOQUE - Bloque.ANCHO_TANQUE) / 2.0);
+    private static final int OFFSET_AREA_Y = (int)((Bloque.ALTURA_BLOQUE - Bloque.ALTURA_TANQUE) / 2.0);
+
+    protected boolean tienePosicion;
+    protected double x;
+    protected double y;
+    protected double xAnterior;
+    protected double yAnterior;
+    protected double xPrevia;
+    protected double yPrevia;
     protected Direccion direccion;
     protected int limiteX;
     protected int limiteY;
@@ -24,21 +33,27 @@ public abstract class Tanque {
     private boolean balaActiva;
     private boolean esInvulnerable;
     public boolean puedeDisparar;
-    private long tiempoDescongelacion;
-    private long tiempoInvulnerabilidad;
+    private double tiempoCongelamientoRestante;
+    private double tiempoInvulnerabilidadRestante;
+    private double tiempoAnimacion;
 
     /**
-     * Crea un tanque con la posición, velocidad, salud y gestor de sonido indicados.
+     * Crea un tanque con la posición, velocidad y salud indicadas.
      * @param posicionInicial Posición inicial del tanque
      * @param velocidad Velocidad de movimiento del tanque
      * @param saludInicial Salud inicial del tanque
      * @param tiempoPorDisparo Tiempo mínimo entre disparos
-     * @param gestorSonido Gestor de sonidos para efectos del tanque
      */
-    public Tanque(Posicion posicionInicial, double velocidad, int saludInicial, int tiempoPorDisparo, GestorSonido gestorSonido) {
-        this.gestorSonido = gestorSonido;
-        this.posicion = posicionInicial;
-        this.posicionAnterior = posicionInicial;
+    public Tanque(Posicion posicionInicial, double velocidad, int saludInicial, int tiempoPorDisparo) {
+        this.tienePosicion = posicionInicial != null;
+        if (tienePosicion) {
+            this.x = posicionInicial.x();
+            this.y = posicionInicial.y();
+        }
+        this.xAnterior = x;
+        this.yAnterior = y;
+        this.xPrevia = x;
+        this.yPrevia = y;
         this.direccion = Direccion.ARRIBA;
         this.limiteX = ConstantesTablero.ANCHO_SUBTABLERO;
         this.limiteY = ConstantesTablero.ALTURA_SUBTABLERO;
@@ -51,8 +66,9 @@ public abstract class Tanque {
         this.balaActiva = false;
         this.esInvulnerable = false;
         this.puedeDisparar = true;
-        this.tiempoDescongelacion = 0;
-        this.tiempoInvulnerabilidad = 0;
+        this.tiempoCongelamientoRestante = 0;
+        this.tiempoInvulnerabilidadRestante = 0;
+        this.tiempoAnimacion = 0;
     }
 
     /**
@@ -63,25 +79,40 @@ public abstract class Tanque {
 
     /**
      * Mueve el tanque en la dirección indicada durante el tiempo especificado, si puede moverse.
-     * Actualiza la posición y la dirección del tanque.
+     * Actualiza las coordenadas y la dirección del tanque sin crear objetos Posicion.
      * @param direccion Dirección de movimiento
      * @param tiempoDelta Tiempo transcurrido
      */
     public void movimiento(Direccion direccion, double tiempoDelta) {
         if (this.puedeMoverse()) {
             this.direccion = direccion;
-            Posicion nuevaPosicion = posicion.mover(direccion, velocidad * tiempoDelta);
-
-            double x = Math.max(0, Math.min(nuevaPosicion.x(), limiteX - Bloque.ANCHO_BLOQUE));
-            double y = Math.max(0, Math.min(nuevaPosicion.y(), limiteY - Bloque.ALTURA_BLOQUE));
-            nuevaPosicion = new Posicion(x, y);
-
-            this.posicionAnterior = this.posicion;
-            this.posicion = nuevaPosicion;
+            double distancia = velocidad * tiempoDelta;
+            this.xAnterior = this.x;
+            this.yAnterior = this.y;
+            this.x = limitarX(x + direccion.obtenerDx() * distancia);
+            this.y = limitarY(y + direccion.obtenerDy() * distancia);
             this.seMueve = true;
         }
     }
 
+    /**
+     * Limita una coordenada x para que el tanque no salga del tablero.
+     * @param x Coordenada x
+     * @return Coordenada x dentro del tablero
+     */
+    protected double limitarX(double x) {
+        return Math.max(0, Math.min(x, limiteX - Bloque.ANCHO_BLOQUE));
+    }
+
+    /**
+     * Limita una coordenada y para que el tanque no salga del tablero.
+     * @param y Coordenada y
+     * @return Coordenada y dentro del tablero
+     */
+    protected double limitarY(double y) {
+        return Math.max(0, Math.min(y, limiteY - Bloque.ALTURA_BLOQUE));
+    }
+
     /**
      * Actualiza el estado de movimiento del tanque.
      * @param estaRecibiendoMovimiento true si se está intentando mover, false si no
@@ -93,12 +124,13 @@ public abstract class Tanque {
     }
 
     /**
-     * Dispara una bala en la dirección indicada (o en la dirección actual si es null).
+     * Dispara una bala en la dirección indicada (o en la dirección actual si es null), ocupando un lugar del pool.
      * Calcula la posición inicial de la bala según la posición y dirección del tanque.
      * @param direccion Dirección del disparo
-     * @return Nueva instancia de Bala
+     * @param balas Pool de balas del nivel
+     * @return true si se disparó, false si el pool está lleno
      */
-    public Bala disparar(Direccion direccion) {
+    public boolean disparar(Direccion direccion, PoolBalas balas) {
         Direccion dir;
         if (direccion != null) {
             dir = direccion;
@@ -106,42 +138,72 @@ public abstract class Tanque {
             dir = this.direccion;
         }
         int balaSize = Bala.ANCHO_BALA;
-        double x = posicion.x() + (Bloque.ANCHO_BLOQUE - balaSize) / 2.0;
-        double y = posicion.y() + (Bloque.ALTURA_BLOQUE - balaSize) / 2.0;
+        double balaX = x + (Bloque.ANCHO_BLOQUE - balaSize) / 2.0;
+        double balaY = y + (Bloque.ALTURA_BLOQUE - balaSize) / 2.0;
         int offset = 6;
         switch (dir) {
             case ARRIBA:
-                y = posicion.y() - offset;
+                balaY = y - offset;
                 break;
             case ABAJO:
-                y = posicion.y() + Bloque.ALTURA_BLOQUE - balaSize + offset;
+                balaY = y + Bloque.ALTURA_BLOQUE - balaSize + offset;
                 break;
             case IZQUIERDA:
-                x = posicion.x() - offset;
+                balaX = x - offset;
                 break;
             case DERECHA:
-                x = posicion.x() + Bloque.ANCHO_BLOQUE - balaSize + offset;
+                balaX = x + Bloque.ANCHO_BLOQUE - balaSize + offset;
                 break;
         }
-        return new Bala(new Posicion(x, y), dir, 400, this, gestorSonido);
+        return balas.disparar(balaX, balaY, dir, 400, this) >= 0;
+    }
+
+    /**
+     * Devuelve la coordenada X del área ocupada por el tanque para detección de colisiones.
+     * @return Coordenada X del área
+     */
+    @Override
+    public int obtenerAreaX() {
+        if (!tienePosicion) {
+            return 0;
+        }
+        return (int) x + OFFSET_AREA_X;
+    }
+
+    /**
+     * Devuelve la coordenada Y del área ocupada por el tanque para detección de colisiones.
+     * @return Coordenada Y del área
+     */
+    @Override
+    public int obtenerAreaY() {
+        if (!tienePosicion) {
+            return 0;
+        }
+        return (int) y + OFFSET_AREA_Y;
+    }
+
+    /**
+     * Devuelve el ancho del área ocupada por el tanque.
+     * @return Ancho del área, o 0 si el tanque no tiene posición
+     */
+    @Override
+    public int obtenerAreaAncho() {
+        if (!tienePosicion) {
+            return 0;
+        }
+        return Bloque.ANCHO_TANQUE;
     }
 
     /**
-     * Devuelve el área rectangular ocupada por el tanque para detección de colisiones.
-     * @return Rectángulo con la posición y tamaño del tanque
+     * Devuelve el alto del área ocupada por el tanque.
+     * @return Alto del área, o 0 si el tanque no tiene posición
      */
-    public Rectangle obtenerArea() {
-        if (posicion == null) {
-            return new Rectangle(0, 0, 0, 0);
+    @Override
+    public int obtenerAreaAlto() {
+        if (!tienePosicion) {
+            return 0;
         }
-        int offsetX = (int)((Bloque.ANCHO_BLOQUE - Bloque.ANCHO_TANQUE) / 2.0);
-        int offsetY = (int)((Bloque.ALTURA_BLOQUE - Bloque.ALTURA_TANQUE) / 2.0);
-        return new Rectangle(
-                (int) posicion.x() + offsetX,
-                (int) posicion.y() + offsetY,
-                Bloque.ANCHO_TANQUE,
-                Bloque.ALTURA_TANQUE
-        );
+        return Bloque.ALTURA_TANQUE;
     }
 
     /**
@@ -150,20 +212,38 @@ public abstract class Tanque {
      * @param bloque Bloque con el que colisiona
      */
     public void colisionarConBloque(Bloque bloque) {
-        if (bloque.impidePaso() && obtenerArea().intersects(bloque.obtenerArea())) {
-            this.posicion = this.posicionAnterior;
-            seMueve = false;
+        if (bloque.impidePaso() && intersecta(bloque)) {
+            revertirMovimiento();
         }
     }
 
+    /**
+     * Gestiona la colisión del tanque con el terreno del nivel. Si el paso está bloqueado,
+     * restaura la posición anterior y detiene el movimiento. El terreno se consulta sin crear objetos Bloque.
+     * @param nivel Nivel donde se mueve el tanque
+     */
+    public void colisionarConTerreno(Nivel nivel) {
+        if (nivel.impidePaso(this)) {
+            revertirMovimiento();
+        }
+    }
+
+    /**
+     * Restaura la posición anterior del tanque y detiene su movimiento.
+     */
+    private void revertirMovimiento() {
+        this.x = this.xAnterior;
+        this.y = this.yAnterior;
+        seMueve = false;
+    }
+
     /**
      * Gestiona la colisión del tanque con otro tanque. Si colisiona, restaura la posición anterior y detiene el movimiento.
      * @param tanque Otro tanque con el que colisiona
      */
     public void colisionarConTanque(Tanque tanque) {
-        if (this != tanque && obtenerArea().intersects(tanque.obtenerArea())) {
-            this.posicion = this.posicionAnterior;
-            this.seMueve = false;
+        if (this != tanque && intersecta(tanque)) {
+            revertirMovimiento();
         }
     }
 
@@ -172,19 +252,28 @@ public abstract class Tanque {
      */
     public void congelar() {
         this.congelado = true;
-        this.tiempoDescongelacion = System.currentTimeMillis() + 3000; // 3 segundos
+        this.tiempoCongelamientoRestante = DURACION_CONGELAMIENTO;
     }
 
     /**
-     * Actualiza el estado del tanque.
+     * Actualiza el estado del tanque según el tiempo de juego transcurrido:
+     * descuenta los tiempos de congelamiento e invulnerabilidad y avanza la animación.
+     * @param tiempoDelta Tiempo transcurrido desde la última actualización (en segundos)
      */
-    public void actualizarEstado() {
-        if (congelado && System.currentTimeMillis() >= tiempoDescongelacion) {
-            congelado = false;
+    public void actualizarEstado(double tiempoDelta) {
+        if (congelado) {
+            tiempoCongelamientoRestante -= tiempoDelta;
+            if (tiempoCongelamientoRestante <= 0) {
+                congelado = false;
+            }
         }
-        if (esInvulnerable && System.currentTimeMillis() >= tiempoInvulnerabilidad) {
-            esInvulnerable = false;
+        if (esInvulnerable) {
+            tiempoInvulnerabilidadRestante -= tiempoDelta;
+            if (tiempoInvulnerabilidadRestante <= 0) {
+                esInvulnerable = false;
+            }
         }
+        tiempoAnimacion = (tiempoAnimacion + tiempoDelta) % PERIODO_ANIMACION;
     }
 
     /**
@@ -192,7 +281,7 @@ public abstract class Tanque {
      */
     public void hacerInvulnerable() {
         this.esInvulnerable = true;
-        this.tiempoInvulnerabilidad = System.currentTimeMillis() + 10000; // 10 segundos
+        this.tiempoInvulnerabilidadRestante = DURACION_INVULNERABILIDAD;
     }
 
     /**
@@ -249,11 +338,56 @@ public abstract class Tanque {
     }
 
     /**
-     * Devuelve la posición actual del tanque.
-     * @return Posición del tanque
+     * Devuelve la posición actual del tanque. Crea un objeto nuevo en cada llamada,
+     * por lo que en el ciclo de juego conviene usar obtenerX() y obtenerY().
+     * @return Posición del tanque, o null si no tiene posición
      */
     public Posicion obtenerPosicion() {
-        return posicion;
+        if (!tienePosicion) {
+            return null;
+        }
+        return new Posicion(x, y);
+    }
+
+    /**
+     * Devuelve la coordenada x del tanque.
+     * @return Coordenada x
+     */
+    public double obtenerX() {
+        return x;
+    }
+
+    /**
+     * Devuelve la coordenada y del tanque.
+     * @return Coordenada y
+     */
+    public double obtenerY() {
+        return y;
+    }
+
+    /**
+     * Guarda la posición actual como la del paso anterior, para que la vista pueda interpolar
+     * entre ambas cuando dibuja entre dos pasos de física.
+     */
+    public void guardarPosicionPrevia() {
+        this.xPrevia = x;
+        this.yPrevia = y;
+    }
+
+    /**
+     * Devuelve la coordenada x que tenía el tanque al comenzar el último paso de física.
+     * @return Coordenada x previa
+     */
+    public double obtenerXPrevia() {
+        return xPrevia;
+    }
+
+    /**
+     * Devuelve la coordenada y que tenía el tanque al comenzar el último paso de física.
+     * @return Coordenada y previa
+     */
+    public double obtenerYPrevia() {
+        return yPrevia;
     }
 
     /**
@@ -311,6 +445,14 @@ public abstract class Tanque {
         return false;
     }
 
+    /**
+     * Indica si corresponde mostrar el fotograma alternativo de la animación de movimiento.
+     * @return true si el tanque se mueve y está en la segunda mitad del ciclo de animación
+     */
+    protected boolean mostrarFotogramaAlternativo() {
+        return seMueve && tiempoAnimacion > PERIODO_ANIMACION / 2;
+    }
+
     /**
      * Devuelve la clave de imagen asociada al tanque para su visualización.
      * @return Clave de imagen
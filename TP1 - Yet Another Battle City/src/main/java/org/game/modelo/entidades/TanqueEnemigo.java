@@ -2,20 +2,32 @@ package org.game.modelo.entidades;
 
 import org.game.modelo.Direccion;
 import org.game.modelo.Posicion;
-import org.game.visualizacion.GestorSonido;
+import org.game.modelo.ia.ConductaEnemigo;
 import org.game.modelo.terreno.Bloque;
-import org.game.modelo.ConstantesTablero;
+import org.game.modelo.terreno.Terreno;
+import org.game.modelo.terreno.TipoBloque;
 import org.game.niveles.Nivel;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public abstract class TanqueEnemigo extends Tanque {
+    private static final double TOLERANCIA_ALINEACION = 0.5; // Píxeles
+    private static final int ALCANCE_DISPARO = 8; // Celdas
+    private static final int ALCANCE_DISPARO_PARED = 2; // Celdas
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
     private double tiempoDeConductaRestante;
     private double tiempoAtascado;
-    private Posicion ultimaPosicion;
+    private boolean tieneUltimaPosicion;
+    private double ultimaX;
+    private double ultimaY;
     private Direccion ultimaDireccion;
     private final double tiempoDeRecarga;
     private double cooldownDisparo;
+    private final SplittableRandom aleatorio;
+    private boolean desviado;
+    private ConductaEnemigo conducta;
+    private Direccion direccionDeseada;
 
     /**
      * Crea un tanque enemigo con los parámetros indicados.
@@ -23,32 +35,36 @@ public abstract class TanqueEnemigo extends Tanque {
      * @param velocidad Velocidad de movimiento
      * @param salud Salud inicial
      * @param tiempoPorDisparo Tiempo mínimo entre disparos
-     * @param gestorSonido Gestor de sonidos para efectos del tanque
+     * @param aleatorio Fuente de números aleatorios de la partida
+     * @param conducta Conducta que decide hacia dónde va el tanque en el modo dirigido
      */
-    public TanqueEnemigo(Posicion posicionInicial, double velocidad, int salud, int tiempoPorDisparo, GestorSonido gestorSonido) {
-        super(posicionInicial, velocidad, salud, tiempoPorDisparo, gestorSonido);
-
-        this.posicion = new Posicion(posicionInicial.x(), posicionInicial.y());
+    public TanqueEnemigo(Posicion posicionInicial, double velocidad, int salud, int tiempoPorDisparo, SplittableRandom aleatorio, ConductaEnemigo conducta) {
+        super(posicionInicial, velocidad, salud, tiempoPorDisparo);
+        this.tieneUltimaPosicion = false;
+        this.aleatorio = aleatorio;
+        this.desviado = false;
+        this.conducta = conducta;
+        this.direccionDeseada = null;
         tiempoDeRecarga = tiempoPorDisparo;
-        this.cooldownDisparo = new Random().nextDouble() * tiempoDeRecarga;
+        this.cooldownDisparo = aleatorio.nextDouble() * tiempoDeRecarga;
         sortearNuevaConducta();
     }
 
     /**
-     * Verifica si el área de destino está ocupada por otro tanque vivo.
-     * @param destino Posición destino a verificar
+     * Verifica si el área de destino de un paso en la dirección indicada está ocupada por otro tanque vivo.
+     * Calcula el destino con coordenadas primitivas, sin crear objetos Posicion.
+     * @param direccion Dirección del paso
+     * @param distancia Distancia del paso
      * @param nivel Nivel actual del juego
      * @return true si el área está ocupada, false si está libre
      */
-    private boolean areaDestinoOcupada(Posicion destino, Nivel nivel) {
-        java.awt.Rectangle areaDestino = new java.awt.Rectangle(
-            (int)destino.x() + (int)((Bloque.ANCHO_BLOQUE - Bloque.ANCHO_TANQUE) / 2.0),
-            (int)destino.y() + (int)((Bloque.ALTURA_BLOQUE - Bloque.ALTURA_TANQUE) / 2.0),
-            Bloque.ANCHO_TANQUE,
-            Bloque.ALTURA_TANQUE
-        );
-        for (Tanque t: nivel.obtenerTanques()) {
-            if (t != this && t.estaVivo() && areaDestino.intersects(t.obtenerArea())) {
+    private boolean areaDestinoOcupada(Direccion direccion, double distancia, Nivel nivel) {
+        double destinoX = limitarX(this.x + direccion.obtenerDx() * distancia);
+        double destinoY = limitarY(this.y + direccion.obtenerDy() * distancia);
+        int x = (int)destinoX + (int)((Bloque.ANCHO_BLOQUE - Bloque.ANCHO_TANQUE) / 2.0);
+        int y = (int)destinoY + (int)((Bloque.ALTURA_BLOQUE - Bloque.ALTURA_TANQUE) / 2.0);
+        for (Tanque t: nivel.tanquesEnArea(x, y, Bloque.ANCHO_TANQUE, Bloque.ALTURA_TANQUE)) {
+            if (t != this && t.intersecta(x, y, Bloque.ANCHO_TANQUE, Bloque.ALTURA_TANQUE)) {
                 return true;
             }
         }
@@ -57,48 +73,133 @@ public abstract class TanqueEnemigo extends Tanque {
 
     /**
      * Actualiza el estado del tanque enemigo: movimiento, dirección, disparo y atascos.
+     * En el modo dirigido sigue la última dirección que decidió su conducta (ver decidir); si queda atascado contra
+     * algo que no puede romper (por ejemplo, otro tanque) se desvía al azar un rato y después vuelve a seguirla.
      * @param tiempoDelta Tiempo transcurrido desde la última actualización (en segundos)
      * @param nivel Nivel actual del juego
      */
     public void actualizar(double tiempoDelta, Nivel nivel) {
+        boolean dirigido = nivel.obtenerModoIA() == ModoIA.DIRIGIDO;
+        double tiempoDeMovimiento = tiempoDelta;
         tiempoDeConductaRestante -= tiempoDelta;
-        if (tiempoDeConductaRestante <= 0) {
+        if (dirigido && desviado && tiempoDeConductaRestante <= 0) {
+            desviado = false;
+        }
+        if (dirigido && !desviado) {
+            tiempoDeMovimiento = seguirDireccionDeseada(tiempoDelta);
+        } else if (tiempoDeConductaRestante <= 0) {
             sortearNuevaConducta();
         }
-        Posicion destino = posicion.mover(ultimaDireccion, velocidad * tiempoDelta);
-        double x = Math.max(0, Math.min(destino.x(), ConstantesTablero.ANCHO_SUBTABLERO - Bloque.ANCHO_BLOQUE));
-        double y = Math.max(0, Math.min(destino.y(), ConstantesTablero.ALTURA_SUBTABLERO - Bloque.ALTURA_BLOQUE));
-        destino = new Posicion(x, y);
-        if (!areaDestinoOcupada(destino, nivel)) {
-            movimiento(ultimaDireccion, tiempoDelta);
+        if (!areaDestinoOcupada(ultimaDireccion, velocidad * tiempoDeMovimiento, nivel)) {
+            movimiento(ultimaDireccion, tiempoDeMovimiento);
         }
         actualizarMovimiento(true);
         if (estaEnLaMismaPosicion()) {
-            tiempoAtascado += tiempoDelta;
+            if (!dirigido || !frenteABloqueDestructible(nivel.obtenerTerreno())) {
+                tiempoAtascado += tiempoDelta;
+            }
         } else {
             tiempoAtascado = 0;
-            this.ultimaPosicion = obtenerPosicion();
+            this.tieneUltimaPosicion = true;
+            this.ultimaX = x;
+            this.ultimaY = y;
         }
         if (tiempoAtascado > 2.0) {
-            ultimaDireccion = sortearNuevaDireccion();
+            if (dirigido) {
+                sortearNuevaConducta();
+                desviado = true;
+            } else {
+                ultimaDireccion = sortearNuevaDireccion();
+            }
             tiempoAtascado = 0;
-            Posicion nuevoDestino = posicion.mover(ultimaDireccion, velocidad * tiempoDelta);
-            x = Math.max(0, Math.min(nuevoDestino.x(), ConstantesTablero.ANCHO_SUBTABLERO - Bloque.ANCHO_BLOQUE));
-            y = Math.max(0, Math.min(nuevoDestino.y(), ConstantesTablero.ALTURA_SUBTABLERO - Bloque.ALTURA_BLOQUE));
-            nuevoDestino = new Posicion(x, y);
-            if (!areaDestinoOcupada(nuevoDestino, nivel)) {
+            if (!areaDestinoOcupada(ultimaDireccion, velocidad * tiempoDelta, nivel)) {
                 movimiento(ultimaDireccion, tiempoDelta);
             }
         }
         if (cooldownDisparo > 0) {
             cooldownDisparo -= tiempoDelta;
         }
-        if (puedeDisparar()) {
-            reiniciarCooldownDisparo();
-            this.puedeDisparar = true;
-        } else {
-            this.puedeDisparar = false;
+        this.puedeDisparar = puedeDisparar();
+    }
+
+    /**
+     * Hace que la conducta del tanque decida hacia dónde ir. El planificador del nivel la llama solo para
+     * algunos enemigos en cada tick; entre decisiones el tanque sigue la última dirección deseada.
+     * @param nivel Nivel actual del juego
+     */
+    public void decidir(Nivel nivel) {
+        this.direccionDeseada = conducta.decidir(this, nivel);
+    }
+
+    /**
+     * Cambia la conducta del tanque.
+     * @param conducta Conducta nueva
+     */
+    public void usarConducta(ConductaEnemigo conducta) {
+        this.conducta = conducta;
+        this.direccionDeseada = null;
+    }
+
+    /**
+     * Devuelve la conducta del tanque.
+     * @return Conducta del tanque
+     */
+    public ConductaEnemigo obtenerConducta() {
+        return conducta;
+    }
+
+    /**
+     * Devuelve la celda del terreno donde está el centro del tanque.
+     * @return Índice de la celda, o -1 si el centro queda fuera del tablero
+     */
+    public int obtenerCelda() {
+        return Terreno.celdaDelCentro((int)x, (int)y, Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE);
+    }
+
+    /**
+     * Sigue la dirección deseada. Antes de doblar se alinea con la fila o columna de su celda,
+     * para no trabarse contra las esquinas de los bloques vecinos. Sin dirección deseada deambula al azar.
+     * @param tiempoDelta Tiempo transcurrido desde la última actualización (en segundos)
+     * @return Tiempo durante el cual moverse en este tick, menor que tiempoDelta si basta con menos para alinearse
+     */
+    private double seguirDireccionDeseada(double tiempoDelta) {
+        int celda = obtenerCelda();
+        Direccion deseada = direccionDeseada;
+        if (deseada == null || celda < 0) {
+            if (tiempoDeConductaRestante <= 0) {
+                sortearNuevaConducta();
+            }
+            return tiempoDelta;
+        }
+        double alineadaX = (celda % Terreno.COLUMNAS) * Terreno.TAMANIO_CELDA;
+        double alineadaY = (celda / Terreno.COLUMNAS) * Terreno.TAMANIO_CELDA;
+        boolean horizontal = deseada.obtenerDx() != 0;
+        double desvio = horizontal ? alineadaY - y : alineadaX - x;
+        if (Math.abs(desvio) > TOLERANCIA_ALINEACION && velocidad > 0) {
+            if (horizontal) {
+                ultimaDireccion = desvio > 0 ? Direccion.ABAJO : Direccion.ARRIBA;
+            } else {
+                ultimaDireccion = desvio > 0 ? Direccion.DERECHA : Direccion.IZQUIERDA;
+            }
+            return Math.min(tiempoDelta, Math.abs(desvio) / velocidad);
+        }
+        ultimaDireccion = deseada;
+        return tiempoDelta;
+    }
+
+    /**
+     * Indica si la celda siguiente en la dirección actual tiene un bloque que impide el paso pero se puede romper.
+     * En ese caso el tanque no está atascado: espera de frente mientras le dispara.
+     * @param terreno Terreno del nivel
+     * @return true si tiene un bloque destructible adelante
+     */
+    private boolean frenteABloqueDestructible(Terreno terreno) {
+        int columna = Math.floorDiv((int)x + Bloque.ANCHO_BLOQUE / 2, Terreno.TAMANIO_CELDA) + ultimaDireccion.obtenerDx();
+        int fila = Math.floorDiv((int)y + Bloque.ALTURA_BLOQUE / 2, Terreno.TAMANIO_CELDA) + ultimaDireccion.obtenerDy();
+        if (columna < 0 || columna >= Terreno.COLUMNAS || fila < 0 || fila >= Terreno.FILAS) {
+            return false;
         }
+        return terreno.obstaculoDestructible(Terreno.celda(columna, fila));
     }
 
     /**
@@ -116,6 +217,99 @@ public abstract class TanqueEnemigo extends Tanque {
         return cooldownDisparo <= 0;
     }
 
+    /**
+     * Busca un blanco en línea recta trazando un rayo sobre la grilla del terreno y, si lo encuentra, gira el tanque hacia él.
+     * Primero mira hacia donde apunta: ahí son blancos un jugador, la base o una pared destructible cercana que le cierra el paso.
+     * Después mira las otras tres direcciones, donde solo son blancos un jugador o la base.
+     * @param nivel Nivel actual del juego
+     * @return Dirección en la que disparar, o null si no hay ningún blanco a la vista
+     */
+    public Direccion apuntar(Nivel nivel) {
+        int celda = obtenerCelda();
+        if (celda < 0) {
+            return null;
+        }
+        if (hayBlanco(nivel, celda, direccion, true)) {
+            return direccion;
+        }
+        for (Direccion otra: DIRECCIONES) {
+            if (otra != direccion && hayBlanco(nivel, celda, otra, false)) {
+                this.direccion = otra;
+                return otra;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indica si hay un blanco en la línea que sale de la celda en la dirección indicada, antes del primer bloque que detiene balas.
+     * @param nivel Nivel actual del juego
+     * @param celda Celda del centro del tanque
+     * @param direccion Dirección de la línea
+     * @param contarParedes true si una pared destructible cercana cuenta como blanco
+     * @return true si hay un blanco a la vista
+     */
+    private boolean hayBlanco(Nivel nivel, int celda, Direccion direccion, boolean contarParedes) {
+        Terreno terreno = nivel.obtenerTerreno();
+        int bloqueo = terreno.primeraCeldaQueDetieneBalas(celda, direccion, ALCANCE_DISPARO);
+        int pasosHastaBloqueo = bloqueo < 0 ? ALCANCE_DISPARO + 1 : pasosEntre(celda, bloqueo);
+        for (TanqueJugador jugador: nivel.obtenerJugadores()) {
+            if (jugador.estaVivo() && jugadorEnLinea(jugador, celda, direccion, pasosHastaBloqueo)) {
+                return true;
+            }
+        }
+        if (bloqueo < 0) {
+            return false;
+        }
+        if (terreno.tipo(bloqueo) == TipoBloque.BASE) {
+            return true;
+        }
+        return contarParedes && pasosHastaBloqueo <= ALCANCE_DISPARO_PARED && terreno.obstaculoDestructible(bloqueo);
+    }
+
+    /**
+     * Indica si el jugador está adelante, en el carril de la bala, y más cerca que el primer bloque que la detiene.
+     * @param jugador Jugador a revisar
+     * @param celda Celda del centro del tanque
+     * @param direccion Dirección del disparo
+     * @param pasosHastaBloqueo Celdas hasta el primer bloque que detiene balas
+     * @return true si la bala lo alcanzaría
+     */
+    private boolean jugadorEnLinea(TanqueJugador jugador, int celda, Direccion direccion, int pasosHastaBloqueo) {
+        int centroX = (int)x + Bloque.ANCHO_BLOQUE / 2;
+        int centroY = (int)y + Bloque.ALTURA_BLOQUE / 2;
+        int jugadorX = jugador.obtenerAreaX() + jugador.obtenerAreaAncho() / 2;
+        int jugadorY = jugador.obtenerAreaY() + jugador.obtenerAreaAlto() / 2;
+        int lateral;
+        int avance;
+        int medioAncho;
+        if (direccion.obtenerDx() != 0) {
+            lateral = jugadorY - centroY;
+            avance = (jugadorX - centroX) * direccion.obtenerDx();
+            medioAncho = (jugador.obtenerAreaAlto() + Bala.ALTURA_BALA) / 2;
+        } else {
+            lateral = jugadorX - centroX;
+            avance = (jugadorY - centroY) * direccion.obtenerDy();
+            medioAncho = (jugador.obtenerAreaAncho() + Bala.ANCHO_BALA) / 2;
+        }
+        if (avance <= 0 || Math.abs(lateral) >= medioAncho) {
+            return false;
+        }
+        int celdaJugador = Terreno.celdaDelCentro(jugador.obtenerAreaX(), jugador.obtenerAreaY(), jugador.obtenerAreaAncho(), jugador.obtenerAreaAlto());
+        int pasos = celdaJugador < 0 ? avance / Terreno.TAMANIO_CELDA : pasosEntre(celda, celdaJugador);
+        return pasos <= ALCANCE_DISPARO && pasos < pasosHastaBloqueo;
+    }
+
+    /**
+     * Cuenta las celdas entre dos celdas de la misma fila o columna.
+     * @param desde Celda de partida
+     * @param hasta Celda de llegada
+     * @return Distancia en celdas (Manhattan)
+     */
+    private static int pasosEntre(int desde, int hasta) {
+        return Math.abs(desde % Terreno.COLUMNAS - hasta % Terreno.COLUMNAS) + Math.abs(desde / Terreno.COLUMNAS - hasta / Terreno.COLUMNAS);
+    }
+
     /**
      * Reinicia el cooldown de disparo al valor de recarga.
      */
@@ -128,8 +322,7 @@ public abstract class TanqueEnemigo extends Tanque {
      */
     private void sortearNuevaConducta() {
         this.ultimaDireccion = sortearNuevaDireccion();
-        Random random = new Random();
-        this.tiempoDeConductaRestante = 1.0 + random.nextDouble() * 1.5;
+        this.tiempoDeConductaRestante = 1.0 + aleatorio.nextDouble() * 1.5;
     }
 
     /**
@@ -137,8 +330,7 @@ public abstract class TanqueEnemigo extends Tanque {
      * @return Nueva dirección sorteada
      */
     private Direccion sortearNuevaDireccion() {
-        Random random = new Random();
-        int dirIndex = random.nextInt(4);
+        int dirIndex = aleatorio.nextInt(4);
 
 		return switch (dirIndex) {
 			case 1 -> Direccion.ABAJO;
@@ -153,7 +345,7 @@ public abstract class TanqueEnemigo extends Tanque {
      * @return true si está atascado, false en caso contrario
      */
     private boolean estaEnLaMismaPosicion() {
-        return obtenerPosicion().equals(ultimaPosicion);
+        return tieneUltimaPosicion && x == ultimaX && y == ultimaY;
     }
 
     /**
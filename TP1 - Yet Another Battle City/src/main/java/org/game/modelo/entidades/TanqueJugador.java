@@ -1,7 +1,6 @@
 package org.game.modelo.entidades;
 
 import org.game.modelo.Posicion;
-import org.game.visualizacion.GestorSonido;
 
 public class TanqueJugador extends Tanque {
     private final int idJugador;
@@ -12,17 +11,16 @@ public class TanqueJugador extends Tanque {
      * Crea el tanque de jugador con parámetros personalizados.
      * @param idJugador Identificador del jugador (1 o 2)
      * @param posicionInicial Posición inicial del tanque
-     * @param gestorSonido Gestor de sonidos para efectos del tanque
      * @param velocidad Velocidad de movimiento
      * @param salud Salud inicial
      * @param tiempoPorDisparo Tiempo mínimo entre disparos
      * @param skin0 Clave de imagen principal
      * @param skin1 Clave de imagen alternativa
      */
-    public TanqueJugador(int idJugador, Posicion posicionInicial, GestorSonido gestorSonido,
+    public TanqueJugador(int idJugador, Posicion posicionInicial,
                         double velocidad, int salud, int tiempoPorDisparo,
                         String skin0, String skin1) {
-        super(posicionInicial, velocidad, salud, tiempoPorDisparo, gestorSonido);
+        super(posicionInicial, velocidad, salud, tiempoPorDisparo);
         this.idJugador = idJugador;
         this.skin0 = skin0;
         this.skin1 = skin1;
@@ -41,7 +39,7 @@ public class TanqueJugador extends Tanque {
      */
     @Override
     public String obtenerClaveImagen() {
-        if (seMueve && System.currentTimeMillis() % 200 > 100) {
+        if (mostrarFotogramaAlternativo()) {
             return skin1;
         }
         return skin0;
@@ -0,0 +1,23 @@
+package org.game.modelo.ia;
+
+import org.game.modelo.Direccion;
+import org.game.modelo.entidades.TanqueEnemigo;
+import org.game.niveles.Nivel;
+
+public class ConductaAsaltoBase implements ConductaEnemigo {
+    /**
+     * Va hacia la base siguiendo su campo de flujo. Si la base ya no está o no hay camino, va hacia los jugadores.
+     * @param enemigo Enemigo que decide
+     * @param nivel Nivel actual del juego
+     * @return Dirección deseada, o null si no hay ningún objetivo alcanzable
+     */
+    @Override
+    public Direccion decidir(TanqueEnemigo enemigo, Nivel nivel) {
+        int celda = enemigo.obtenerCelda();
+        Direccion direccion = nivel.obtenerCampoBase().direccion(celda);
+        if (direccion == null) {
+            direccion = nivel.obtenerCampoJugadores().direccion(celda);
+        }
+        return direccion;
+    }
+}
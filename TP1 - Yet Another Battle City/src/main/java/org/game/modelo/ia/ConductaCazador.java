@@ -0,0 +1,23 @@
+package org.game.modelo.ia;
+
+import org.game.modelo.Direccion;
+import org.game.modelo.entidades.TanqueEnemigo;
+import org.game.niveles.Nivel;
+
+public class ConductaCazador implements ConductaEnemigo {
+    /**
+     * Persigue al jugador más cercano siguiendo su campo de flujo. Si no hay jugadores alcanzables, va hacia la base.
+     * @param enemigo Enemigo que decide
+     * @param nivel Nivel actual del juego
+     * @return Dirección deseada, o null si no hay ningún objetivo alcanzable
+     */
+    @Override
+    public Direccion decidir(TanqueEnemigo enemigo, Nivel nivel) {
+        int celda = enemigo.obtenerCelda();
+        Direccion direccion = nivel.obtenerCampoJugadores().direccion(celda);
+        if (direccion == null) {
+            direccion = nivel.obtenerCampoBase().direccion(celda);
+        }
+        return direccion;
+    }
+}
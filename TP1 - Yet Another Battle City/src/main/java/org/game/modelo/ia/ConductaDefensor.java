@@ -0,0 +1,51 @@
+package org.game.modelo.ia;
+
+import org.game.modelo.Direccion;
+import org.game.modelo.entidades.TanqueEnemigo;
+import org.game.modelo.terreno.CampoFlujo;
+import org.game.modelo.terreno.Terreno;
+import org.game.niveles.Nivel;
+
+public class ConductaDefensor implements ConductaEnemigo {
+    public static final int COSTO_ALERTA = 5;
+    public static final int RADIO_PATRULLA = 2;
+
+    private int celdaHogar;
+
+    /**
+     * Crea una conducta que custodia la zona donde el enemigo toma su primera decisión.
+     */
+    public ConductaDefensor() {
+        this.celdaHogar = -1;
+    }
+
+    /**
+     * Ataca a los jugadores que se acercan a su zona; si no hay ninguno cerca, vuelve a ella y patrulla al azar.
+     * @param enemigo Enemigo que decide
+     * @param nivel Nivel actual del juego
+     * @return Dirección deseada, o null para patrullar al azar
+     */
+    @Override
+    public Direccion decidir(TanqueEnemigo enemigo, Nivel nivel) {
+        int celda = enemigo.obtenerCelda();
+        if (celda < 0) {
+            return null;
+        }
+        if (celdaHogar < 0) {
+            celdaHogar = celda;
+        }
+        CampoFlujo jugadores = nivel.obtenerCampoJugadores();
+        if (jugadores.costo(celda) <= COSTO_ALERTA) {
+            return jugadores.direccion(celda);
+        }
+        int dx = celdaHogar % Terreno.COLUMNAS - celda % Terreno.COLUMNAS;
+        int dy = celdaHogar / Terreno.COLUMNAS - celda / Terreno.COLUMNAS;
+        if (Math.abs(dx) + Math.abs(dy) <= RADIO_PATRULLA) {
+            return null;
+        }
+        if (Math.abs(dx) >= Math.abs(dy)) {
+            return dx > 0 ? Direccion.DERECHA : Direccion.IZQUIERDA;
+        }
+        return dy > 0 ? Direccion.ABAJO : Direccion.ARRIBA;
+    }
+}
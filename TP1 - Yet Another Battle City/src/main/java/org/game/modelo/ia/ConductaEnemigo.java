@@ -0,0 +1,16 @@
+package org.game.modelo.ia;
+
+import org.game.modelo.Direccion;
+import org.game.modelo.entidades.TanqueEnemigo;
+import org.game.niveles.Nivel;
+
+public interface ConductaEnemigo {
+    /**
+     * Decide hacia dónde quiere ir el enemigo. Es la parte cara de la inteligencia, por lo que el planificador
+     * la llama solo para algunos enemigos en cada tick; entre decisiones el enemigo sigue la última dirección.
+     * @param enemigo Enemigo que decide
+     * @param nivel Nivel actual del juego
+     * @return Dirección deseada, o null para deambular al azar
+     */
+    Direccion decidir(TanqueEnemigo enemigo, Nivel nivel);
+}
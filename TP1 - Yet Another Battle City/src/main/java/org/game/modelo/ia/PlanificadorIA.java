@@ -0,0 +1,91 @@
+package org.game.modelo.ia;
+
+import org.game.modelo.entidades.TanqueEnemigo;
+import org.game.niveles.Nivel;
+
+import java.util.List;
+
+public class PlanificadorIA {
+    public static final int DECISIONES_POR_TICK = 8;
+
+    private final int decisionesPorTick;
+    private final long presupuestoNanos;
+    private int cursor;
+    private long decisiones;
+
+    /**
+     * Crea un planificador con el límite de decisiones por defecto y sin límite de tiempo,
+     * por lo que la misma semilla sigue reproduciendo la misma partida.
+     */
+    public PlanificadorIA() {
+        this(DECISIONES_POR_TICK, 0);
+    }
+
+    /**
+     * Crea un planificador que reparte las decisiones de los enemigos entre ticks, por turnos.
+     * En cada tick decide a lo sumo la cantidad indicada de enemigos, y deja de decidir antes si se agota
+     * el presupuesto de tiempo; así el costo de la inteligencia por tick no crece con la cantidad de enemigos.
+     * Siempre toma al menos una decisión por tick para que todos los enemigos terminen decidiendo.
+     * @param decisionesPorTick cantidad máxima de decisiones por tick
+     * @param presupuestoNanos tiempo máximo por tick en nanosegundos, o 0 para no medir el tiempo
+     * @throws IllegalArgumentException si la cantidad de decisiones por tick no es positiva
+     */
+    public PlanificadorIA(int decisionesPorTick, long presupuestoNanos) {
+        if (decisionesPorTick <= 0) {
+            throw new IllegalArgumentException("La cantidad de decisiones por tick debe ser positiva");
+        }
+        this.decisionesPorTick = decisionesPorTick;
+        this.presupuestoNanos = presupuestoNanos;
+        this.cursor = 0;
+        this.decisiones = 0;
+    }
+
+    /**
+     * Hace decidir a los siguientes enemigos del turno, hasta agotar el límite de decisiones o de tiempo.
+     * @param enemigos enemigos del nivel
+     * @param nivel nivel actual del juego
+     * @return cantidad de decisiones tomadas en este tick
+     */
+    public int planificar(List<TanqueEnemigo> enemigos, Nivel nivel) {
+        int cantidad = enemigos.size();
+        int limite = Math.min(decisionesPorTick, cantidad);
+        long inicio = presupuestoNanos > 0 ? System.nanoTime() : 0;
+        int tomadas = 0;
+        while (tomadas < limite) {
+            if (cursor >= cantidad) {
+                cursor = 0;
+            }
+            enemigos.get(cursor++).decidir(nivel);
+            tomadas++;
+            if (presupuestoNanos > 0 && System.nanoTime() - inicio >= presupuestoNanos) {
+                break;
+            }
+        }
+        decisiones += tomadas;
+        return tomadas;
+    }
+
+    /**
+     * Devuelve la cantidad total de decisiones tomadas desde que se creó el planificador.
+     * @return cantidad de decisiones
+     */
+    public long obtenerDecisiones() {
+        return decisiones;
+    }
+
+    /**
+     * Devuelve la cantidad máxima de decisiones que toma el planificador por tick.
+     * @return decisiones por tick
+     */
+    public int obtenerDecisionesPorTick() {
+        return decisionesPorTick;
+    }
+
+    /**
+     * Devuelve el tiempo máximo por tick del planificador.
+     * @return presupuesto en nanosegundos, o 0 si no mide el tiempo
+     */
+    public long obtenerPresupuestoNanos() {
+        return presupuestoNanos;
+    }
+}
@@ -1,13 +1,13 @@
 package org.game.modelo.powerups;
 
-import java.awt.Rectangle;
+import org.game.modelo.Colisionable;
 import org.game.modelo.Posicion;
 import org.game.modelo.TipoPowerUp;
 
 import static org.game.modelo.terreno.Bloque.ALTURA_BLOQUE;
 import static org.game.modelo.terreno.Bloque.ANCHO_BLOQUE;
 
-public abstract class PowerUp {
+public abstract class PowerUp implements Colisionable {
     private Posicion posicion;
     private TipoPowerUp tipoPU;
 
@@ -44,10 +44,38 @@ public abstract class PowerUp {
     }
 
     /**
-     * Devuelve el área rectangular ocupada por el power-up para detección de colisiones.
-     * @return Rectángulo con la posición y tamaño del power-up
+     * Devuelve la coordenada X del área ocupada por el power-up para detección de colisiones.
+     * @return Coordenada X del área
      */
-    public Rectangle obtenerArea() {
-        return new Rectangle((int)posicion.x(), (int)posicion.y(), ANCHO_BLOQUE, ALTURA_BLOQUE);
+    @Override
+    public int obtenerAreaX() {
+        return (int)posicion.x();
+    }
+
+    /**
+     * Devuelve la coordenada Y del área ocupada por el power-up para detección de colisiones.
+     * @return Coordenada Y del área
+     */
+    @Override
+    public int obtenerAreaY() {
+        return (int)posicion.y();
+    }
+
+    /**
+     * Devuelve el ancho del área ocupada por el power-up.
+     * @return Ancho del área
+     */
+    @Override
+    public int obtenerAreaAncho() {
+        return ANCHO_BLOQUE;
+    }
+
+    /**
+     * Devuelve el alto del área ocupada por el power-up.
+     * @return Alto del área
+     */
+    @Override
+    public int obtenerAreaAlto() {
+        return ALTURA_BLOQUE;
     }
 }
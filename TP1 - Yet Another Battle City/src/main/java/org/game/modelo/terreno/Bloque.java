@@ -1,34 +1,77 @@
 package org.game.modelo.terreno;
 
+import org.game.modelo.Colisionable;
 import org.game.modelo.Posicion;
-import org.game.visualizacion.GestorSonido;
 
-import java.awt.*;
-
-public abstract class Bloque {
-    public static int ANCHO_BLOQUE = 600 / 13;
-    public static int ALTURA_BLOQUE = 600 / 13;
+public abstract class Bloque implements Colisionable {
+    public static final int ANCHO_BLOQUE = 600 / 13;
+    public static final int ALTURA_BLOQUE = 600 / 13;
     public static final int ANCHO_TANQUE = (int)(ANCHO_BLOQUE * 0.9);
     public static final int ALTURA_TANQUE = (int)(ALTURA_BLOQUE * 0.9);
-    private static final int INDESTRUCTIBLE = -1;
+    static final int INDESTRUCTIBLE = -1;
 
     private final Posicion posicion;
+    private final int areaX;
+    private final int areaY;
+    private final TipoBloque tipo;
     private int vida;
-    private final boolean bloqueaBala;
-    private final boolean impidePaso;
+    private Terreno terreno;
+    private int celda;
 
     /**
-     * Crea un nuevo bloque con la posición, vida y propiedades de colisión indicadas.
+     * Crea un nuevo bloque del tipo indicado, con la vida y propiedades de colisión de ese tipo.
      * @param posicion Posición del bloque en el tablero
-     * @param vida Cantidad de impactos que resiste
-     * @param bloqueaBala Indica si el bloque detiene balas
-     * @param impidePaso Indica si el bloque impide el paso de tanques
+     * @param tipo Tipo de bloque
      */
-    public Bloque(Posicion posicion, int vida, boolean bloqueaBala, boolean impidePaso) {
+    public Bloque(Posicion posicion, TipoBloque tipo) {
         this.posicion = posicion;
-        this.vida = vida;
-        this.bloqueaBala = bloqueaBala;
-        this.impidePaso = impidePaso;
+        this.areaX = (int)posicion.x();
+        this.areaY = (int)posicion.y();
+        this.tipo = tipo;
+        this.vida = tipo.obtenerVidaInicial();
+    }
+
+    /**
+     * Vincula el bloque a una celda del terreno. Desde ese momento la vida se guarda en el terreno
+     * y el bloque funciona como una vista de la celda.
+     * @param terreno Terreno que guarda la celda
+     * @param celda Índice de la celda
+     */
+    void vincular(Terreno terreno, int celda) {
+        this.terreno = terreno;
+        this.celda = celda;
+    }
+
+    /**
+     * Desvincula el bloque de su celda cuando esta se vacía, dejándolo destruido.
+     */
+    void desvincular() {
+        this.terreno = null;
+        this.vida = 0;
+    }
+
+    /**
+     * Indica si el bloque está vinculado a una celda del terreno.
+     * @return true si está vinculado, false en caso contrario
+     */
+    public boolean estaEnTerreno() {
+        return terreno != null;
+    }
+
+    /**
+     * Devuelve la vida actual del bloque, sin consultar el terreno.
+     * @return Vida propia del bloque
+     */
+    int obtenerVidaPropia() {
+        return vida;
+    }
+
+    /**
+     * Devuelve el tipo del bloque.
+     * @return Tipo de bloque
+     */
+    public TipoBloque obtenerTipo() {
+        return tipo;
     }
 
     /**
@@ -44,6 +87,9 @@ public abstract class Bloque {
      * @return true si el bloque existe, false si fue destruido
      */
     public boolean existe() {
+        if (terreno != null) {
+            return true;
+        }
         if (vida == INDESTRUCTIBLE) {
             return true;
         } else {
@@ -56,10 +102,12 @@ public abstract class Bloque {
      * @return true si la bala es bloqueada, false si la atraviesa
      */
     public boolean impactoBala() {
-        if (vida != INDESTRUCTIBLE) {
+        if (terreno != null) {
+            terreno.impactar(celda);
+        } else if (vida != INDESTRUCTIBLE) {
             vida--;
         }
-        return bloqueaBala;
+        return tipo.bloqueaBala();
     }
 
     /**
@@ -67,21 +115,43 @@ public abstract class Bloque {
      * @return true si impide el paso, false si es transitable
      */
     public boolean impidePaso() {
-        return impidePaso;
+        return tipo.impidePaso();
+    }
+
+    /**
+     * Devuelve la coordenada X del área ocupada por el bloque, calculada una sola vez al crearlo.
+     * @return Coordenada X del área
+     */
+    @Override
+    public int obtenerAreaX() {
+        return areaX;
     }
 
     /**
-     * Devuelve el área rectangular ocupada por el bloque en el tablero.
-     * @return Rectángulo con la posición y tamaño del bloque
+     * Devuelve la coordenada Y del área ocupada por el bloque, calculada una sola vez al crearlo.
+     * @return Coordenada Y del área
      */
-    public Rectangle obtenerArea() {
-        Posicion pos = obtenerPosicion();
-        return new Rectangle(
-                (int)pos.x(),
-                (int)pos.y(),
-                getAncho(),
-                getAlto()
-        );
+    @Override
+    public int obtenerAreaY() {
+        return areaY;
+    }
+
+    /**
+     * Devuelve el ancho del área ocupada por el bloque.
+     * @return Ancho del área
+     */
+    @Override
+    public int obtenerAreaAncho() {
+        return getAncho();
+    }
+
+    /**
+     * Devuelve el alto del área ocupada por el bloque.
+     * @return Alto del área
+     */
+    @Override
+    public int obtenerAreaAlto() {
+        return getAlto();
     }
 
     /**
@@ -89,7 +159,7 @@ public abstract class Bloque {
      * @return Ancho del bloque
      */
     public int getAncho() {
-        return ANCHO_BLOQUE;
+        return tipo.obtenerAncho();
     }
 
     /**
@@ -97,7 +167,7 @@ public abstract class Bloque {
      * @return Alto del bloque
      */
     public int getAlto() {
-        return ALTURA_BLOQUE;
+        return tipo.obtenerAlto();
     }
 
     /**
@@ -108,16 +178,11 @@ public abstract class Bloque {
         return false;
     }
 
-    /**
-     * Reproduce el sonido de impacto correspondiente al tipo de bloque.
-     * Por defecto no hace nada, pero puede ser sobreescrito por subclases.
-     * @param gestorSonido Gestor de sonidos del juego
-     */
-    public void reproducirSonidoImpacto(GestorSonido gestorSonido) {}
-
     /**
      * Devuelve la clave de la imagen asociada al bloque para su visualización.
      * @return Clave de imagen
      */
-    public abstract String obtenerClaveImagen();
+    public String obtenerClaveImagen() {
+        return tipo.obtenerClaveImagen();
+    }
 }
@@ -0,0 +1,244 @@
+package org.game.modelo.terreno;
+
+import org.game.modelo.ConstantesTablero;
+import org.game.modelo.Direccion;
+
+import java.util.Arrays;
+
+public class CampoFlujo {
+    public static final int INALCANZABLE = Integer.MAX_VALUE;
+    public static final int COSTO_PASO = 1;
+    public static final int COSTO_POR_IMPACTO = 2;
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+    private static final byte SIN_DIRECCION = -1;
+
+    private final int[] costos;
+    private final byte[] direcciones;
+    private final long[] cola;
+    private int[] objetivos;
+    private int cantidadObjetivos;
+    private int versionTerreno;
+    private int calculos;
+
+    /**
+     * Crea un campo de flujo vacío, del tamaño del terreno. Para cada celda guarda el costo de llegar al
+     * objetivo más cercano y la dirección del primer paso, de modo que todos los enemigos comparten una
+     * sola búsqueda sobre la grilla en lugar de buscar un camino cada uno.
+     */
+    public CampoFlujo() {
+        int celdas = Terreno.COLUMNAS * Terreno.FILAS;
+        this.costos = new int[celdas];
+        this.direcciones = new byte[celdas];
+        this.cola = new long[celdas * 5];
+        this.objetivos = new int[4];
+        this.cantidadObjetivos = 0;
+        this.versionTerreno = -1;
+        this.calculos = 0;
+        Arrays.fill(costos, INALCANZABLE);
+        Arrays.fill(direcciones, SIN_DIRECCION);
+    }
+
+    /**
+     * Recalcula el campo solo si el terreno cambió desde el último cálculo o si cambiaron las celdas objetivo.
+     * El recálculo no repara solo la zona afectada: vuelve a recorrer toda la grilla, lo que en un terreno de
+     * pocas celdas cuesta poco y solo ocurre en los ticks en que algo cambió.
+     * @param terreno terreno del nivel
+     * @param nuevosObjetivos celdas objetivo (la base y los jugadores)
+     * @param cantidad cantidad de celdas objetivo válidas en el arreglo
+     * @return true si se recalculó, false si el campo ya estaba al día
+     */
+    public boolean actualizar(Terreno terreno, int[] nuevosObjetivos, int cantidad) {
+        if (terreno.obtenerVersion() == versionTerreno && mismosObjetivos(nuevosObjetivos, cantidad)) {
+            return false;
+        }
+        if (objetivos.length < cantidad) {
+            objetivos = new int[cantidad];
+        }
+        System.arraycopy(nuevosObjetivos, 0, objetivos, 0, cantidad);
+        cantidadObjetivos = cantidad;
+        versionTerreno = terreno.obtenerVersion();
+        calcular(terreno);
+        return true;
+    }
+
+    /**
+     * Compara las celdas objetivo indicadas con las del último cálculo, en el mismo orden.
+     * @param nuevosObjetivos celdas objetivo
+     * @param cantidad cantidad de celdas objetivo
+     * @return true si son las mismas
+     */
+    private boolean mismosObjetivos(int[] nuevosObjetivos, int cantidad) {
+        if (cantidad != cantidadObjetivos) {
+            return false;
+        }
+        for (int i = 0; i < cantidad; i++) {
+            if (objetivos[i] != nuevosObjetivos[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calcula el campo con Dijkstra desde los objetivos hacia afuera. Entrar en una celda vacía o con bosque
+     * cuesta un paso; entrar en una celda con un bloque destructible cuesta además los disparos necesarios
+     * para romperlo, y las celdas con bloques indestructibles que impiden el paso no se atraviesan.
+     * La cola de prioridad es un montículo de enteros largos (costo y celda) reservado de antemano.
+     * @param terreno terreno del nivel
+     */
+    private void calcular(Terreno terreno) {
+        Arrays.fill(costos, INALCANZABLE);
+        Arrays.fill(direcciones, SIN_DIRECCION);
+        int tamanio = 0;
+        for (int i = 0; i < cantidadObjetivos; i++) {
+            int objetivo = objetivos[i];
+            if (objetivo >= 0 && costos[objetivo] != 0) {
+                costos[objetivo] = 0;
+                tamanio = encolar(tamanio, 0, objetivo);
+            }
+        }
+        while (tamanio > 0) {
+            long minimo = cola[0];
+            tamanio = desencolar(tamanio);
+            int costo = (int)(minimo >>> 32);
+            int celda = (int)minimo;
+            if (costo > costos[celda]) {
+                continue;
+            }
+            int costoEntrar = costo + costoDeEntrada(terreno, celda, costo == 0);
+            int columna = celda % Terreno.COLUMNAS;
+            int fila = celda / Terreno.COLUMNAS;
+            for (Direccion direccion: DIRECCIONES) {
+                int vecinaColumna = columna - direccion.obtenerDx();
+                int vecinaFila = fila - direccion.obtenerDy();
+                if (!utilizable(vecinaColumna, vecinaFila)) {
+                    continue;
+                }
+                int vecina = Terreno.celda(vecinaColumna, vecinaFila);
+                if (costoEntrar < costos[vecina] && transitable(terreno, vecina)) {
+                    costos[vecina] = costoEntrar;
+                    direcciones[vecina] = (byte)direccion.ordinal();
+                    tamanio = encolar(tamanio, costoEntrar, vecina);
+                }
+            }
+        }
+        calculos++;
+    }
+
+    /**
+     * Devuelve lo que cuesta entrar en una celda. Un objetivo siempre cuesta un paso, aunque sea la base.
+     * @param terreno terreno del nivel
+     * @param celda índice de la celda
+     * @param esObjetivo true si la celda es un objetivo
+     * @return costo de entrar en la celda
+     */
+    private static int costoDeEntrada(Terreno terreno, int celda, boolean esObjetivo) {
+        if (esObjetivo || !terreno.obstaculoDestructible(celda)) {
+            return COSTO_PASO;
+        }
+        return COSTO_PASO + terreno.vida(celda) * COSTO_POR_IMPACTO;
+    }
+
+    /**
+     * Indica si un tanque puede pasar por la celda, ya sea porque está libre o porque su bloque se puede romper.
+     * @param terreno terreno del nivel
+     * @param celda índice de la celda
+     * @return true si la celda es transitable
+     */
+    private static boolean transitable(Terreno terreno, int celda) {
+        return !terreno.ocupada(celda) || !terreno.tipo(celda).impidePaso() || terreno.obstaculoDestructible(celda);
+    }
+
+    /**
+     * Indica si la celda entra completa en el tablero, es decir, si un tanque puede ocuparla.
+     * @param columna columna de la celda
+     * @param fila fila de la celda
+     * @return true si la celda es utilizable
+     */
+    private static boolean utilizable(int columna, int fila) {
+        return columna >= 0 && fila >= 0
+                && (columna + 1) * Terreno.TAMANIO_CELDA <= ConstantesTablero.ANCHO_SUBTABLERO
+                && (fila + 1) * Terreno.TAMANIO_CELDA <= ConstantesTablero.ALTURA_SUBTABLERO;
+    }
+
+    /**
+     * Agrega una entrada al montículo.
+     * @param tamanio cantidad de entradas actual
+     * @param costo costo de la celda
+     * @param celda índice de la celda
+     * @return nueva cantidad de entradas
+     */
+    private int encolar(int tamanio, int costo, int celda) {
+        long entrada = ((long)costo << 32) | celda;
+        int i = tamanio;
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (cola[padre] <= entrada) {
+                break;
+            }
+            cola[i] = cola[padre];
+            i = padre;
+        }
+        cola[i] = entrada;
+        return tamanio + 1;
+    }
+
+    /**
+     * Quita la entrada de menor costo del montículo.
+     * @param tamanio cantidad de entradas actual
+     * @return nueva cantidad de entradas
+     */
+    private int desencolar(int tamanio) {
+        int ultimo = tamanio - 1;
+        long entrada = cola[ultimo];
+        int i = 0;
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= ultimo) {
+                break;
+            }
+            if (hijo + 1 < ultimo && cola[hijo + 1] < cola[hijo]) {
+                hijo++;
+            }
+            if (cola[hijo] >= entrada) {
+                break;
+            }
+            cola[i] = cola[hijo];
+            i = hijo;
+        }
+        cola[i] = entrada;
+        return ultimo;
+    }
+
+    /**
+     * Devuelve la dirección del primer paso desde la celda hacia el objetivo más barato.
+     * @param celda índice de la celda
+     * @return dirección a seguir, o null si la celda es un objetivo o no hay camino
+     */
+    public Direccion direccion(int celda) {
+        if (celda < 0 || direcciones[celda] == SIN_DIRECCION) {
+            return null;
+        }
+        return DIRECCIONES[direcciones[celda]];
+    }
+
+    /**
+     * Devuelve el costo de llegar desde la celda al objetivo más barato.
+     * @param celda índice de la celda
+     * @return costo del camino, o INALCANZABLE si no hay camino
+     */
+    public int costo(int celda) {
+        if (celda < 0) {
+            return INALCANZABLE;
+        }
+        return costos[celda];
+    }
+
+    /**
+     * Devuelve cuántas veces se calculó el campo, útil para comprobar que no se recalcula de más.
+     * @return cantidad de cálculos
+     */
+    public int obtenerCalculos() {
+        return calculos;
+    }
+}
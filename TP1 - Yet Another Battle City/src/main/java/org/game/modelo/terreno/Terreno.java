@@ -0,0 +1,499 @@
+package org.game.modelo.terreno;
+
+import org.game.modelo.Colisionable;
+import org.game.modelo.ConstantesTablero;
+import org.game.modelo.Direccion;
+import org.game.modelo.Posicion;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class Terreno {
+    public static final int TAMANIO_CELDA = Bloque.ANCHO_BLOQUE;
+    public static final int COLUMNAS = (ConstantesTablero.ANCHO_SUBTABLERO + TAMANIO_CELDA - 1) / TAMANIO_CELDA;
+    public static final int FILAS = (ConstantesTablero.ALTURA_SUBTABLERO + TAMANIO_CELDA - 1) / TAMANIO_CELDA;
+    private static final byte VACIO = (byte)TipoBloque.VACIO.ordinal();
+
+    private final byte[] tipos;
+    private final byte[] vidas;
+    private final short[] origenesX;
+    private final short[] origenesY;
+    private final Bloque[] vistas;
+    private final boolean[] celdasModificadas;
+    private boolean modificado;
+    private int version;
+    private BloqueBase base;
+
+    /**
+     * Crea un terreno vacío que cubre el tablero con celdas del tamaño de un bloque.
+     * Cada celda guarda el tipo, la vida y el origen del bloque cuyo centro cae en ella,
+     * sin crear objetos Bloque salvo que alguien los pida.
+     */
+    public Terreno() {
+        int celdas = COLUMNAS * FILAS;
+        this.tipos = new byte[celdas];
+        this.vidas = new byte[celdas];
+        this.origenesX = new short[celdas];
+        this.origenesY = new short[celdas];
+        this.vistas = new Bloque[celdas];
+        this.celdasModificadas = new boolean[celdas];
+        this.modificado = false;
+        this.version = 0;
+        this.base = null;
+    }
+
+    /**
+     * Devuelve la cantidad total de celdas del terreno.
+     * @return cantidad de celdas
+     */
+    public int cantidadCeldas() {
+        return tipos.length;
+    }
+
+    /**
+     * Devuelve el índice de la celda indicada por columna y fila.
+     * @param columna columna de la celda
+     * @param fila fila de la celda
+     * @return índice de la celda
+     */
+    public static int celda(int columna, int fila) {
+        return fila * COLUMNAS + columna;
+    }
+
+    /**
+     * Devuelve la celda donde cae el centro del área indicada.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @return índice de la celda, o -1 si el centro queda fuera del tablero
+     */
+    public static int celdaDelCentro(int x, int y, int ancho, int alto) {
+        int columna = Math.floorDiv(x + ancho / 2, TAMANIO_CELDA);
+        int fila = Math.floorDiv(y + alto / 2, TAMANIO_CELDA);
+        if (columna < 0 || columna >= COLUMNAS || fila < 0 || fila >= FILAS) {
+            return -1;
+        }
+        return celda(columna, fila);
+    }
+
+    /**
+     * Coloca un bloque del tipo indicado sin crear el objeto Bloque.
+     * @param tipo tipo de bloque
+     * @param x coordenada x del bloque
+     * @param y coordenada y del bloque
+     * @return true si se colocó, false si la celda está ocupada o fuera del tablero
+     */
+    public boolean colocar(TipoBloque tipo, int x, int y) {
+        int celda = celdaDelCentro(x, y, tipo.obtenerAncho(), tipo.obtenerAlto());
+        if (tipo == TipoBloque.VACIO || celda < 0 || ocupada(celda)) {
+            return false;
+        }
+        ocupar(celda, tipo, tipo.obtenerVidaInicial(), x, y);
+        if (tipo == TipoBloque.BASE && base == null) {
+            base = (BloqueBase)obtenerBloque(celda);
+        }
+        return true;
+    }
+
+    /**
+     * Coloca un bloque ya creado, que pasa a ser la vista de su celda.
+     * @param bloque bloque a colocar
+     * @return true si se colocó, false si ya estaba colocado, fue destruido, o su celda está ocupada o fuera del tablero
+     */
+    public boolean colocar(Bloque bloque) {
+        if (bloque.estaEnTerreno() || !bloque.existe()) {
+            return false;
+        }
+        int celda = celdaDelCentro(bloque.obtenerAreaX(), bloque.obtenerAreaY(), bloque.getAncho(), bloque.getAlto());
+        if (celda < 0 || ocupada(celda)) {
+            return false;
+        }
+        ocupar(celda, bloque.obtenerTipo(), bloque.obtenerVidaPropia(), bloque.obtenerAreaX(), bloque.obtenerAreaY());
+        vistas[celda] = bloque;
+        bloque.vincular(this, celda);
+        if (bloque.esBase() && base == null) {
+            base = (BloqueBase)bloque;
+        }
+        return true;
+    }
+
+    /**
+     * Guarda los datos de un bloque en una celda libre.
+     * @param celda índice de la celda
+     * @param tipo tipo de bloque
+     * @param vida vida del bloque
+     * @param x coordenada x del bloque
+     * @param y coordenada y del bloque
+     */
+    private void ocupar(int celda, TipoBloque tipo, int vida, int x, int y) {
+        tipos[celda] = (byte)tipo.ordinal();
+        vidas[celda] = (byte)vida;
+        origenesX[celda] = (short)x;
+        origenesY[celda] = (short)y;
+        marcarModificado(x, y, tipo.obtenerAncho(), tipo.obtenerAlto());
+        version++;
+    }
+
+    /**
+     * Vacía una celda y deja destruida su vista, si la tenía.
+     * @param celda índice de la celda
+     */
+    private void vaciar(int celda) {
+        TipoBloque tipo = tipo(celda);
+        marcarModificado(origenesX[celda], origenesY[celda], tipo.obtenerAncho(), tipo.obtenerAlto());
+        tipos[celda] = VACIO;
+        vidas[celda] = 0;
+        if (vistas[celda] != null) {
+            vistas[celda].desvincular();
+            vistas[celda] = null;
+        }
+        version++;
+    }
+
+    /**
+     * Procesa el impacto de una bala sobre la celda, reduciendo la vida del bloque si es destructible
+     * y vaciando la celda cuando la vida llega a cero. Un bloque dañado también cambia la versión del terreno,
+     * porque romperlo pasa a costar menos disparos.
+     * @param celda índice de la celda
+     */
+    public void impactar(int celda) {
+        if (!ocupada(celda) || vidas[celda] == Bloque.INDESTRUCTIBLE) {
+            return;
+        }
+        vidas[celda]--;
+        if (vidas[celda] <= 0) {
+            vaciar(celda);
+        } else {
+            version++;
+        }
+    }
+
+    /**
+     * Indica si la celda tiene un bloque.
+     * @param celda índice de la celda
+     * @return true si la celda está ocupada, false si está vacía
+     */
+    public boolean ocupada(int celda) {
+        return tipos[celda] != VACIO;
+    }
+
+    /**
+     * Indica si la celda tiene un bloque que impide el paso de tanques pero se puede romper a disparos.
+     * @param celda índice de la celda
+     * @return true si el bloque es un obstáculo destructible
+     */
+    public boolean obstaculoDestructible(int celda) {
+        return ocupada(celda) && tipo(celda).impidePaso() && vidas[celda] != Bloque.INDESTRUCTIBLE;
+    }
+
+    /**
+     * Devuelve el tipo del bloque de la celda.
+     * @param celda índice de la celda
+     * @return tipo de bloque, VACIO si la celda está libre
+     */
+    public TipoBloque tipo(int celda) {
+        return TipoBloque.desdeCodigo(tipos[celda]);
+    }
+
+    /**
+     * Devuelve la vida del bloque de la celda.
+     * @param celda índice de la celda
+     * @return vida del bloque, -1 si es indestructible o 0 si la celda está libre
+     */
+    public int vida(int celda) {
+        return vidas[celda];
+    }
+
+    /**
+     * Devuelve la coordenada x del bloque de la celda.
+     * @param celda índice de la celda
+     * @return coordenada x del bloque
+     */
+    public int x(int celda) {
+        return origenesX[celda];
+    }
+
+    /**
+     * Devuelve la coordenada y del bloque de la celda.
+     * @param celda índice de la celda
+     * @return coordenada y del bloque
+     */
+    public int y(int celda) {
+        return origenesY[celda];
+    }
+
+    /**
+     * Indica si el bloque de la celda interseca el área indicada.
+     * @param celda índice de la celda
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @return true si la celda está ocupada y su bloque interseca el área
+     */
+    public boolean intersecta(int celda, int x, int y, int ancho, int alto) {
+        if (!ocupada(celda)) {
+            return false;
+        }
+        TipoBloque tipo = tipo(celda);
+        return Colisionable.intersectan(origenesX[celda], origenesY[celda], tipo.obtenerAncho(), tipo.obtenerAlto(), x, y, ancho, alto);
+    }
+
+    /**
+     * Indica si algún bloque que impide el paso de tanques interseca el área. Lee directamente las celdas.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @return true si el área está bloqueada, false en caso contrario
+     */
+    public boolean impidePaso(int x, int y, int ancho, int alto) {
+        return buscar(x, y, ancho, alto, true) >= 0;
+    }
+
+    /**
+     * Indica si algún bloque interseca el área. Lee directamente las celdas.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @return true si hay algún bloque en el área, false en caso contrario
+     */
+    public boolean hayBloque(int x, int y, int ancho, int alto) {
+        return buscar(x, y, ancho, alto, false) >= 0;
+    }
+
+    /**
+     * Recorre en línea recta las celdas que siguen a la indicada y devuelve la primera con un bloque que detiene balas.
+     * Es un trazado de rayo sobre la grilla: solo lee los tipos de las celdas, sin crear objetos ni mirar píxeles.
+     * @param celda índice de la celda de partida, que no se revisa
+     * @param direccion dirección del recorrido
+     * @param alcance cantidad máxima de celdas a recorrer
+     * @return índice de la primera celda que detiene balas, o -1 si no hay ninguna dentro del alcance
+     */
+    public int primeraCeldaQueDetieneBalas(int celda, Direccion direccion, int alcance) {
+        int columna = celda % COLUMNAS;
+        int fila = celda / COLUMNAS;
+        for (int paso = 1; paso <= alcance; paso++) {
+            columna += direccion.obtenerDx();
+            fila += direccion.obtenerDy();
+            if (columna < 0 || columna >= COLUMNAS || fila < 0 || fila >= FILAS) {
+                return -1;
+            }
+            int actual = celda(columna, fila);
+            if (ocupada(actual) && tipo(actual).bloqueaBala()) {
+                return actual;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Barre un área que avanza en línea recta y devuelve cuántos píxeles puede avanzar antes de tocar un bloque
+     * que detiene balas. Recorre las celdas en orden de avance (DDA), una franja de celdas por paso, y se detiene
+     * en cuanto encuentra el contacto, por lo que el costo depende de la distancia recorrida y no del tiempo del paso.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @param direccion dirección de avance
+     * @param distancia píxeles enteros que avanza el área
+     * @return píxeles hasta el primer contacto, o -1 si no toca ningún bloque en el recorrido
+     */
+    public int distanciaHastaBloqueo(int x, int y, int ancho, int alto, Direccion direccion, int distancia) {
+        int dx = direccion.obtenerDx();
+        int dy = direccion.obtenerDy();
+        boolean horizontal = dx != 0;
+        int sentido = horizontal ? dx : dy;
+        int inicio = horizontal ? x : y;
+        int largo = horizontal ? ancho : alto;
+        int lateral = horizontal ? y : x;
+        int largoLateral = horizontal ? alto : ancho;
+        int cantidadFranjas = horizontal ? COLUMNAS : FILAS;
+        int cantidadLateral = horizontal ? FILAS : COLUMNAS;
+        int desde = Math.floorDiv(sentido > 0 ? inicio : inicio + largo - 1, TAMANIO_CELDA) - sentido;
+        int hasta = Math.floorDiv(sentido > 0 ? inicio + largo - 1 + distancia : inicio - distancia, TAMANIO_CELDA) + sentido;
+        int lateralMin = Math.max(0, Math.floorDiv(lateral, TAMANIO_CELDA) - 1);
+        int lateralMax = Math.min(cantidadLateral - 1, Math.floorDiv(lateral + largoLateral - 1, TAMANIO_CELDA) + 1);
+        int menor = -1;
+        int franjaDelContacto = 0;
+        for (int franja = desde; franja != hasta + sentido; franja += sentido) {
+            if (menor >= 0 && franja != franjaDelContacto + sentido) {
+                break;
+            }
+            if (franja < 0 || franja >= cantidadFranjas) {
+                continue;
+            }
+            for (int l = lateralMin; l <= lateralMax; l++) {
+                int celda = horizontal ? celda(franja, l) : celda(l, franja);
+                if (!ocupada(celda) || !tipo(celda).bloqueaBala()) {
+                    continue;
+                }
+                TipoBloque tipo = tipo(celda);
+                int avance = Colisionable.distanciaDeBarrido(x, y, ancho, alto, dx, dy, distancia, origenesX[celda], origenesY[celda], tipo.obtenerAncho(), tipo.obtenerAlto());
+                if (avance >= 0 && (menor < 0 || avance < menor)) {
+                    if (menor < 0) {
+                        franjaDelContacto = franja;
+                    }
+                    menor = avance;
+                }
+            }
+        }
+        return menor;
+    }
+
+    /**
+     * Busca la primera celda cuyo bloque interseca el área. Como cada bloque se guarda en la celda de su centro,
+     * un bloque puede sobresalir hasta media celda, por lo que se revisa también una celda alrededor del área.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @param soloImpidePaso si es true, solo se consideran bloques que impiden el paso
+     * @return índice de la celda encontrada, o -1 si no hay ninguna
+     */
+    private int buscar(int x, int y, int ancho, int alto, boolean soloImpidePaso) {
+        int colMin = Math.max(0, Math.floorDiv(x, TAMANIO_CELDA) - 1);
+        int colMax = Math.min(COLUMNAS - 1, Math.floorDiv(x + ancho - 1, TAMANIO_CELDA) + 1);
+        int filaMin = Math.max(0, Math.floorDiv(y, TAMANIO_CELDA) - 1);
+        int filaMax = Math.min(FILAS - 1, Math.floorDiv(y + alto - 1, TAMANIO_CELDA) + 1);
+        for (int f = filaMin; f <= filaMax; f++) {
+            for (int c = colMin; c <= colMax; c++) {
+                int celda = celda(c, f);
+                if (intersecta(celda, x, y, ancho, alto) && (!soloImpidePaso || tipo(celda).impidePaso())) {
+                    return celda;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene los bloques que intersecan el área indicada, creando las vistas de las celdas que todavía no la tienen.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @param resultado lista donde se agregan los bloques encontrados
+     */
+    public void consultar(int x, int y, int ancho, int alto, List<Bloque> resultado) {
+        int colMin = Math.max(0, Math.floorDiv(x, TAMANIO_CELDA) - 1);
+        int colMax = Math.min(COLUMNAS - 1, Math.floorDiv(x + ancho - 1, TAMANIO_CELDA) + 1);
+        int filaMin = Math.max(0, Math.floorDiv(y, TAMANIO_CELDA) - 1);
+        int filaMax = Math.min(FILAS - 1, Math.floorDiv(y + alto - 1, TAMANIO_CELDA) + 1);
+        for (int f = filaMin; f <= filaMax; f++) {
+            for (int c = colMin; c <= colMax; c++) {
+                int celda = celda(c, f);
+                if (intersecta(celda, x, y, ancho, alto)) {
+                    resultado.add(obtenerBloque(celda));
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega a la lista todos los bloques del terreno, creando las vistas que falten.
+     * @param resultado lista donde se agregan los bloques
+     */
+    public void obtenerBloques(List<Bloque> resultado) {
+        for (int celda = 0; celda < tipos.length; celda++) {
+            if (ocupada(celda)) {
+                resultado.add(obtenerBloque(celda));
+            }
+        }
+    }
+
+    /**
+     * Devuelve la vista del bloque de la celda, creándola la primera vez que se pide.
+     * @param celda índice de la celda
+     * @return bloque de la celda, o null si está vacía
+     */
+    public Bloque obtenerBloque(int celda) {
+        if (!ocupada(celda)) {
+            return null;
+        }
+        if (vistas[celda] == null) {
+            Bloque bloque = tipo(celda).crear(new Posicion(origenesX[celda], origenesY[celda]));
+            bloque.vincular(this, celda);
+            vistas[celda] = bloque;
+        }
+        return vistas[celda];
+    }
+
+    /**
+     * Devuelve la base colocada en el terreno. Sigue devolviéndola después de destruida, para poder consultarlo.
+     * @return base del terreno, o null si no se colocó ninguna
+     */
+    public BloqueBase obtenerBase() {
+        return base;
+    }
+
+    /**
+     * Marca como modificadas las celdas que toca el área, para que la vista las vuelva a dibujar.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     */
+    public void marcarModificado(int x, int y, int ancho, int alto) {
+        int colMin = limitar(Math.floorDiv(x, TAMANIO_CELDA), COLUMNAS);
+        int colMax = limitar(Math.floorDiv(x + ancho - 1, TAMANIO_CELDA), COLUMNAS);
+        int filaMin = limitar(Math.floorDiv(y, TAMANIO_CELDA), FILAS);
+        int filaMax = limitar(Math.floorDiv(y + alto - 1, TAMANIO_CELDA), FILAS);
+        for (int f = filaMin; f <= filaMax; f++) {
+            for (int c = colMin; c <= colMax; c++) {
+                celdasModificadas[celda(c, f)] = true;
+            }
+        }
+        modificado = true;
+    }
+
+    /**
+     * Limita un índice de celda al rango válido.
+     * @param indice índice calculado
+     * @param cantidad cantidad de celdas en ese eje
+     * @return índice dentro del tablero
+     */
+    private static int limitar(int indice, int cantidad) {
+        return Math.max(0, Math.min(cantidad - 1, indice));
+    }
+
+    /**
+     * Indica si alguna celda fue modificada desde la última vez que se consumieron las modificaciones.
+     * @return true si hay celdas modificadas, false en caso contrario
+     */
+    public boolean hayModificaciones() {
+        return modificado;
+    }
+
+    /**
+     * Indica si la celda fue modificada y la desmarca.
+     * @param columna columna de la celda
+     * @param fila fila de la celda
+     * @return true si la celda estaba modificada, false en caso contrario
+     */
+    public boolean consumirCeldaModificada(int columna, int fila) {
+        int celda = celda(columna, fila);
+        boolean modificada = celdasModificadas[celda];
+        celdasModificadas[celda] = false;
+        return modificada;
+    }
+
+    /**
+     * Desmarca todas las celdas modificadas.
+     */
+    public void limpiarModificaciones() {
+        Arrays.fill(celdasModificadas, false);
+        modificado = false;
+    }
+
+    /**
+     * Devuelve un contador que aumenta cada vez que se coloca, se daña o se destruye un bloque del terreno.
+     * Sirve para saber si hace falta recalcular algo que dependa de la forma del terreno.
+     * @return versión actual del terreno
+     */
+    public int obtenerVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,115 @@
+package org.game.modelo.terreno;
+
+import org.game.modelo.Posicion;
+
+public enum TipoBloque {
+    VACIO(0, false, false, null, 0, 0),
+    LADRILLO(3, true, true, "LADRILLO", Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE),
+    AGUA(Bloque.INDESTRUCTIBLE, false, true, "AGUA", Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE),
+    ACERO(Bloque.INDESTRUCTIBLE, true, true, "ACERO", Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE),
+    BOSQUE(Bloque.INDESTRUCTIBLE, false, false, "BOSQUE", Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE),
+    BASE(1, true, true, "BASE", Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE),
+    TANQUE_DESTRUIDO(Bloque.INDESTRUCTIBLE, true, true, "TANQUE_DESTRUIDO", Bloque.ANCHO_TANQUE, Bloque.ALTURA_TANQUE);
+
+    private static final TipoBloque[] VALORES = values();
+
+    private final int vidaInicial;
+    private final boolean bloqueaBala;
+    private final boolean impidePaso;
+    private final String claveImagen;
+    private final int ancho;
+    private final int alto;
+
+    /**
+     * Crea un tipo de bloque con sus propiedades fijas.
+     * @param vidaInicial Cantidad de impactos que resiste, o -1 si es indestructible
+     * @param bloqueaBala Indica si el bloque detiene balas
+     * @param impidePaso Indica si el bloque impide el paso de tanques
+     * @param claveImagen Clave de la imagen del bloque
+     * @param ancho Ancho del bloque en píxeles
+     * @param alto Alto del bloque en píxeles
+     */
+    TipoBloque(int vidaInicial, boolean bloqueaBala, boolean impidePaso, String claveImagen, int ancho, int alto) {
+        this.vidaInicial = vidaInicial;
+        this.bloqueaBala = bloqueaBala;
+        this.impidePaso = impidePaso;
+        this.claveImagen = claveImagen;
+        this.ancho = ancho;
+        this.alto = alto;
+    }
+
+    /**
+     * Devuelve el tipo a partir de su código, tal como se guarda en el terreno.
+     * @param codigo Código del tipo (su ordinal)
+     * @return Tipo de bloque
+     */
+    public static TipoBloque desdeCodigo(int codigo) {
+        return VALORES[codigo];
+    }
+
+    /**
+     * Crea un bloque de este tipo en la posición indicada.
+     * @param posicion Posición del bloque en el tablero
+     * @return Bloque nuevo
+     * @throws IllegalStateException si el tipo es VACIO
+     */
+    public Bloque crear(Posicion posicion) {
+        return switch (this) {
+            case LADRILLO -> new BloqueLadrillo(posicion);
+            case AGUA -> new BloqueAgua(posicion);
+            case ACERO -> new BloqueAcero(posicion);
+            case BOSQUE -> new BloqueBosque(posicion);
+            case BASE -> new BloqueBase(posicion);
+            case TANQUE_DESTRUIDO -> new TanqueDestruido(posicion);
+            case VACIO -> throw new IllegalStateException("No se puede crear un bloque vacío");
+        };
+    }
+
+    /**
+     * Devuelve la vida con la que se crea un bloque de este tipo.
+     * @return Vida inicial, o -1 si es indestructible
+     */
+    public int obtenerVidaInicial() {
+        return vidaInicial;
+    }
+
+    /**
+     * Indica si los bloques de este tipo detienen balas.
+     * @return true si detienen balas, false en caso contrario
+     */
+    public boolean bloqueaBala() {
+        return bloqueaBala;
+    }
+
+    /**
+     * Indica si los bloques de este tipo impiden el paso de tanques.
+     * @return true si impiden el paso, false en caso contrario
+     */
+    public boolean impidePaso() {
+        return impidePaso;
+    }
+
+    /**
+     * Devuelve la clave de la imagen de este tipo de bloque.
+     * @return Clave de imagen, o null si el tipo es VACIO
+     */
+    public String obtenerClaveImagen() {
+        return claveImagen;
+    }
+
+    /**
+     * Devuelve el ancho de los bloques de este tipo.
+     * @return Ancho en píxeles
+     */
+    public int obtenerAncho() {
+        return ancho;
+    }
+
+    /**
+     * Devuelve el alto de los bloques de este tipo.
+     * @return Alto en píxeles
+     */
+    public int obtenerAlto() {
+        return alto;
+    }
+}
@@ -0,0 +1,141 @@
+package org.game.niveles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class CatalogoNiveles {
+    private static final String RUTA_NIVELES = "/niveles/GeneratedLevels/Level";
+    private static final String EXTENSION_XML = ".xml";
+    private static final CatalogoNiveles COMPARTIDO = new CatalogoNiveles();
+
+    private final int cantidadNiveles;
+    private final ConcurrentMap<Integer, PlantillaNivel> plantillas;
+
+    /**
+     * Crea un catálogo indexando los niveles disponibles entre los recursos del juego.
+     * Los niveles se numeran desde 1 sin saltos, por lo que el índice termina en el primer número que falta.
+     * Solo se comprueba la existencia de cada recurso; las plantillas se leen al pedirlas o al precargar.
+     */
+    public CatalogoNiveles() {
+        int cantidad = 0;
+        while (existeRecurso(cantidad + 1)) {
+            cantidad++;
+        }
+        this.cantidadNiveles = cantidad;
+        this.plantillas = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Devuelve el catálogo compartido por todas las partidas del proceso.
+     * @return catálogo compartido
+     */
+    public static CatalogoNiveles obtenerCompartido() {
+        return COMPARTIDO;
+    }
+
+    /**
+     * Devuelve la cantidad de niveles disponibles.
+     * @return cantidad de niveles
+     */
+    public int cantidadNiveles() {
+        return cantidadNiveles;
+    }
+
+    /**
+     * Indica si el nivel existe según el índice, sin acceder a los recursos.
+     * @param nroNivel número de nivel
+     * @return true si el nivel existe, false en caso contrario
+     */
+    public boolean existeNivel(int nroNivel) {
+        return nroNivel >= 1 && nroNivel <= cantidadNiveles;
+    }
+
+    /**
+     * Obtiene la plantilla inmutable de un nivel. La primera vez la lee de los recursos
+     * (prefiriendo la versión binaria compilada) y luego la devuelve desde la caché.
+     * Puede llamarse desde varios hilos a la vez.
+     * @param nroNivel número de nivel
+     * @return plantilla del nivel
+     * @throws IllegalArgumentException si el nivel no existe
+     * @throws UncheckedIOException si el nivel no se puede leer
+     */
+    public PlantillaNivel obtenerPlantilla(int nroNivel) {
+        if (!existeNivel(nroNivel)) {
+            throw new IllegalArgumentException("No existe el nivel " + nroNivel);
+        }
+        return plantillas.computeIfAbsent(nroNivel, CatalogoNiveles::leerPlantilla);
+    }
+
+    /**
+     * Lee y guarda en la caché todas las plantillas que todavía no fueron cargadas.
+     * Un nivel que no se puede leer se informa y queda sin cargar, para volver a intentarlo al pedirlo.
+     */
+    public void precargar() {
+        for (int nroNivel = 1; nroNivel <= cantidadNiveles; nroNivel++) {
+            try {
+                obtenerPlantilla(nroNivel);
+            } catch (RuntimeException e) {
+                System.err.println("No se pudo precargar el nivel " + nroNivel + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Precarga todas las plantillas en un hilo de fondo, para que los cambios de nivel no esperen la lectura.
+     * @return tarea que se completa cuando termina la precarga
+     */
+    public CompletableFuture<Void> precargarEnSegundoPlano() {
+        return CompletableFuture.runAsync(this::precargar);
+    }
+
+    /**
+     * Devuelve la ruta del recurso de un nivel con la extensión indicada.
+     * @param nroNivel número de nivel
+     * @param extension extensión del archivo (".xml" o ".bin")
+     * @return ruta del recurso
+     */
+    private static String rutaNivel(int nroNivel, String extension) {
+        return RUTA_NIVELES + nroNivel + extension;
+    }
+
+    /**
+     * Indica si existe el recurso de un nivel, en forma binaria o XML. Funciona también desde un jar.
+     * @param nroNivel número de nivel
+     * @return true si existe alguno de los recursos, false en caso contrario
+     */
+    private static boolean existeRecurso(int nroNivel) {
+        return CatalogoNiveles.class.getResource(rutaNivel(nroNivel, FormatoNivelBinario.EXTENSION)) != null
+                || CatalogoNiveles.class.getResource(rutaNivel(nroNivel, EXTENSION_XML)) != null;
+    }
+
+    /**
+     * Lee la plantilla de un nivel desde los recursos, prefiriendo la versión binaria compilada sobre el XML.
+     * @param nroNivel número de nivel
+     * @return plantilla del nivel
+     * @throws UncheckedIOException si el nivel no existe o no se puede leer
+     */
+    private static PlantillaNivel leerPlantilla(int nroNivel) {
+        try {
+            try (InputStream binario = CatalogoNiveles.class.getResourceAsStream(rutaNivel(nroNivel, FormatoNivelBinario.EXTENSION))) {
+                if (binario != null) {
+                    return FormatoNivelBinario.leer(binario);
+                }
+            }
+            String levelPath = rutaNivel(nroNivel, EXTENSION_XML);
+            try (InputStream inputStream = CatalogoNiveles.class.getResourceAsStream(levelPath)) {
+                if (inputStream == null) {
+                    throw new IOException("No se pudo encontrar el archivo de nivel: " + levelPath);
+                }
+                return NivelLoader.leerXML(inputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (Exception e) {
+            throw new UncheckedIOException(new IOException("No se pudo leer el nivel " + nroNivel, e));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.game.niveles;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+public class CompiladorNiveles {
+    private static final String ESQUEMA = "levelConfig.xsd";
+    private static final String PREFIJO_NIVEL = "Level";
+    private static final String EXTENSION_XML = ".xml";
+
+    private final Validator validador;
+
+    /**
+     * Crea un compilador de niveles que valida cada archivo contra el esquema indicado.
+     * @param esquema archivo XSD de los niveles
+     * @throws Exception si el esquema no se puede cargar
+     */
+    public CompiladorNiveles(File esquema) throws Exception {
+        Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(esquema);
+        this.validador = schema.newValidator();
+    }
+
+    /**
+     * Valida un nivel XML contra el esquema y lo escribe en formato binario.
+     * @param origen archivo XML del nivel
+     * @param destino archivo binario a generar
+     * @throws Exception si el nivel no es válido o no se puede leer o escribir
+     */
+    public void compilar(File origen, File destino) throws Exception {
+        validador.validate(new StreamSource(origen));
+        PlantillaNivel plantilla;
+        try (InputStream entrada = new FileInputStream(origen)) {
+            plantilla = NivelLoader.leerXML(entrada);
+        }
+        try (OutputStream salida = new FileOutputStream(destino)) {
+            FormatoNivelBinario.escribir(plantilla, salida);
+        }
+    }
+
+    /**
+     * Compila todos los niveles LevelN.xml de un directorio, junto al esquema levelConfig.xsd del mismo directorio.
+     * Argumentos: directorio de los niveles XML y directorio de salida para los archivos .bin.
+     * @param args argumentos de la línea de comandos
+     * @throws Exception si algún nivel no es válido o no se puede compilar
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Uso: CompiladorNiveles <directorio de niveles XML> <directorio de salida>");
+        }
+        File directorioOrigen = new File(args[0]);
+        File directorioDestino = new File(args[1]);
+        File[] niveles = directorioOrigen.listFiles((dir, nombre) -> nombre.startsWith(PREFIJO_NIVEL) && nombre.endsWith(EXTENSION_XML));
+        if (niveles == null) {
+            throw new IOException("No se pudo leer el directorio de niveles: " + directorioOrigen);
+        }
+        Arrays.sort(niveles);
+        if (!directorioDestino.isDirectory() && !directorioDestino.mkdirs()) {
+            throw new IOException("No se pudo crear el directorio de salida: " + directorioDestino);
+        }
+
+        CompiladorNiveles compilador = new CompiladorNiveles(new File(directorioOrigen, ESQUEMA));
+        for (File nivel: niveles) {
+            String nombre = nivel.getName();
+            File destino = new File(directorioDestino, nombre.substring(0, nombre.length() - EXTENSION_XML.length()) + FormatoNivelBinario.EXTENSION);
+            try {
+                compilador.compilar(nivel, destino);
+            } catch (Exception e) {
+                throw new Exception("Nivel inválido " + nombre + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.game.niveles;
+
+import org.game.modelo.Posicion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public final class FormatoNivelBinario {
+    public static final String EXTENSION = ".bin";
+    private static final int MAGICO = 0x59414243;
+    private static final short VERSION = 1;
+    private static final int JUGADOR_1 = 1;
+    private static final int JUGADOR_2 = 2;
+
+    /**
+     * Clase de utilidad, no se instancia.
+     */
+    private FormatoNivelBinario() {
+    }
+
+    /**
+     * Escribe la plantilla en formato binario. No cierra el flujo de salida.
+     * Todos los valores son big-endian:
+     * <pre>
+     * int    MAGICO ("YABC")
+     * short  VERSION
+     * byte   jugadores presentes (bit 0: Jugador 1, bit 1: Jugador 2)
+     * double x, y por cada jugador presente
+     * int    cantidad de enemigos, y por cada uno: byte tipo, double x, double y
+     * int    cantidad de bloques, y por cada uno: byte tipo, double x, double y
+     * </pre>
+     * Las posiciones se guardan ya ajustadas, tal como las usa el juego.
+     * @param plantilla plantilla del nivel
+     * @param salida flujo donde escribir
+     * @throws IOException si ocurre un error de escritura
+     */
+    public static void escribir(PlantillaNivel plantilla, OutputStream salida) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(salida));
+        out.writeInt(MAGICO);
+        out.writeShort(VERSION);
+        Posicion p1 = plantilla.obtenerPosJugador1();
+        Posicion p2 = plantilla.obtenerPosJugador2();
+        out.writeByte((p1 != null ? JUGADOR_1 : 0) | (p2 != null ? JUGADOR_2 : 0));
+        if (p1 != null) {
+            out.writeDouble(p1.x());
+            out.writeDouble(p1.y());
+        }
+        if (p2 != null) {
+            out.writeDouble(p2.x());
+            out.writeDouble(p2.y());
+        }
+        out.writeInt(plantilla.cantidadEnemigos());
+        for (int i = 0; i < plantilla.cantidadEnemigos(); i++) {
+            out.writeByte(plantilla.tipoEnemigo(i));
+            out.writeDouble(plantilla.xEnemigo(i));
+            out.writeDouble(plantilla.yEnemigo(i));
+        }
+        out.writeInt(plantilla.cantidadBloques());
+        for (int i = 0; i < plantilla.cantidadBloques(); i++) {
+            out.writeByte(plantilla.tipoBloque(i));
+            out.writeDouble(plantilla.xBloque(i));
+            out.writeDouble(plantilla.yBloque(i));
+        }
+        out.flush();
+    }
+
+    /**
+     * Lee una plantilla en formato binario. No cierra el flujo de entrada.
+     * @param entrada flujo desde donde leer
+     * @return plantilla del nivel
+     * @throws IOException si el flujo no contiene un nivel compilado válido
+     */
+    public static PlantillaNivel leer(InputStream entrada) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(entrada));
+        if (in.readInt() != MAGICO) {
+            throw new IOException("El archivo no es un nivel compilado");
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Versión de nivel compilado no soportada: " + version);
+        }
+        RegistrosNivel registros = new RegistrosNivel();
+        int jugadores = in.readUnsignedByte();
+        if ((jugadores & JUGADOR_1) != 0) {
+            registros.setPosJugador1(new Posicion(in.readDouble(), in.readDouble()));
+        }
+        if ((jugadores & JUGADOR_2) != 0) {
+            registros.setPosJugador2(new Posicion(in.readDouble(), in.readDouble()));
+        }
+        int cantEnemigos = leerCantidad(in);
+        for (int i = 0; i < cantEnemigos; i++) {
+            registros.agregarEnemigo(in.readByte(), in.readDouble(), in.readDouble());
+        }
+        int cantBloques = leerCantidad(in);
+        for (int i = 0; i < cantBloques; i++) {
+            registros.agregarBloque(in.readByte(), in.readDouble(), in.readDouble());
+        }
+        return registros.construir();
+    }
+
+    /**
+     * Lee una cantidad de registros y verifica que no sea negativa.
+     * @param in flujo de entrada
+     * @return cantidad de registros
+     * @throws IOException si la cantidad es inválida o hay un error de lectura
+     */
+    private static int leerCantidad(DataInputStream in) throws IOException {
+        int cantidad = in.readInt();
+        if (cantidad < 0) {
+            throw new IOException("Cantidad de registros inválida: " + cantidad);
+        }
+        return cantidad;
+    }
+}
@@ -0,0 +1,175 @@
+package org.game.niveles;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GrillaEspacial<T> {
+    private final int tamanioCelda;
+    private final int columnas;
+    private final int filas;
+    private final List<List<T>> celdas;
+    private final Map<T, int[]> rangos;
+
+    /**
+     * Crea una grilla espacial uniforme que cubre el área indicada.
+     * Las entidades que quedan fuera del área se asignan a las celdas del borde.
+     * @param tamanioCelda tamaño en píxeles del lado de cada celda
+     * @param ancho ancho en píxeles del área cubierta
+     * @param alto alto en píxeles del área cubierta
+     */
+    public GrillaEspacial(int tamanioCelda, int ancho, int alto) {
+        this.tamanioCelda = tamanioCelda;
+        this.columnas = Math.max(1, (ancho + tamanioCelda - 1) / tamanioCelda);
+        this.filas = Math.max(1, (alto + tamanioCelda - 1) / tamanioCelda);
+        this.celdas = new ArrayList<>(columnas * filas);
+        for (int i = 0; i < columnas * filas; i++) {
+            celdas.add(new ArrayList<>());
+        }
+        this.rangos = new IdentityHashMap<>();
+    }
+
+    /**
+     * Registra una entidad en todas las celdas que ocupa su área.
+     * Si la entidad ya estaba registrada, se reubica.
+     * @param entidad entidad a registrar
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     */
+    public void insertar(T entidad, double x, double y, double ancho, double alto) {
+        actualizar(entidad, x, y, ancho, alto);
+    }
+
+    /**
+     * Reubica una entidad según su nueva área. Solo modifica las celdas si el rango de celdas
+     * ocupado cambió, por lo que mover una entidad dentro de la misma celda no tiene costo.
+     * @param entidad entidad a reubicar
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     */
+    public void actualizar(T entidad, double x, double y, double ancho, double alto) {
+        int colMin = columna(x);
+        int filaMin = fila(y);
+        int colMax = columna(x + ancho);
+        int filaMax = fila(y + alto);
+        int[] rango = rangos.get(entidad);
+        if (rango != null) {
+            if (rango[0] == colMin && rango[1] == filaMin && rango[2] == colMax && rango[3] == filaMax) {
+                return;
+            }
+            quitarDeCeldas(entidad, rango);
+        } else {
+            rango = new int[4];
+            rangos.put(entidad, rango);
+        }
+        rango[0] = colMin;
+        rango[1] = filaMin;
+        rango[2] = colMax;
+        rango[3] = filaMax;
+        for (int f = filaMin; f <= filaMax; f++) {
+            for (int c = colMin; c <= colMax; c++) {
+                celdas.get(f * columnas + c).add(entidad);
+            }
+        }
+    }
+
+    /**
+     * Elimina una entidad de la grilla. No hace nada si la entidad no estaba registrada.
+     * @param entidad entidad a eliminar
+     */
+    public void eliminar(T entidad) {
+        int[] rango = rangos.remove(entidad);
+        if (rango != null) {
+            quitarDeCeldas(entidad, rango);
+        }
+    }
+
+    /**
+     * Indica si la entidad está registrada en la grilla.
+     * @param entidad entidad a buscar
+     * @return true si está registrada, false en caso contrario
+     */
+    public boolean contiene(T entidad) {
+        return rangos.containsKey(entidad);
+    }
+
+    /**
+     * Obtiene las entidades registradas en las celdas que toca el área indicada.
+     * El resultado es un superconjunto de las entidades que intersecan el área, sin repeticiones.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @param resultado lista donde se dejan las entidades encontradas (se vacía antes de usarla)
+     */
+    public void consultar(double x, double y, double ancho, double alto, List<T> resultado) {
+        resultado.clear();
+        int colMin = columna(x);
+        int filaMin = fila(y);
+        int colMax = columna(x + ancho);
+        int filaMax = fila(y + alto);
+        for (int f = filaMin; f <= filaMax; f++) {
+            for (int c = colMin; c <= colMax; c++) {
+                for (T entidad: celdas.get(f * columnas + c)) {
+                    // Una entidad que ocupa varias celdas se reporta solo desde la primera celda en común.
+                    int[] rango = rangos.get(entidad);
+                    if (c == Math.max(rango[0], colMin) && f == Math.max(rango[1], filaMin)) {
+                        resultado.add(entidad);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Elimina todas las entidades de la grilla.
+     */
+    public void limpiar() {
+        for (List<T> celda: celdas) {
+            celda.clear();
+        }
+        rangos.clear();
+    }
+
+    /**
+     * Quita la entidad de todas las celdas del rango indicado.
+     * @param entidad entidad a quitar
+     * @param rango rango de celdas {colMin, filaMin, colMax, filaMax}
+     */
+    private void quitarDeCeldas(T entidad, int[] rango) {
+        for (int f = rango[1]; f <= rango[3]; f++) {
+            for (int c = rango[0]; c <= rango[2]; c++) {
+                List<T> celda = celdas.get(f * columnas + c);
+                for (int i = 0; i < celda.size(); i++) {
+                    if (celda.get(i) == entidad) {
+                        celda.remove(i);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Convierte una coordenada x en índice de columna, limitado al rango de la grilla.
+     * @param x coordenada x en píxeles
+     * @return índice de columna
+     */
+    private int columna(double x) {
+        return Math.max(0, Math.min(columnas - 1, (int)Math.floor(x / tamanioCelda)));
+    }
+
+    /**
+     * Convierte una coordenada y en índice de fila, limitado al rango de la grilla.
+     * @param y coordenada y en píxeles
+     * @return índice de fila
+     */
+    private int fila(double y) {
+        return Math.max(0, Math.min(filas - 1, (int)Math.floor(y / tamanioCelda)));
+    }
+}
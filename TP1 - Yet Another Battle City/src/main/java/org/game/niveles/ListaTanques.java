@@ -0,0 +1,140 @@
+package org.game.niveles;
+
+import org.game.modelo.entidades.Tanque;
+import org.game.modelo.entidades.TanqueEnemigo;
+import org.game.modelo.entidades.TanqueJugador;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class ListaTanques extends AbstractList<Tanque> {
+    private final List<Tanque> tanques;
+    private final List<TanqueEnemigo> enemigos;
+    private final List<TanqueJugador> jugadores;
+    private final List<TanqueEnemigo> vistaEnemigos;
+    private final List<TanqueJugador> vistaJugadores;
+
+    /**
+     * Crea una lista de tanques que mantiene al día, a medida que se agregan y quitan tanques,
+     * las listas de enemigos y de jugadores.
+     * @param capacidad cantidad esperada de tanques
+     */
+    ListaTanques(int capacidad) {
+        this.tanques = new ArrayList<>(capacidad);
+        this.enemigos = new ArrayList<>(capacidad);
+        this.jugadores = new ArrayList<>(2);
+        this.vistaEnemigos = Collections.unmodifiableList(enemigos);
+        this.vistaJugadores = Collections.unmodifiableList(jugadores);
+    }
+
+    /**
+     * Devuelve el tanque en la posición indicada.
+     * @param indice posición del tanque
+     * @return tanque
+     */
+    @Override
+    public Tanque get(int indice) {
+        return tanques.get(indice);
+    }
+
+    /**
+     * Devuelve la cantidad de tanques.
+     * @return cantidad de tanques
+     */
+    @Override
+    public int size() {
+        return tanques.size();
+    }
+
+    /**
+     * Inserta un tanque en la posición indicada y lo agrega a la lista de su tipo.
+     * @param indice posición donde insertarlo
+     * @param tanque tanque a insertar
+     */
+    @Override
+    public void add(int indice, Tanque tanque) {
+        tanques.add(indice, tanque);
+        registrar(tanque);
+        modCount++;
+    }
+
+    /**
+     * Reemplaza el tanque en la posición indicada, actualizando las listas por tipo.
+     * @param indice posición del tanque
+     * @param tanque tanque nuevo
+     * @return tanque reemplazado
+     */
+    @Override
+    public Tanque set(int indice, Tanque tanque) {
+        Tanque anterior = tanques.set(indice, tanque);
+        desregistrar(anterior);
+        registrar(tanque);
+        return anterior;
+    }
+
+    /**
+     * Quita el tanque en la posición indicada y lo saca de la lista de su tipo.
+     * @param indice posición del tanque
+     * @return tanque quitado
+     */
+    @Override
+    public Tanque remove(int indice) {
+        Tanque tanque = tanques.remove(indice);
+        desregistrar(tanque);
+        modCount++;
+        return tanque;
+    }
+
+    /**
+     * Quita todos los tanques.
+     */
+    @Override
+    public void clear() {
+        tanques.clear();
+        enemigos.clear();
+        jugadores.clear();
+        modCount++;
+    }
+
+    /**
+     * Devuelve los enemigos, en el orden en que se agregaron. La lista es de solo lectura y refleja los cambios.
+     * @return lista de enemigos
+     */
+    List<TanqueEnemigo> obtenerEnemigos() {
+        return vistaEnemigos;
+    }
+
+    /**
+     * Devuelve los jugadores, en el orden en que se agregaron. La lista es de solo lectura y refleja los cambios.
+     * @return lista de jugadores
+     */
+    List<TanqueJugador> obtenerJugadores() {
+        return vistaJugadores;
+    }
+
+    /**
+     * Agrega un tanque a la lista de su tipo.
+     * @param tanque tanque a agregar
+     */
+    private void registrar(Tanque tanque) {
+        if (tanque instanceof TanqueEnemigo enemigo) {
+            enemigos.add(enemigo);
+        } else if (tanque instanceof TanqueJugador jugador) {
+            jugadores.add(jugador);
+        }
+    }
+
+    /**
+     * Quita un tanque de la lista de su tipo.
+     * @param tanque tanque a quitar
+     */
+    private void desregistrar(Tanque tanque) {
+        if (tanque instanceof TanqueEnemigo) {
+            enemigos.remove(tanque);
+        } else if (tanque instanceof TanqueJugador) {
+            jugadores.remove(tanque);
+        }
+    }
+}
@@ -1,81 +1,418 @@
 package org.game.niveles;
 
+import org.game.modelo.BufferEventos;
+import org.game.modelo.Colisionable;
+import org.game.modelo.ConstantesTablero;
+import org.game.modelo.Direccion;
+import org.game.modelo.TipoEvento;
 import org.game.modelo.TipoPowerUp;
 import org.game.modelo.Posicion;
 import org.game.modelo.entidades.*;
+import org.game.modelo.ia.PlanificadorIA;
 import org.game.modelo.powerups.*;
 import org.game.modelo.terreno.Bloque;
 import org.game.modelo.terreno.BloqueBase;
-import org.game.visualizacion.GestorSonido;
+import org.game.modelo.terreno.CampoFlujo;
+import org.game.modelo.terreno.TanqueDestruido;
+import org.game.modelo.terreno.Terreno;
+import org.game.modelo.terreno.TipoBloque;
 
-import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Nivel {
     private static final double PROBABILIDAD_POWERUP = 0.2;
 
-    private List<Bloque> bloques;
-    private List<Tanque> tanques;
-    private List<Bala> balas;
+    private final Terreno terreno;
+    private List<Bloque> bloquesSueltos;
+    private final ListaTanques tanques;
+    private final PoolBalas balas;
     private List<PowerUp> powerUpsActivos;
     private Posicion posInicialJugador1;
     private Posicion posInicialJugador2;
-    private GestorSonido gestorSonido;
+    private BufferEventos eventos;
+    private final SplittableRandom aleatorio;
+    private final GrillaEspacial<Bloque> grillaBloques;
+    private final GrillaEspacial<Tanque> grillaTanques;
+    private final List<Bloque> bloquesCercanos;
+    private final List<Bloque> bloquesSueltosCercanos;
+    private final List<Tanque> tanquesCercanos;
+    private BloqueBase baseSuelta;
+    private int enemigosDestruidos;
+    private ModoIA modoIA;
+    private final CampoFlujo campoBase;
+    private final CampoFlujo campoJugadores;
+    private final int[] objetivosBase;
+    private final int[] objetivosJugadores;
+    private PlanificadorIA planificadorIA;
 
     /**
-     * Constructor de la clase Nivel. Inicializa las listas de bloques, tanques, balas y power-ups activos.
-     * @param gestorSonido gestor de sonidos para reproducir efectos durante el juego
+     * Constructor de la clase Nivel. Inicializa el terreno, las listas de tanques, balas y power-ups activos,
+     * junto con las grillas espaciales usadas para acelerar las consultas de colisión.
+     * Usa una fuente de números aleatorios propia, sin semilla fija.
      */
-    public Nivel(GestorSonido gestorSonido) {
-        this.bloques = new ArrayList<>();
-        this.tanques = new ArrayList<>();
-        this.balas = new ArrayList<>();
+    public Nivel() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Constructor de la clase Nivel con una fuente de números aleatorios compartida con la partida.
+     * @param aleatorio fuente de números aleatorios de la partida
+     */
+    public Nivel(SplittableRandom aleatorio) {
+        this(aleatorio, 0);
+    }
+
+    /**
+     * Constructor de la clase Nivel que reserva lugar para la cantidad esperada de tanques,
+     * evitando que la lista crezca mientras se arma el nivel. Los bloques del terreno ocupan un lugar fijo.
+     * @param aleatorio fuente de números aleatorios de la partida
+     * @param capacidadTanques cantidad esperada de tanques
+     */
+    public Nivel(SplittableRandom aleatorio, int capacidadTanques) {
+        this.terreno = new Terreno();
+        this.bloquesSueltos = new ArrayList<>();
+        this.tanques = new ListaTanques(capacidadTanques);
+        this.eventos = new BufferEventos();
+        this.balas = new PoolBalas(PoolBalas.CAPACIDAD_POR_DEFECTO, eventos);
         this.powerUpsActivos = new ArrayList<>();
-        this.gestorSonido = gestorSonido;
+        this.aleatorio = aleatorio;
+        this.grillaBloques = crearGrilla();
+        this.grillaTanques = crearGrilla();
+        this.bloquesCercanos = new ArrayList<>();
+        this.bloquesSueltosCercanos = new ArrayList<>();
+        this.tanquesCercanos = new ArrayList<>();
+        this.modoIA = ModoIA.ALEATORIO;
+        this.campoBase = new CampoFlujo();
+        this.campoJugadores = new CampoFlujo();
+        this.objetivosBase = new int[1];
+        this.objetivosJugadores = new int[2];
+        this.planificadorIA = new PlanificadorIA();
+    }
+
+    /**
+     * Hace que el nivel y sus balas anoten los eventos en el buffer indicado, por ejemplo el de la partida,
+     * que se conserva entre niveles.
+     * @param eventos buffer de eventos
+     */
+    public void usarEventos(BufferEventos eventos) {
+        this.eventos = eventos;
+        this.balas.usarEventos(eventos);
+    }
+
+    /**
+     * Devuelve el buffer donde el nivel anota los eventos.
+     * @return buffer de eventos
+     */
+    public BufferEventos obtenerEventos() {
+        return eventos;
+    }
+
+    /**
+     * Indica cómo se mueven los enemigos del nivel: al azar o según la conducta de cada tipo de enemigo,
+     * que sigue los campos de flujo hacia la base o hacia los jugadores.
+     * @param modoIA modo de la inteligencia de los enemigos
+     */
+    public void usarModoIA(ModoIA modoIA) {
+        this.modoIA = modoIA;
+    }
+
+    /**
+     * Devuelve el modo de la inteligencia de los enemigos del nivel.
+     * @return modo de la inteligencia
+     */
+    public ModoIA obtenerModoIA() {
+        return modoIA;
+    }
+
+    /**
+     * Cambia el planificador que reparte las decisiones de los enemigos entre ticks.
+     * @param planificadorIA planificador de la inteligencia
+     */
+    public void usarPlanificadorIA(PlanificadorIA planificadorIA) {
+        this.planificadorIA = planificadorIA;
+    }
+
+    /**
+     * Devuelve el planificador que reparte las decisiones de los enemigos entre ticks.
+     * @return planificador de la inteligencia
+     */
+    public PlanificadorIA obtenerPlanificadorIA() {
+        return planificadorIA;
+    }
+
+    /**
+     * Devuelve el campo de flujo hacia la base, compartido por todos los enemigos.
+     * @return campo de flujo hacia la base
+     */
+    public CampoFlujo obtenerCampoBase() {
+        return campoBase;
+    }
+
+    /**
+     * Devuelve el campo de flujo hacia los jugadores vivos, compartido por todos los enemigos.
+     * @return campo de flujo hacia los jugadores
+     */
+    public CampoFlujo obtenerCampoJugadores() {
+        return campoJugadores;
+    }
+
+    /**
+     * Pone al día los campos de flujo hacia la base y hacia los jugadores vivos. Cada uno solo se recalcula
+     * si cambió el terreno o si alguno de sus objetivos pasó a otra celda, así que la mayoría de los ticks no hace nada.
+     */
+    private void actualizarCamposFlujo() {
+        int cantidad = 0;
+        BloqueBase base = obtenerBase();
+        if (base != null && base.existe()) {
+            objetivosBase[cantidad++] = Terreno.celdaDelCentro(base.obtenerAreaX(), base.obtenerAreaY(), base.obtenerAreaAncho(), base.obtenerAreaAlto());
+        }
+        campoBase.actualizar(terreno, objetivosBase, cantidad);
+        cantidad = 0;
+        List<TanqueJugador> jugadores = tanques.obtenerJugadores();
+        for (int i = 0; i < jugadores.size() && cantidad < objetivosJugadores.length; i++) {
+            TanqueJugador jugador = jugadores.get(i);
+            if (jugador.estaVivo()) {
+                objetivosJugadores[cantidad++] = Terreno.celdaDelCentro(jugador.obtenerAreaX(), jugador.obtenerAreaY(), jugador.obtenerAreaAncho(), jugador.obtenerAreaAlto());
+            }
+        }
+        campoJugadores.actualizar(terreno, objetivosJugadores, cantidad);
+    }
+
+    /**
+     * Crea una grilla espacial que cubre el tablero, con celdas del tamaño de un bloque.
+     * @return grilla espacial vacía
+     */
+    private static <T> GrillaEspacial<T> crearGrilla() {
+        return new GrillaEspacial<>(Bloque.ANCHO_BLOQUE, ConstantesTablero.ANCHO_SUBTABLERO, ConstantesTablero.ALTURA_SUBTABLERO);
     }
 
     /**
      * Actualiza el estado de todos los elementos del nivel (tanques, balas, bloques).
-     * Gestiona colisiones, elimina entidades destruidas y reproduce sonidos de eventos.
+     * Gestiona colisiones, elimina entidades destruidas (dejando los restos de cada tanque en su lugar) y anota los eventos en el buffer del nivel.
+     * En el modo dirigido, antes de mover los tanques pone al día los campos de flujo y deja que el planificador
+     * haga decidir a algunos enemigos.
      * @param tiempoDelta tiempo transcurrido desde la última actualización (en segundos)
      */
     public void update(double tiempoDelta) {
+        if (modoIA == ModoIA.DIRIGIDO) {
+            actualizarCamposFlujo();
+            planificadorIA.planificar(tanques.obtenerEnemigos(), this);
+        }
         for (Tanque tanque: tanques) {
             if (!tanque.estaVivo()) {
                 unEnemigoFueDestruido();
-                gestorSonido.reproducir("MUERTE_TANQUE");
+                eventos.registrar(TipoEvento.TANQUE_DESTRUIDO, tanque.obtenerAreaX(), tanque.obtenerAreaY(), tanque.esEnemigo() ? 1 : 0);
             }
-            tanque.actualizarEstado();
+            tanque.actualizarEstado(tiempoDelta);
             if (tanque.esEnemigo()) {
                 ((TanqueEnemigo)tanque).actualizar(tiempoDelta, this);
             } else {
                 tanque.actualizar(tiempoDelta);
             }
+            reubicarTanque(tanque);
         }
-        tanques.removeIf(tanque -> !tanque.estaVivo());
-        bloques.removeIf(bloque -> !bloque.existe());
-
-        for (int i = 0; i < balas.size(); i++) {
-            Bala bala = balas.get(i);
-            bala.movimiento(tiempoDelta);
-            for (Bloque bloque: bloques) {
-                bala.colisionarConBloque(bloque);
-            }
-            for (Tanque tanque: tanques) {
-                if (bala.getPropietario() != null && bala.getPropietario() == tanque) {
-                    continue;
+        for (Iterator<Tanque> it = tanques.iterator(); it.hasNext();) {
+            Tanque tanque = it.next();
+            if (!tanque.estaVivo()) {
+                it.remove();
+                grillaTanques.eliminar(tanque);
+                agregarBloque(new TanqueDestruido(tanque.obtenerPosicion()));
+                if (tanque.esEnemigo()) {
+                    enemigosDestruidos++;
                 }
-                bala.colisionarConTanque(tanque);
             }
-            for (int j = 0; j < balas.size(); j++) {
-                if (i != j) {
-                    bala.colisionarConBala(balas.get(j));
+        }
+        for (Iterator<Bloque> it = bloquesSueltos.iterator(); it.hasNext();) {
+            Bloque bloque = it.next();
+            if (!bloque.existe()) {
+                it.remove();
+                grillaBloques.eliminar(bloque);
+                terreno.marcarModificado(bloque.obtenerAreaX(), bloque.obtenerAreaY(), bloque.obtenerAreaAncho(), bloque.obtenerAreaAlto());
+            }
+        }
+
+        for (int i = 0; i < balas.cantidad(); i++) {
+            int bala = balas.obtenerIndice(i);
+            balas.moverHastaContacto(bala, tiempoDelta, barrerBala(bala, tiempoDelta));
+            if (balas.verificarLimites(bala) || !balas.activa(bala)) {
+                continue;
+            }
+            int x = (int)balas.x(bala);
+            int y = (int)balas.y(bala);
+            for (Bloque bloque: bloquesEnArea(x, y, Bala.ANCHO_BALA, Bala.ALTURA_BALA)) {
+                balas.colisionarConBloque(bala, bloque);
+            }
+            for (Tanque tanque: tanquesEnArea(x, y, Bala.ANCHO_BALA, Bala.ALTURA_BALA)) {
+                if (balas.propietario(bala) != tanque) {
+                    balas.colisionarConTanque(bala, tanque);
                 }
             }
         }
-        balas.removeIf(bala -> !bala.estaActiva());
+        balas.colisionarEntreBalas();
+        balas.liberarInactivas();
+    }
+
+    /**
+     * Barre el recorrido que hará la bala durante el paso contra el terreno, los bloques sueltos y los tanques,
+     * para que no atraviese obstáculos aunque el paso sea largo o la bala rápida. Los bloques que no detienen
+     * balas (agua, bosque) y el tanque que disparó no la frenan.
+     * @param bala índice de la bala en el pool
+     * @param tiempoDelta tiempo transcurrido desde la última actualización (en segundos)
+     * @return píxeles hasta el primer obstáculo, o -1 si la bala puede hacer el recorrido completo
+     */
+    private int barrerBala(int bala, double tiempoDelta) {
+        Direccion direccion = balas.direccion(bala);
+        if (direccion == null || !balas.activa(bala)) {
+            return -1;
+        }
+        int distancia = balas.pixelesDelPaso(bala, tiempoDelta);
+        int x = (int)balas.x(bala);
+        int y = (int)balas.y(bala);
+        int dx = direccion.obtenerDx();
+        int dy = direccion.obtenerDy();
+        int menor = terreno.distanciaHastaBloqueo(x, y, Bala.ANCHO_BALA, Bala.ALTURA_BALA, direccion, distancia);
+        int limite = menor >= 0 ? menor : distancia;
+        int areaX = Math.min(x, x + dx * limite);
+        int areaY = Math.min(y, y + dy * limite);
+        int areaAncho = Bala.ANCHO_BALA + Math.abs(dx) * limite;
+        int areaAlto = Bala.ALTURA_BALA + Math.abs(dy) * limite;
+        for (Bloque bloque: bloquesSueltosEnArea(areaX, areaY, areaAncho, areaAlto)) {
+            if (bloque.obtenerTipo().bloqueaBala()) {
+                menor = menorDistancia(menor, Colisionable.distanciaDeBarrido(x, y, Bala.ANCHO_BALA, Bala.ALTURA_BALA, dx, dy, distancia,
+                        bloque.obtenerAreaX(), bloque.obtenerAreaY(), bloque.obtenerAreaAncho(), bloque.obtenerAreaAlto()));
+            }
+        }
+        for (Tanque tanque: tanquesEnArea(areaX, areaY, areaAncho, areaAlto)) {
+            if (tanque != balas.propietario(bala)) {
+                menor = menorDistancia(menor, Colisionable.distanciaDeBarrido(x, y, Bala.ANCHO_BALA, Bala.ALTURA_BALA, dx, dy, distancia,
+                        tanque.obtenerAreaX(), tanque.obtenerAreaY(), tanque.obtenerAreaAncho(), tanque.obtenerAreaAlto()));
+            }
+        }
+        return menor;
+    }
+
+    /**
+     * Devuelve la menor de dos distancias de barrido, donde -1 indica que no hubo contacto.
+     * @param a primera distancia, o -1
+     * @param b segunda distancia, o -1
+     * @return la menor distancia válida, o -1 si ninguna lo es
+     */
+    private static int menorDistancia(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        return b < 0 ? a : Math.min(a, b);
+    }
+
+    /**
+     * Actualiza la ubicación de un tanque en la grilla espacial luego de que se movió.
+     * @param tanque tanque a reubicar
+     */
+    public void reubicarTanque(Tanque tanque) {
+        if (tanque.estaVivo()) {
+            ubicarEnGrilla(grillaTanques, tanque);
+        }
+    }
+
+    /**
+     * Registra o reubica un elemento en la grilla indicada según su área de colisión.
+     * @param grilla grilla espacial
+     * @param elemento elemento a ubicar
+     */
+    private static <T extends Colisionable> void ubicarEnGrilla(GrillaEspacial<T> grilla, T elemento) {
+        grilla.actualizar(elemento, elemento.obtenerAreaX(), elemento.obtenerAreaY(), elemento.obtenerAreaAncho(), elemento.obtenerAreaAlto());
+    }
+
+    /**
+     * Obtiene los bloques existentes cercanos al área indicada (candidatos a colisionar con ella):
+     * los del terreno que la intersecan, seguidos de los bloques sueltos cercanos.
+     * La lista devuelta se reutiliza en la siguiente consulta de bloques.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @return lista de bloques cercanos
+     */
+    public List<Bloque> bloquesEnArea(int x, int y, int ancho, int alto) {
+        bloquesCercanos.clear();
+        terreno.consultar(x, y, ancho, alto, bloquesCercanos);
+        bloquesCercanos.addAll(bloquesSueltosEnArea(x, y, ancho, alto));
+        return bloquesCercanos;
+    }
+
+    /**
+     * Obtiene solo los bloques sueltos existentes cercanos al área indicada, sin incluir los del terreno.
+     * La lista devuelta se reutiliza en la siguiente consulta de bloques sueltos.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @return lista de bloques sueltos cercanos
+     */
+    public List<Bloque> bloquesSueltosEnArea(int x, int y, int ancho, int alto) {
+        grillaBloques.consultar(x, y, ancho, alto, bloquesSueltosCercanos);
+        bloquesSueltosCercanos.removeIf(bloque -> !bloque.existe());
+        return bloquesSueltosCercanos;
+    }
+
+    /**
+     * Indica si algún bloque que impide el paso de tanques interseca el área de un elemento.
+     * Las celdas del terreno se leen directamente, sin crear objetos Bloque.
+     * @param elemento elemento cuya área se consulta
+     * @return true si el paso está bloqueado, false en caso contrario
+     */
+    public boolean impidePaso(Colisionable elemento) {
+        int x = elemento.obtenerAreaX();
+        int y = elemento.obtenerAreaY();
+        int ancho = elemento.obtenerAreaAncho();
+        int alto = elemento.obtenerAreaAlto();
+        if (terreno.impidePaso(x, y, ancho, alto)) {
+            return true;
+        }
+        for (Bloque bloque: bloquesSueltosEnArea(x, y, ancho, alto)) {
+            if (bloque.impidePaso() && bloque.intersecta(x, y, ancho, alto)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene los bloques existentes cercanos al área de colisión de un elemento.
+     * La lista devuelta se reutiliza en la siguiente consulta de bloques.
+     * @param elemento elemento cuya área se consulta
+     * @return lista de bloques cercanos
+     */
+    public List<Bloque> bloquesEnArea(Colisionable elemento) {
+        return bloquesEnArea(elemento.obtenerAreaX(), elemento.obtenerAreaY(), elemento.obtenerAreaAncho(), elemento.obtenerAreaAlto());
+    }
+
+    /**
+     * Obtiene los tanques vivos cercanos al área indicada (candidatos a colisionar con ella).
+     * La lista devuelta se reutiliza en la siguiente consulta de tanques.
+     * @param x coordenada x del área
+     * @param y coordenada y del área
+     * @param ancho ancho del área
+     * @param alto alto del área
+     * @return lista de tanques cercanos
+     */
+    public List<Tanque> tanquesEnArea(int x, int y, int ancho, int alto) {
+        grillaTanques.consultar(x, y, ancho, alto, tanquesCercanos);
+        tanquesCercanos.removeIf(tanque -> !tanque.estaVivo());
+        return tanquesCercanos;
+    }
+
+    /**
+     * Obtiene los tanques vivos cercanos al área de colisión de un elemento.
+     * La lista devuelta se reutiliza en la siguiente consulta de tanques.
+     * @param elemento elemento cuya área se consulta
+     * @return lista de tanques cercanos
+     */
+    public List<Tanque> tanquesEnArea(Colisionable elemento) {
+        return tanquesEnArea(elemento.obtenerAreaX(), elemento.obtenerAreaY(), elemento.obtenerAreaAncho(), elemento.obtenerAreaAlto());
     }
 
     /**
@@ -93,14 +430,14 @@ public class Nivel {
      * @return true si se debe generar, false en caso contrario
      */
     private boolean deberiaGenerarPowerUp(double probabilidad) {
-        return new Random().nextDouble() < probabilidad;
+        return aleatorio.nextDouble() < probabilidad;
     }
 
     /**
      * Genera un power-up aleatorio en una posición vacía del nivel.
      */
     private void generarPowerUpAleatorio() {
-        TipoPowerUp tipo = TipoPowerUp.values()[new Random().nextInt(TipoPowerUp.values().length)];
+        TipoPowerUp tipo = TipoPowerUp.values()[aleatorio.nextInt(TipoPowerUp.values().length)];
         Posicion pos = encontrarPosicionVaciaAleatoria();
         switch (tipo){
             case CASCO:
@@ -124,22 +461,20 @@ public class Nivel {
      * @return una posición válida sin colisiones
      */
     private Posicion encontrarPosicionVaciaAleatoria() {
-        Random rand = new Random();
         int x, y;
         boolean posicionValida;
         do {
-            x = rand.nextInt(800);
-            y = rand.nextInt(600);
-            Posicion pos = new Posicion(x, y);
-            posicionValida = true;
-            for (Bloque bloque: bloques) {
-                if (new Rectangle((int)pos.x(), (int)pos.y(), 20, 20).intersects(bloque.obtenerArea())) {
+            x = aleatorio.nextInt(800);
+            y = aleatorio.nextInt(600);
+            posicionValida = !terreno.hayBloque(x, y, 20, 20);
+            for (Bloque bloque: bloquesSueltosEnArea(x, y, 20, 20)) {
+                if (bloque.intersecta(x, y, 20, 20)) {
                     posicionValida = false;
                     break;
                 }
             }
-            for (Tanque tanque: tanques) {
-                if (new Rectangle((int)pos.x(), (int)pos.y(), 20, 20).intersects(tanque.obtenerArea())) {
+            for (Tanque tanque: tanquesEnArea(x, y, 20, 20)) {
+                if (tanque.intersecta(x, y, 20, 20)) {
                     posicionValida = false;
                     break;
                 }
@@ -153,16 +488,35 @@ public class Nivel {
      * @return true si no quedan enemigos, false en caso contrario
      */
     public boolean nivelCompleto() {
-        return obtenerTanquesEnemigos().isEmpty();
+        return tanques.obtenerEnemigos().isEmpty();
     }
 
     /**
-     * Agrega un bloque al nivel si no existe previamente.
+     * Agrega un bloque al nivel si no existe previamente. Si su celda del terreno está libre, el bloque pasa
+     * a ser la vista de esa celda; si no, queda como bloque suelto.
      * @param bloque bloque a agregar
      */
     public void agregarBloque(Bloque bloque) {
-        if (!this.bloques.contains(bloque)) {
-            this.bloques.add(bloque);
+        if (bloque.estaEnTerreno() || grillaBloques.contiene(bloque) || terreno.colocar(bloque)) {
+            return;
+        }
+        this.bloquesSueltos.add(bloque);
+        if (bloque.esBase() && baseSuelta == null) {
+            baseSuelta = (BloqueBase)bloque;
+        }
+        ubicarEnGrilla(grillaBloques, bloque);
+        terreno.marcarModificado(bloque.obtenerAreaX(), bloque.obtenerAreaY(), bloque.obtenerAreaAncho(), bloque.obtenerAreaAlto());
+    }
+
+    /**
+     * Agrega un bloque del tipo indicado. Si su celda del terreno está libre solo se guardan su tipo y su vida,
+     * sin crear el objeto Bloque; si no, se crea y queda como bloque suelto.
+     * @param tipo tipo de bloque
+     * @param posicion posición del bloque
+     */
+    public void agregarBloque(TipoBloque tipo, Posicion posicion) {
+        if (!terreno.colocar(tipo, (int)posicion.x(), (int)posicion.y())) {
+            agregarBloque(tipo.crear(posicion));
         }
     }
 
@@ -172,6 +526,7 @@ public class Nivel {
      */
     public void agregarTanque(Tanque tanque) {
         this.tanques.add(tanque);
+        reubicarTanque(tanque);
     }
 
     /**
@@ -179,15 +534,17 @@ public class Nivel {
      * @param enemigo tanque enemigo a agregar
      */
     public void agregarEnemigo(TanqueEnemigo enemigo) {
-        this.tanques.add(enemigo);
+        agregarTanque(enemigo);
     }
 
     /**
-     * Agrega una bala al nivel.
+     * Agrega al nivel una bala creada por fuera, copiándola al pool de balas.
+     * Los disparos durante el juego ocupan directamente un lugar del pool con Tanque.disparar.
      * @param bala bala a agregar
+     * @return true si se agregó, false si ya estaba en el nivel o el pool está lleno
      */
-    public void agregarBala(Bala bala) {
-        this.balas.add(bala);
+    public boolean agregarBala(Bala bala) {
+        return balas.agregar(bala);
     }
 
     /**
@@ -199,11 +556,39 @@ public class Nivel {
     }
 
     /**
-     * Obtiene la lista de bloques del nivel.
+     * Devuelve la fuente de números aleatorios de la partida a la que pertenece el nivel.
+     * @return fuente de números aleatorios
+     */
+    public SplittableRandom obtenerAleatorio() {
+        return aleatorio;
+    }
+
+    /**
+     * Obtiene una lista nueva con todos los bloques del nivel, creando las vistas de las celdas del terreno que falten.
+     * Para recorrer el terreno sin crear objetos conviene usar obtenerTerreno().
      * @return lista de bloques
      */
     public List<Bloque> obtenerBloques() {
-        return this.bloques;
+        List<Bloque> bloques = new ArrayList<>(bloquesSueltos.size());
+        terreno.obtenerBloques(bloques);
+        bloques.addAll(bloquesSueltos);
+        return bloques;
+    }
+
+    /**
+     * Obtiene el terreno del nivel, con los bloques guardados por celda.
+     * @return terreno del nivel
+     */
+    public Terreno obtenerTerreno() {
+        return terreno;
+    }
+
+    /**
+     * Obtiene la lista de bloques que no entraron en el terreno (por ejemplo, por ocupar una celda ya ocupada).
+     * @return lista de bloques sueltos
+     */
+    public List<Bloque> obtenerBloquesSueltos() {
+        return this.bloquesSueltos;
     }
 
     /**
@@ -215,11 +600,22 @@ public class Nivel {
     }
 
     /**
-     * Obtiene la lista de balas activas en el nivel.
+     * Obtiene una lista nueva con las balas del nivel, creando las vistas que falten.
+     * Para recorrer las balas sin crear objetos conviene usar obtenerPoolBalas().
      * @return lista de balas
      */
     public List<Bala> obtenerBalas() {
-        return this.balas;
+        List<Bala> lista = new ArrayList<>(balas.cantidad());
+        balas.obtenerBalas(lista);
+        return lista;
+    }
+
+    /**
+     * Obtiene el pool de balas del nivel, con las balas guardadas en arreglos paralelos.
+     * @return pool de balas
+     */
+    public PoolBalas obtenerPoolBalas() {
+        return balas;
     }
 
     /**
@@ -231,30 +627,46 @@ public class Nivel {
     }
 
     /**
-     * Devuelve la base del nivel si existe.
+     * Devuelve la base del nivel si existe. La del terreno queda guardada al colocarla y la de los bloques
+     * sueltos al agregarla, por lo que no se recorren los bloques.
      * @return bloque base o null si no existe
      */
     public BloqueBase obtenerBase() {
-        for (Bloque bloque: bloques) {
-            if (bloque.esBase()) {
-                return (BloqueBase)bloque;
-            }
-        }
-        return null;
+        BloqueBase base = terreno.obtenerBase();
+        return base != null ? base : baseSuelta;
     }
 
     /**
-     * Obtiene la lista de tanques enemigos presentes en el nivel.
+     * Obtiene la lista de tanques enemigos presentes en el nivel. Se mantiene al día a medida que se agregan
+     * y quitan tanques, así que no se crea una lista nueva en cada llamada. Es de solo lectura.
      * @return lista de tanques enemigos
      */
     public List<TanqueEnemigo> obtenerTanquesEnemigos() {
-        List<TanqueEnemigo> tanquesEnemigos = new ArrayList<>();
-        for (Tanque tanque: this.tanques) {
-            if (tanque.esEnemigo()) {
-                tanquesEnemigos.add((TanqueEnemigo)tanque);
-            }
-        }
-        return tanquesEnemigos;
+        return tanques.obtenerEnemigos();
+    }
+
+    /**
+     * Obtiene la lista de tanques de los jugadores presentes en el nivel. Es de solo lectura y se mantiene al día.
+     * @return lista de tanques de los jugadores
+     */
+    public List<TanqueJugador> obtenerJugadores() {
+        return tanques.obtenerJugadores();
+    }
+
+    /**
+     * Devuelve la cantidad de tanques enemigos destruidos en el nivel.
+     * @return cantidad de enemigos destruidos
+     */
+    public int obtenerEnemigosDestruidos() {
+        return enemigosDestruidos;
+    }
+
+    /**
+     * Devuelve la cantidad de tanques enemigos que quedan en el nivel.
+     * @return cantidad de enemigos
+     */
+    public int cantidadEnemigos() {
+        return tanques.obtenerEnemigos().size();
     }
 
     /**
@@ -1,154 +1,193 @@
 package org.game.niveles;
 
 import org.game.modelo.Posicion;
-import org.game.modelo.entidades.*;
-import org.game.modelo.terreno.*;
 import org.game.modelo.terreno.Bloque;
-import org.game.visualizacion.GestorSonido;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.InputStream;
+import java.util.SplittableRandom;
 
 public class NivelLoader {
-    private final GestorSonido gestorSonido;
+    private static final byte TIPO_DESCONOCIDO = -1;
+    private static final XMLInputFactory FABRICA_XML = crearFabricaXML();
+
+    private final SplittableRandom aleatorio;
+    private final CatalogoNiveles catalogo;
+
+    /**
+     * Constructor de NivelLoader. Los niveles cargados usan una fuente de números aleatorios sin semilla fija.
+     */
+    public NivelLoader() {
+        this(new SplittableRandom());
+    }
 
     /**
-     * Constructor de NivelLoader. Recibe el gestor de sonido para asociarlo a los elementos del nivel.
-     * @param gestorSonido gestor de sonidos para reproducir efectos durante el juego
+     * Constructor de NivelLoader con la fuente de números aleatorios de la partida,
+     * que se comparte con los niveles y enemigos cargados.
+     * @param aleatorio fuente de números aleatorios de la partida
      */
-    public NivelLoader(GestorSonido gestorSonido) {
-        this.gestorSonido = gestorSonido;
+    public NivelLoader(SplittableRandom aleatorio) {
+        this(aleatorio, CatalogoNiveles.obtenerCompartido());
     }
 
-	/**
-	 * Obtiene la posición ajustada desde un elemento XML, restando half y evitando valores negativos.
-	 * @param e Elemento XML con atributos 'x' e 'y'
-	 * @param half Valor a restar para centrar la posición
-	 * @return Posición ajustada y no negativa
-	 */
-	private Posicion obtenerPosicionDesdeXML(Element e, double half) {
-		double x = Double.parseDouble(e.getAttribute("x")) - half;
-		double y = Double.parseDouble(e.getAttribute("y")) - half;
-		if (x < 0) {
-			x = 0;
-		}
-		if (y < 0) {
-			y = 0;
-		}
-		return new Posicion(x, y);
-	}
+    /**
+     * Constructor de NivelLoader que obtiene las plantillas de niveles del catálogo indicado.
+     * @param aleatorio fuente de números aleatorios de la partida
+     * @param catalogo catálogo de plantillas de niveles
+     */
+    public NivelLoader(SplittableRandom aleatorio, CatalogoNiveles catalogo) {
+        this.aleatorio = aleatorio;
+        this.catalogo = catalogo;
+    }
+
+    /**
+     * Obtiene la posición ajustada desde el elemento XML actual, restando half y evitando valores negativos.
+     * @param lector lector XML posicionado sobre un elemento con atributos 'x' e 'y'
+     * @param half Valor a restar para centrar la posición
+     * @return Posición ajustada y no negativa
+     */
+    private static Posicion obtenerPosicionDesdeXML(XMLStreamReader lector, double half) {
+        double x = Double.parseDouble(lector.getAttributeValue(null, "x")) - half;
+        double y = Double.parseDouble(lector.getAttributeValue(null, "y")) - half;
+        if (x < 0) {
+            x = 0;
+        }
+        if (y < 0) {
+            y = 0;
+        }
+        return new Posicion(x, y);
+    }
 
     /**
-     * Carga un nivel desde un archivo XML ubicado en la ruta especificada.
-     * Parsea jugadores, enemigos y bloques, y los agrega al nivel resultante.
+     * Carga un nivel a partir de su número. La plantilla del nivel se obtiene del catálogo, que la lee
+     * una sola vez, y a partir de ella se crea un nivel nuevo con sus jugadores, enemigos y bloques.
      * @param rutaArchivo número de nivel a cargar
      * @return instancia de Nivel cargada con los datos del archivo, o un nivel vacío si hay error
      */
     public Nivel load(int rutaArchivo) {
-        String levelPath = "/niveles/GeneratedLevels/Level" + rutaArchivo + ".xml";
-        Nivel level;
         try {
-            InputStream inputStream = NivelLoader.class.getResourceAsStream(levelPath);
-            if (inputStream == null) {
-				throw new RuntimeException("No se pudo encontrar el archivo de nivel: " + levelPath);
-			}
-
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(inputStream);
-            doc.getDocumentElement().normalize();
-
-            NodeList levelNodes = doc.getElementsByTagName("level");
-            if (levelNodes.getLength() == 0) {
-                return new Nivel(gestorSonido);
-            }
-            level = new Nivel(gestorSonido);
+            return catalogo.obtenerPlantilla(rutaArchivo).instanciar(aleatorio);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new Nivel(aleatorio);
+        }
+    }
 
-            double half = Bloque.ANCHO_BLOQUE / 2.0;
+    /**
+     * Indica si existe el nivel con el número dado, consultando el índice del catálogo.
+     * @param nroNivel número de nivel
+     * @return true si el nivel existe, false en caso contrario
+     */
+    public boolean existeNivel(int nroNivel) {
+        return catalogo.existeNivel(nroNivel);
+    }
 
-            // Jugadores
-            NodeList playerNodes = doc.getElementsByTagName("player");
-            for (int i = 0; i < playerNodes.getLength(); i++) {
-                Element p = (Element) playerNodes.item(i);
-                String id = p.getAttribute("id");
-                Posicion pos = obtenerPosicionDesdeXML(p, half);
-                if ("player1".equalsIgnoreCase(id)) {
-                    level.setPosInicialJugador1(pos);
-                } else if ("player2".equalsIgnoreCase(id)) {
-                    level.setPosInicialJugador2(pos);
-                }
-            }
+    /**
+     * Parsea un nivel en formato XML y devuelve su plantilla. El documento se recorre en una sola pasada
+     * con un lector StAX, sin construir el árbol DOM, por lo que la memoria usada depende solo de la
+     * cantidad de registros del nivel y no del tamaño del documento.
+     * Si el documento no contiene un elemento 'level', devuelve una plantilla vacía.
+     * @param inputStream flujo con el contenido XML
+     * @return plantilla del nivel
+     * @throws XMLStreamException si el XML no se puede parsear
+     */
+    public static PlantillaNivel leerXML(InputStream inputStream) throws XMLStreamException {
+        RegistrosNivel registros = new RegistrosNivel();
+        boolean hayNivel = false;
+        double half = Bloque.ANCHO_BLOQUE / 2.0;
 
-            // Enemigos
-            NodeList enemyNodes = doc.getElementsByTagName("enemy");
-            for (int i = 0; i < enemyNodes.getLength(); i++) {
-                Element enemyElement = (Element) enemyNodes.item(i);
-                String type = enemyElement.getAttribute("type");
-                Posicion pos = obtenerPosicionDesdeXML(enemyElement, half);
-                TanqueEnemigo enemy = crearTanque(type, pos);
-                if (enemy != null) {
-                    level.agregarEnemigo(enemy);
+        XMLStreamReader lector = FABRICA_XML.createXMLStreamReader(inputStream);
+        try {
+            while (lector.hasNext()) {
+                if (lector.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
                 }
-            }
-
-            // Bloques
-            NodeList staticNodes = doc.getElementsByTagName("staticObject");
-            for (int i = 0; i < staticNodes.getLength(); i++) {
-                Element element = (Element) staticNodes.item(i);
-                String type = element.getAttribute("type");
-                Posicion pos = obtenerPosicionDesdeXML(element, half);
-                Bloque block = crearBloque(type, pos);
-                if (block != null) {
-                    level.agregarBloque(block);
+                switch (lector.getLocalName()) {
+                    case "level" -> hayNivel = true;
+                    case "player" -> {
+                        String id = lector.getAttributeValue(null, "id");
+                        Posicion pos = obtenerPosicionDesdeXML(lector, half);
+                        if ("player1".equalsIgnoreCase(id)) {
+                            registros.setPosJugador1(pos);
+                        } else if ("player2".equalsIgnoreCase(id)) {
+                            registros.setPosJugador2(pos);
+                        }
+                    }
+                    case "enemy" -> {
+                        byte tipo = codigoEnemigo(lector.getAttributeValue(null, "type"));
+                        Posicion pos = obtenerPosicionDesdeXML(lector, half);
+                        if (tipo != TIPO_DESCONOCIDO) {
+                            registros.agregarEnemigo(tipo, pos.x(), pos.y());
+                        }
+                    }
+                    case "staticObject" -> {
+                        byte tipo = codigoBloque(lector.getAttributeValue(null, "type"));
+                        Posicion pos = obtenerPosicionDesdeXML(lector, half);
+                        if (tipo != TIPO_DESCONOCIDO) {
+                            registros.agregarBloque(tipo, pos.x(), pos.y());
+                        }
+                    }
+                    default -> {
+                    }
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new Nivel(gestorSonido);
+        } finally {
+            lector.close();
         }
-        return level;
+        if (!hayNivel) {
+            return new RegistrosNivel().construir();
+        }
+        return registros.construir();
+    }
+
+    /**
+     * Crea la fábrica de lectores XML, sin soporte de DTD ni entidades externas.
+     * @return fábrica de lectores StAX
+     */
+    private static XMLInputFactory crearFabricaXML() {
+        XMLInputFactory fabrica = XMLInputFactory.newInstance();
+        fabrica.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        fabrica.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return fabrica;
     }
 
     /**
-     * Método fábrica para crear tanques enemigos según su tipo.
+     * Convierte el tipo de enemigo del XML en su código de plantilla.
      * @param type tipo de enemigo
-     * @param position posición inicial del enemigo
-     * @return instancia de TanqueEnemigo correspondiente, o null si el tipo es desconocido
+     * @return código de tipo, o TIPO_DESCONOCIDO si el tipo es desconocido
      */
-    private TanqueEnemigo crearTanque(String type, Posicion position) {
-		return switch (type) {
-			case "regularEnemy" -> new EnemigoBasico(position, gestorSonido);
-			case "heavyEnemy" -> new EnemigoBlindado(position, gestorSonido);
-			case "fastEnemy" -> new EnemigoRapido(position, gestorSonido);
-			case "powerfulEnemy" -> new EnemigoPotente(position, gestorSonido);
-			default -> {
-				System.err.println("Tipo de enemigo desconocido: " + type);
-				yield null;
-			}
-		};
+    private static byte codigoEnemigo(String type) {
+        return switch (type) {
+            case "regularEnemy" -> PlantillaNivel.ENEMIGO_BASICO;
+            case "heavyEnemy" -> PlantillaNivel.ENEMIGO_BLINDADO;
+            case "fastEnemy" -> PlantillaNivel.ENEMIGO_RAPIDO;
+            case "powerfulEnemy" -> PlantillaNivel.ENEMIGO_POTENTE;
+            default -> {
+                System.err.println("Tipo de enemigo desconocido: " + type);
+                yield TIPO_DESCONOCIDO;
+            }
+        };
     }
 
     /**
-     * Método fábrica para crear bloques según su tipo.
+     * Convierte el tipo de bloque del XML en su código de plantilla.
      * @param type tipo de bloque
-     * @param position posición del bloque
-     * @return instancia de Bloque correspondiente, o null si el tipo es desconocido
+     * @return código de tipo, o TIPO_DESCONOCIDO si el tipo es desconocido
      */
-    private Bloque crearBloque(String type, Posicion position) {
-		return switch (type) {
-			case "brickBlock" -> new BloqueLadrillo(position);
-			case "waterBlock" -> new BloqueAgua(position);
-			case "steelBlock" -> new BloqueAcero(position);
-			case "forestBlock" -> new BloqueBosque(position);
-			case "baseBlock" -> new BloqueBase(position);
-			default -> {
-				System.err.println("Tipo de bloque desconocido: " + type);
-				yield null;
-			}
-		};
+    private static byte codigoBloque(String type) {
+        return switch (type) {
+            case "brickBlock" -> PlantillaNivel.BLOQUE_LADRILLO;
+            case "waterBlock" -> PlantillaNivel.BLOQUE_AGUA;
+            case "steelBlock" -> PlantillaNivel.BLOQUE_ACERO;
+            case "forestBlock" -> PlantillaNivel.BLOQUE_BOSQUE;
+            case "baseBlock" -> PlantillaNivel.BLOQUE_BASE;
+            default -> {
+                System.err.println("Tipo de bloque desconocido: " + type);
+                yield TIPO_DESCONOCIDO;
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,223 @@
+package org.game.niveles;
+
+import org.game.modelo.Posicion;
+import org.game.modelo.entidades.*;
+import org.game.modelo.terreno.TipoBloque;
+
+import java.util.SplittableRandom;
+
+public final class PlantillaNivel {
+    public static final byte BLOQUE_LADRILLO = 0;
+    public static final byte BLOQUE_AGUA = 1;
+    public static final byte BLOQUE_ACERO = 2;
+    public static final byte BLOQUE_BOSQUE = 3;
+    public static final byte BLOQUE_BASE = 4;
+
+    public static final byte ENEMIGO_BASICO = 0;
+    public static final byte ENEMIGO_BLINDADO = 1;
+    public static final byte ENEMIGO_RAPIDO = 2;
+    public static final byte ENEMIGO_POTENTE = 3;
+
+    private final Posicion posJugador1;
+    private final Posicion posJugador2;
+    private final byte[] tiposEnemigo;
+    private final double[] posicionesEnemigos;
+    private final byte[] tiposBloque;
+    private final double[] posicionesBloques;
+    private final Posicion[] posicionEnemigos;
+    private final Posicion[] posicionBloques;
+    private final TipoBloque[] tiposTerreno;
+
+    /**
+     * Crea la descripción inmutable de un nivel: posiciones iniciales de los jugadores y
+     * registros tipados de enemigos y bloques, en el orden en que aparecen en el archivo.
+     * Las posiciones ya están ajustadas a la esquina superior izquierda de cada elemento.
+     * @param posJugador1 posición inicial del Jugador 1, o null si el nivel no la define
+     * @param posJugador2 posición inicial del Jugador 2, o null si el nivel no la define
+     * @param tiposEnemigo tipo de cada enemigo
+     * @param posicionesEnemigos coordenadas x, y intercaladas de cada enemigo
+     * @param tiposBloque tipo de cada bloque
+     * @param posicionesBloques coordenadas x, y intercaladas de cada bloque
+     */
+    PlantillaNivel(Posicion posJugador1, Posicion posJugador2, byte[] tiposEnemigo, double[] posicionesEnemigos, byte[] tiposBloque, double[] posicionesBloques) {
+        if (posicionesEnemigos.length != tiposEnemigo.length * 2 || posicionesBloques.length != tiposBloque.length * 2) {
+            throw new IllegalArgumentException("La cantidad de posiciones no coincide con la cantidad de registros");
+        }
+        this.posJugador1 = posJugador1;
+        this.posJugador2 = posJugador2;
+        this.tiposEnemigo = tiposEnemigo;
+        this.posicionesEnemigos = posicionesEnemigos;
+        this.tiposBloque = tiposBloque;
+        this.posicionesBloques = posicionesBloques;
+        this.posicionEnemigos = crearPosiciones(posicionesEnemigos);
+        this.posicionBloques = crearPosiciones(posicionesBloques);
+        this.tiposTerreno = new TipoBloque[tiposBloque.length];
+        for (int i = 0; i < tiposBloque.length; i++) {
+            tiposTerreno[i] = tipoTerreno(tiposBloque[i]);
+        }
+    }
+
+    /**
+     * Crea las posiciones a partir de coordenadas intercaladas. Como Posicion es inmutable,
+     * las mismas instancias se comparten entre todos los niveles creados desde la plantilla.
+     * @param coordenadas coordenadas x, y intercaladas
+     * @return posiciones en el mismo orden
+     */
+    private static Posicion[] crearPosiciones(double[] coordenadas) {
+        Posicion[] posiciones = new Posicion[coordenadas.length / 2];
+        for (int i = 0; i < posiciones.length; i++) {
+            posiciones[i] = new Posicion(coordenadas[2 * i], coordenadas[2 * i + 1]);
+        }
+        return posiciones;
+    }
+
+    /**
+     * Crea un nivel nuevo, listo para jugar, con los enemigos y bloques de la plantilla.
+     * La plantilla no se modifica, por lo que puede instanciarse cuantas veces se quiera y desde varios hilos.
+     * No lee ni parsea ningún archivo: solo crea los tanques y copia los bloques al terreno a partir de los registros ya decodificados.
+     * @param aleatorio fuente de números aleatorios de la partida
+     * @return nivel nuevo
+     */
+    public Nivel instanciar(SplittableRandom aleatorio) {
+        Nivel nivel = new Nivel(aleatorio, tiposEnemigo.length + 2);
+        nivel.setPosInicialJugador1(posJugador1);
+        nivel.setPosInicialJugador2(posJugador2);
+        for (int i = 0; i < tiposEnemigo.length; i++) {
+            TanqueEnemigo enemigo = crearTanque(tiposEnemigo[i], posicionEnemigos[i], aleatorio);
+            if (enemigo != null) {
+                nivel.agregarEnemigo(enemigo);
+            }
+        }
+        for (int i = 0; i < tiposTerreno.length; i++) {
+            if (tiposTerreno[i] != null) {
+                nivel.agregarBloque(tiposTerreno[i], posicionBloques[i]);
+            }
+        }
+        return nivel;
+    }
+
+    /**
+     * Método fábrica para crear tanques enemigos según su tipo.
+     * @param tipo código de tipo de enemigo
+     * @param posicion posición inicial del enemigo
+     * @param aleatorio fuente de números aleatorios de la partida
+     * @return instancia de TanqueEnemigo correspondiente, o null si el tipo es desconocido
+     */
+    private static TanqueEnemigo crearTanque(byte tipo, Posicion posicion, SplittableRandom aleatorio) {
+        return switch (tipo) {
+            case ENEMIGO_BASICO -> new EnemigoBasico(posicion, aleatorio);
+            case ENEMIGO_BLINDADO -> new EnemigoBlindado(posicion, aleatorio);
+            case ENEMIGO_RAPIDO -> new EnemigoRapido(posicion, aleatorio);
+            case ENEMIGO_POTENTE -> new EnemigoPotente(posicion, aleatorio);
+            default -> {
+                System.err.println("Tipo de enemigo desconocido: " + tipo);
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Convierte un código de bloque en el tipo de bloque del terreno.
+     * @param tipo código de tipo de bloque
+     * @return tipo de bloque correspondiente, o null si el código es desconocido
+     */
+    private static TipoBloque tipoTerreno(byte tipo) {
+        return switch (tipo) {
+            case BLOQUE_LADRILLO -> TipoBloque.LADRILLO;
+            case BLOQUE_AGUA -> TipoBloque.AGUA;
+            case BLOQUE_ACERO -> TipoBloque.ACERO;
+            case BLOQUE_BOSQUE -> TipoBloque.BOSQUE;
+            case BLOQUE_BASE -> TipoBloque.BASE;
+            default -> {
+                System.err.println("Tipo de bloque desconocido: " + tipo);
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Devuelve la posición inicial del Jugador 1.
+     * @return posición inicial, o null si el nivel no la define
+     */
+    public Posicion obtenerPosJugador1() {
+        return posJugador1;
+    }
+
+    /**
+     * Devuelve la posición inicial del Jugador 2.
+     * @return posición inicial, o null si el nivel no la define
+     */
+    public Posicion obtenerPosJugador2() {
+        return posJugador2;
+    }
+
+    /**
+     * Devuelve la cantidad de enemigos del nivel.
+     * @return cantidad de enemigos
+     */
+    public int cantidadEnemigos() {
+        return tiposEnemigo.length;
+    }
+
+    /**
+     * Devuelve el tipo del enemigo indicado.
+     * @param i índice del enemigo
+     * @return código de tipo (ENEMIGO_*)
+     */
+    public byte tipoEnemigo(int i) {
+        return tiposEnemigo[i];
+    }
+
+    /**
+     * Devuelve la coordenada x del enemigo indicado.
+     * @param i índice del enemigo
+     * @return coordenada x
+     */
+    public double xEnemigo(int i) {
+        return posicionesEnemigos[2 * i];
+    }
+
+    /**
+     * Devuelve la coordenada y del enemigo indicado.
+     * @param i índice del enemigo
+     * @return coordenada y
+     */
+    public double yEnemigo(int i) {
+        return posicionesEnemigos[2 * i + 1];
+    }
+
+    /**
+     * Devuelve la cantidad de bloques del nivel.
+     * @return cantidad de bloques
+     */
+    public int cantidadBloques() {
+        return tiposBloque.length;
+    }
+
+    /**
+     * Devuelve el tipo del bloque indicado.
+     * @param i índice del bloque
+     * @return código de tipo (BLOQUE_*)
+     */
+    public byte tipoBloque(int i) {
+        return tiposBloque[i];
+    }
+
+    /**
+     * Devuelve la coordenada x del bloque indicado.
+     * @param i índice del bloque
+     * @return coordenada x
+     */
+    public double xBloque(int i) {
+        return posicionesBloques[2 * i];
+    }
+
+    /**
+     * Devuelve la coordenada y del bloque indicado.
+     * @param i índice del bloque
+     * @return coordenada y
+     */
+    public double yBloque(int i) {
+        return posicionesBloques[2 * i + 1];
+    }
+}
@@ -0,0 +1,93 @@
+package org.game.niveles;
+
+import org.game.modelo.Posicion;
+
+import java.util.Arrays;
+
+class RegistrosNivel {
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private Posicion posJugador1;
+    private Posicion posJugador2;
+    private byte[] tiposEnemigo;
+    private double[] posicionesEnemigos;
+    private int cantEnemigos;
+    private byte[] tiposBloque;
+    private double[] posicionesBloques;
+    private int cantBloques;
+
+    /**
+     * Crea un acumulador vacío de registros de nivel, usado mientras se lee un archivo.
+     */
+    RegistrosNivel() {
+        this.tiposEnemigo = new byte[CAPACIDAD_INICIAL];
+        this.posicionesEnemigos = new double[CAPACIDAD_INICIAL * 2];
+        this.tiposBloque = new byte[CAPACIDAD_INICIAL];
+        this.posicionesBloques = new double[CAPACIDAD_INICIAL * 2];
+    }
+
+    /**
+     * Establece la posición inicial del Jugador 1.
+     * @param posicion posición inicial
+     */
+    void setPosJugador1(Posicion posicion) {
+        this.posJugador1 = posicion;
+    }
+
+    /**
+     * Establece la posición inicial del Jugador 2.
+     * @param posicion posición inicial
+     */
+    void setPosJugador2(Posicion posicion) {
+        this.posJugador2 = posicion;
+    }
+
+    /**
+     * Agrega un enemigo al final de los registros.
+     * @param tipo código de tipo de enemigo
+     * @param x coordenada x
+     * @param y coordenada y
+     */
+    void agregarEnemigo(byte tipo, double x, double y) {
+        if (cantEnemigos == tiposEnemigo.length) {
+            tiposEnemigo = Arrays.copyOf(tiposEnemigo, cantEnemigos * 2);
+            posicionesEnemigos = Arrays.copyOf(posicionesEnemigos, cantEnemigos * 4);
+        }
+        tiposEnemigo[cantEnemigos] = tipo;
+        posicionesEnemigos[2 * cantEnemigos] = x;
+        posicionesEnemigos[2 * cantEnemigos + 1] = y;
+        cantEnemigos++;
+    }
+
+    /**
+     * Agrega un bloque al final de los registros.
+     * @param tipo código de tipo de bloque
+     * @param x coordenada x
+     * @param y coordenada y
+     */
+    void agregarBloque(byte tipo, double x, double y) {
+        if (cantBloques == tiposBloque.length) {
+            tiposBloque = Arrays.copyOf(tiposBloque, cantBloques * 2);
+            posicionesBloques = Arrays.copyOf(posicionesBloques, cantBloques * 4);
+        }
+        tiposBloque[cantBloques] = tipo;
+        posicionesBloques[2 * cantBloques] = x;
+        posicionesBloques[2 * cantBloques + 1] = y;
+        cantBloques++;
+    }
+
+    /**
+     * Construye la plantilla inmutable con los registros acumulados.
+     * @return plantilla del nivel
+     */
+    PlantillaNivel construir() {
+        return new PlantillaNivel(
+                posJugador1,
+                posJugador2,
+                Arrays.copyOf(tiposEnemigo, cantEnemigos),
+                Arrays.copyOf(posicionesEnemigos, cantEnemigos * 2),
+                Arrays.copyOf(tiposBloque, cantBloques),
+                Arrays.copyOf(posicionesBloques, cantBloques * 2)
+        );
+    }
+}
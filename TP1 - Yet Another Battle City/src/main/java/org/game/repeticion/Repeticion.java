@@ -0,0 +1,370 @@
+package org.game.repeticion;
+
+import org.game.modelo.Juego;
+import org.game.modelo.entidades.ModoIA;
+import org.game.modelo.ia.PlanificadorIA;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class Repeticion {
+    public static final String EXTENSION = ".rep";
+    private static final int MAGICO = 0x59414252;
+    private static final short VERSION = 2;
+    private static final ModoIA[] MODOS_IA = ModoIA.values();
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final int MAX_ENTRADA = 0xFF;
+
+    private final int nivelInicial;
+    private final long semilla;
+    private final int cantJugadores;
+    private final double ticksPorSegundo;
+    private final ModoIA modoIA;
+    private final boolean disparoApuntado;
+    private final int decisionesPorTick;
+    private byte[] entradas;
+    private int[] largos;
+    private int cantidadRachas;
+    private long ticks;
+
+    /**
+     * Crea una repetición vacía con los datos necesarios para volver a crear la partida.
+     * Las entradas de cada tick se guardan comprimidas en rachas: una entrada y cuántos ticks seguidos se repitió,
+     * ya que los jugadores suelen mantener la misma tecla durante muchos ticks.
+     * @param nivelInicial número del nivel con el que comienza la partida
+     * @param semilla semilla de la partida
+     * @param cantJugadores cantidad de jugadores (1 o 2)
+     * @param ticksPorSegundo cantidad de ticks por segundo con la que se jugó
+     * @param modoIA modo de la inteligencia de los enemigos
+     * @param disparoApuntado true si los enemigos disparaban solo cuando veían un blanco
+     * @param decisionesPorTick cantidad máxima de decisiones de los enemigos por tick
+     * @throws IllegalArgumentException si la cantidad de jugadores, de ticks por segundo o de decisiones por tick no es válida
+     */
+    public Repeticion(int nivelInicial, long semilla, int cantJugadores, double ticksPorSegundo,
+                      ModoIA modoIA, boolean disparoApuntado, int decisionesPorTick) {
+        if (cantJugadores != 1 && cantJugadores != 2) {
+            throw new IllegalArgumentException("La cantidad de jugadores debe ser 1 o 2");
+        }
+        if (!(ticksPorSegundo > 0)) {
+            throw new IllegalArgumentException("La cantidad de ticks por segundo debe ser positiva");
+        }
+        if (decisionesPorTick <= 0) {
+            throw new IllegalArgumentException("La cantidad de decisiones por tick debe ser positiva");
+        }
+        this.nivelInicial = nivelInicial;
+        this.semilla = semilla;
+        this.cantJugadores = cantJugadores;
+        this.ticksPorSegundo = ticksPorSegundo;
+        this.modoIA = modoIA;
+        this.disparoApuntado = disparoApuntado;
+        this.decisionesPorTick = decisionesPorTick;
+        this.entradas = new byte[CAPACIDAD_INICIAL];
+        this.largos = new int[CAPACIDAD_INICIAL];
+        this.cantidadRachas = 0;
+        this.ticks = 0;
+    }
+
+    /**
+     * Crea una repetición vacía para grabar el juego indicado desde su estado actual, que debe ser el inicial.
+     * Guarda también cómo está configurada la inteligencia de los enemigos, ya que cambia la partida.
+     * @param juego juego recién creado y ya configurado
+     * @param ticksPorSegundo cantidad de ticks por segundo con la que se juega
+     * @return repetición vacía de la partida
+     * @throws IllegalArgumentException si el planificador de la inteligencia tiene presupuesto de tiempo,
+     * ya que entonces las decisiones dependen de la máquina y la partida no se puede reproducir
+     */
+    public static Repeticion grabar(Juego juego, double ticksPorSegundo) {
+        PlanificadorIA planificador = juego.obtenerPlanificadorIA();
+        if (planificador.obtenerPresupuestoNanos() > 0) {
+            throw new IllegalArgumentException("No se puede grabar con un planificador con presupuesto de tiempo");
+        }
+        int cantJugadores = juego.obtenerJugador2() != null ? 2 : 1;
+        return new Repeticion(juego.getNroNivelActual(), juego.obtenerSemilla(), cantJugadores, ticksPorSegundo,
+                juego.obtenerModoIA(), juego.usaDisparoApuntado(), planificador.obtenerDecisionesPorTick());
+    }
+
+    /**
+     * Agrega la entrada de un tick al final de la repetición.
+     * @param entrada entrada codificada con EntradaJugadores
+     * @throws IllegalArgumentException si la entrada no entra en un byte
+     */
+    public void agregar(int entrada) {
+        if (entrada < 0 || entrada > MAX_ENTRADA) {
+            throw new IllegalArgumentException("Entrada inválida: " + entrada);
+        }
+        int ultima = cantidadRachas - 1;
+        if (ultima >= 0 && entradas[ultima] == (byte)entrada && largos[ultima] < Integer.MAX_VALUE) {
+            largos[ultima]++;
+        } else {
+            agregarRacha((byte)entrada, 1);
+        }
+        ticks++;
+    }
+
+    /**
+     * Agrega una racha al final, agrandando los arreglos si hace falta.
+     * @param entrada entrada de la racha
+     * @param largo cantidad de ticks de la racha
+     */
+    private void agregarRacha(byte entrada, int largo) {
+        if (cantidadRachas == entradas.length) {
+            entradas = Arrays.copyOf(entradas, cantidadRachas * 2);
+            largos = Arrays.copyOf(largos, cantidadRachas * 2);
+        }
+        entradas[cantidadRachas] = entrada;
+        largos[cantidadRachas] = largo;
+        cantidadRachas++;
+    }
+
+    /**
+     * Crea un juego nuevo igual al que se grabó, con la misma configuración de la inteligencia y sin entradas aplicadas.
+     * @return juego en su estado inicial
+     */
+    public Juego crearJuego() {
+        Juego juego = new Juego(cantJugadores, semilla, nivelInicial);
+        juego.usarModoIA(modoIA);
+        juego.usarDisparoApuntado(disparoApuntado);
+        juego.usarPlanificadorIA(new PlanificadorIA(decisionesPorTick, 0));
+        return juego;
+    }
+
+    /**
+     * Devuelve el número del nivel con el que comienza la partida.
+     * @return nivel inicial
+     */
+    public int obtenerNivelInicial() {
+        return nivelInicial;
+    }
+
+    /**
+     * Devuelve la semilla de la partida.
+     * @return semilla
+     */
+    public long obtenerSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Devuelve la cantidad de jugadores de la partida.
+     * @return cantidad de jugadores
+     */
+    public int obtenerCantJugadores() {
+        return cantJugadores;
+    }
+
+    /**
+     * Devuelve la cantidad de ticks por segundo con la que se jugó.
+     * @return ticks por segundo
+     */
+    public double obtenerTicksPorSegundo() {
+        return ticksPorSegundo;
+    }
+
+    /**
+     * Devuelve el modo de la inteligencia de los enemigos con el que se jugó.
+     * @return modo de la inteligencia
+     */
+    public ModoIA obtenerModoIA() {
+        return modoIA;
+    }
+
+    /**
+     * Indica si los enemigos disparaban solo cuando veían un blanco.
+     * @return true si se jugó con disparo apuntado
+     */
+    public boolean usaDisparoApuntado() {
+        return disparoApuntado;
+    }
+
+    /**
+     * Devuelve la cantidad máxima de decisiones de los enemigos por tick con la que se jugó.
+     * @return decisiones por tick
+     */
+    public int obtenerDecisionesPorTick() {
+        return decisionesPorTick;
+    }
+
+    /**
+     * Devuelve la cantidad de ticks grabados.
+     * @return cantidad de ticks
+     */
+    public long obtenerTicks() {
+        return ticks;
+    }
+
+    /**
+     * Devuelve la cantidad de rachas en las que se comprimieron los ticks.
+     * @return cantidad de rachas
+     */
+    public int cantidadRachas() {
+        return cantidadRachas;
+    }
+
+    /**
+     * Devuelve la entrada de una racha.
+     * @param racha índice de la racha
+     * @return entrada codificada, entre 0 y 255
+     */
+    public int entrada(int racha) {
+        return entradas[racha] & MAX_ENTRADA;
+    }
+
+    /**
+     * Devuelve cuántos ticks seguidos dura una racha.
+     * @param racha índice de la racha
+     * @return cantidad de ticks
+     */
+    public int largo(int racha) {
+        return largos[racha];
+    }
+
+    /**
+     * Escribe la repetición en formato binario. No cierra el flujo de salida.
+     * Todos los valores de tamaño fijo son big-endian:
+     * <pre>
+     * int    MAGICO ("YABR")
+     * short  VERSION
+     * int    nivel inicial
+     * long   semilla
+     * byte   cantidad de jugadores
+     * double ticks por segundo
+     * byte   modo de la inteligencia (ordinal de ModoIA)
+     * byte   disparo apuntado (1 o 0)
+     * int    decisiones de los enemigos por tick
+     * int    cantidad de rachas, y por cada una: byte entrada, largo en base 128 (7 bits por byte, el bit alto indica que sigue)
+     * </pre>
+     * @param salida flujo donde escribir
+     * @throws IOException si ocurre un error de escritura
+     */
+    public void escribir(OutputStream salida) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(salida));
+        out.writeInt(MAGICO);
+        out.writeShort(VERSION);
+        out.writeInt(nivelInicial);
+        out.writeLong(semilla);
+        out.writeByte(cantJugadores);
+        out.writeDouble(ticksPorSegundo);
+        out.writeByte(modoIA.ordinal());
+        out.writeBoolean(disparoApuntado);
+        out.writeInt(decisionesPorTick);
+        out.writeInt(cantidadRachas);
+        for (int i = 0; i < cantidadRachas; i++) {
+            out.writeByte(entradas[i]);
+            escribirLargo(out, largos[i]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Escribe la repetición en un archivo, reemplazándolo si ya existe.
+     * @param ruta ruta del archivo
+     * @throws IOException si ocurre un error de escritura
+     */
+    public void guardar(Path ruta) throws IOException {
+        try (OutputStream salida = Files.newOutputStream(ruta)) {
+            escribir(salida);
+        }
+    }
+
+    /**
+     * Lee una repetición en formato binario. No cierra el flujo de entrada.
+     * @param entrada flujo desde donde leer
+     * @return repetición leída
+     * @throws IOException si el flujo no contiene una repetición válida
+     */
+    public static Repeticion leer(InputStream entrada) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(entrada));
+        if (in.readInt() != MAGICO) {
+            throw new IOException("El archivo no es una repetición");
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Versión de repetición no soportada: " + version);
+        }
+        int nivelInicial = in.readInt();
+        long semilla = in.readLong();
+        int cantJugadores = in.readUnsignedByte();
+        double ticksPorSegundo = in.readDouble();
+        int modo = in.readUnsignedByte();
+        if (modo >= MODOS_IA.length) {
+            throw new IOException("Modo de inteligencia inválido: " + modo);
+        }
+        boolean disparoApuntado = in.readBoolean();
+        int decisionesPorTick = in.readInt();
+        Repeticion repeticion;
+        try {
+            repeticion = new Repeticion(nivelInicial, semilla, cantJugadores, ticksPorSegundo,
+                    MODOS_IA[modo], disparoApuntado, decisionesPorTick);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Encabezado de repetición inválido: " + e.getMessage(), e);
+        }
+        int cantidad = in.readInt();
+        if (cantidad < 0) {
+            throw new IOException("Cantidad de rachas inválida: " + cantidad);
+        }
+        for (int i = 0; i < cantidad; i++) {
+            byte valor = in.readByte();
+            int largo = leerLargo(in);
+            repeticion.agregarRacha(valor, largo);
+            repeticion.ticks += largo;
+        }
+        return repeticion;
+    }
+
+    /**
+     * Lee una repetición desde un archivo.
+     * @param ruta ruta del archivo
+     * @return repetición leída
+     * @throws IOException si el archivo no existe o no contiene una repetición válida
+     */
+    public static Repeticion cargar(Path ruta) throws IOException {
+        try (InputStream entrada = Files.newInputStream(ruta)) {
+            return leer(entrada);
+        }
+    }
+
+    /**
+     * Escribe un largo positivo en base 128, de a 7 bits por byte empezando por los bajos.
+     * Las rachas cortas, que son las más comunes, ocupan un solo byte.
+     * @param out flujo de salida
+     * @param largo largo a escribir
+     * @throws IOException si ocurre un error de escritura
+     */
+    private static void escribirLargo(DataOutputStream out, int largo) throws IOException {
+        int resto = largo;
+        while ((resto & ~0x7F) != 0) {
+            out.writeByte((resto & 0x7F) | 0x80);
+            resto >>>= 7;
+        }
+        out.writeByte(resto);
+    }
+
+    /**
+     * Lee un largo escrito en base 128 y verifica que sea positivo.
+     * @param in flujo de entrada
+     * @return largo leído
+     * @throws IOException si el largo es inválido o hay un error de lectura
+     */
+    private static int leerLargo(DataInputStream in) throws IOException {
+        int largo = 0;
+        for (int desplazamiento = 0; desplazamiento < Integer.SIZE; desplazamiento += 7) {
+            int b = in.readUnsignedByte();
+            largo |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                if (largo <= 0) {
+                    throw new IOException("Largo de racha inválido: " + largo);
+                }
+                return largo;
+            }
+        }
+        throw new IOException("Largo de racha demasiado grande");
+    }
+}
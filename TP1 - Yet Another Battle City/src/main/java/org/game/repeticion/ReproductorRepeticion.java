@@ -0,0 +1,145 @@
+package org.game.repeticion;
+
+import org.game.controladores.EntradaJugadores;
+import org.game.modelo.EstadoJuego;
+import org.game.modelo.Juego;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class ReproductorRepeticion {
+    private final Repeticion repeticion;
+    private final Juego juego;
+    private final double paso;
+    private int racha;
+    private int usadosEnRacha;
+    private long tick;
+
+    /**
+     * Crea un reproductor que vuelve a jugar la partida grabada sobre un juego nuevo con la misma semilla y el mismo nivel inicial.
+     * Cada tick aplica la entrada grabada y avanza el juego un paso fijo, igual que el bucle de Main al grabar.
+     * @param repeticion repetición a reproducir
+     */
+    public ReproductorRepeticion(Repeticion repeticion) {
+        this.repeticion = repeticion;
+        this.juego = repeticion.crearJuego();
+        this.paso = 1.0 / repeticion.obtenerTicksPorSegundo();
+        this.racha = 0;
+        this.usadosEnRacha = 0;
+        this.tick = 0;
+    }
+
+    /**
+     * Avanza la reproducción un paso. Si el nivel actual fue completado, pasa al siguiente nivel sin consumir entradas,
+     * ya que al grabar solo se guardan los ticks en los que el juego está corriendo.
+     * Los eventos anotados quedan en el buffer del juego para que la vista o el sonido los consuman.
+     * @return true si avanzó, false si la repetición ya terminó
+     */
+    public boolean avanzar() {
+        if (terminada()) {
+            return false;
+        }
+        if (juego.obtenerEstadoJuego() == EstadoJuego.NIVEL_COMPLETO) {
+            juego.avanzarNivel();
+            return true;
+        }
+        juego.guardarPosicionesPrevias();
+        EntradaJugadores.aplicar(juego, siguienteEntrada(), paso);
+        juego.update(paso);
+        tick++;
+        return true;
+    }
+
+    /**
+     * Devuelve la entrada del tick actual y avanza dentro de la racha.
+     * @return entrada codificada
+     */
+    private int siguienteEntrada() {
+        int entrada = repeticion.entrada(racha);
+        usadosEnRacha++;
+        if (usadosEnRacha == repeticion.largo(racha)) {
+            racha++;
+            usadosEnRacha = 0;
+        }
+        return entrada;
+    }
+
+    /**
+     * Avanza sin dibujar ni reproducir sonidos hasta el tick indicado, o hasta que termine la repetición.
+     * Descarta los eventos de cada paso.
+     * @param tickDestino tick hasta el que avanzar
+     * @return cantidad de ticks avanzados
+     */
+    public long avanzarHasta(long tickDestino) {
+        long inicio = tick;
+        while (tick < tickDestino && avanzar()) {
+            juego.obtenerEventos().limpiar();
+        }
+        return tick - inicio;
+    }
+
+    /**
+     * Indica si la repetición terminó, porque se usaron todas las entradas o porque la partida llegó a su fin.
+     * @return true si no quedan pasos por reproducir
+     */
+    public boolean terminada() {
+        EstadoJuego estado = juego.obtenerEstadoJuego();
+        return tick >= repeticion.obtenerTicks() || estado == EstadoJuego.VICTORIA || estado == EstadoJuego.FIN;
+    }
+
+    /**
+     * Devuelve la cantidad de ticks reproducidos.
+     * @return tick actual
+     */
+    public long obtenerTick() {
+        return tick;
+    }
+
+    /**
+     * Devuelve la duración de cada paso de la reproducción.
+     * @return duración del paso en segundos
+     */
+    public double obtenerPaso() {
+        return paso;
+    }
+
+    /**
+     * Devuelve el juego que se está reproduciendo.
+     * @return instancia de Juego
+     */
+    public Juego obtenerJuego() {
+        return juego;
+    }
+
+    /**
+     * Punto de entrada para reproducir una repetición sin interfaz gráfica ni sonido.
+     * Argumentos: ruta del archivo y, opcionalmente, el tick hasta el que reproducir.
+     * @param args argumentos de la línea de comandos
+     * @throws IOException si no se puede leer la repetición
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Uso: ReproductorRepeticion <archivo" + Repeticion.EXTENSION + "> [tick]");
+            return;
+        }
+        Repeticion repeticion = Repeticion.cargar(Path.of(args[0]));
+        long hasta = repeticion.obtenerTicks();
+        if (args.length > 1) {
+            hasta = Long.parseLong(args[1]);
+        }
+
+        ReproductorRepeticion reproductor = new ReproductorRepeticion(repeticion);
+        long inicio = System.nanoTime();
+        reproductor.avanzarHasta(hasta);
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        Juego juego = reproductor.obtenerJuego();
+        System.out.println("Semilla: " + repeticion.obtenerSemilla());
+        System.out.println("Nivel inicial: " + repeticion.obtenerNivelInicial());
+        System.out.println("Ticks reproducidos: " + reproductor.obtenerTick() + " de " + repeticion.obtenerTicks()
+                + " (" + repeticion.cantidadRachas() + " rachas)");
+        System.out.printf("Tiempo de reproducción: %.3f s%n", segundos);
+        System.out.println("Nivel alcanzado: " + juego.getNroNivelActual());
+        System.out.println("Estado final: " + juego.obtenerEstadoJuego());
+    }
+}
@@ -0,0 +1,81 @@
+package org.game.visualizacion;
+
+import javafx.scene.media.AudioClip;
+
+class CanalSonido {
+	private final AudioClip clip;
+	private final LimitadorVoces voces;
+	private final boolean enBucle;
+	private final Runnable accionReproducir;
+	private final Runnable accionDetener;
+	private boolean pendiente;
+
+	/**
+	 * Crea el canal de un sonido. La cantidad de repeticiones del clip se fija una sola vez acá,
+	 * y las acciones que ejecuta el mezclador se crean una vez por canal y se reutilizan.
+	 * @param clip Clip de audio del sonido.
+	 * @param maxVoces Cantidad máxima de voces simultáneas del sonido.
+	 * @param duracionSegundos Duración aproximada del sonido en segundos.
+	 * @param enBucle true si el sonido se repite indefinidamente (música de fondo).
+	 */
+	CanalSonido(AudioClip clip, int maxVoces, double duracionSegundos, boolean enBucle) {
+		this.clip = clip;
+		this.voces = new LimitadorVoces(maxVoces, duracionSegundos);
+		this.enBucle = enBucle;
+		this.clip.setCycleCount(enBucle ? AudioClip.INDEFINITE : 1);
+		this.accionReproducir = clip::play;
+		this.accionDetener = clip::stop;
+		this.pendiente = false;
+	}
+
+	/**
+	 * Indica si el sonido se repite indefinidamente.
+	 * @return true si está en bucle.
+	 */
+	boolean estaEnBucle() {
+		return enBucle;
+	}
+
+	/**
+	 * Marca el canal como pedido en el cuadro actual.
+	 * @return true si no estaba pedido, false si el pedido se juntó con uno anterior del mismo cuadro.
+	 */
+	boolean marcarPendiente() {
+		if (pendiente) {
+			return false;
+		}
+		pendiente = true;
+		return true;
+	}
+
+	/**
+	 * Quita la marca de pedido del cuadro actual.
+	 */
+	void limpiarPendiente() {
+		pendiente = false;
+	}
+
+	/**
+	 * Devuelve el limitador de voces del canal.
+	 * @return limitador de voces
+	 */
+	LimitadorVoces obtenerVoces() {
+		return voces;
+	}
+
+	/**
+	 * Devuelve la acción que reproduce el clip, para ejecutarla en el hilo mezclador.
+	 * @return acción de reproducción
+	 */
+	Runnable obtenerAccionReproducir() {
+		return accionReproducir;
+	}
+
+	/**
+	 * Devuelve la acción que detiene el clip, para ejecutarla en el hilo mezclador.
+	 * @return acción de detención
+	 */
+	Runnable obtenerAccionDetener() {
+		return accionDetener;
+	}
+}
@@ -0,0 +1,109 @@
+package org.game.visualizacion;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+public class GestorFuentes {
+    private static final String FUENTE_ALTERNATIVA = "Monospaced";
+    private static final double MARGEN_CARTEL = 10;
+    private static final double GROSOR_BORDE_CARTEL = 6;
+
+    private final Map<String, String> rutas;
+    private final Map<String, Font> fuentes;
+    private final Map<String, Image> carteles;
+
+    /**
+     * Constructor de GestorFuentes. Registra las tipografías disponibles; cada fuente se carga
+     * una única vez por tamaño, la primera vez que se la pide.
+     */
+    public GestorFuentes() {
+        this.rutas = new HashMap<>();
+        this.fuentes = new HashMap<>();
+        this.carteles = new HashMap<>();
+        rutas.put("TITULO", "/tipografias/BattleCity.ttf");
+        rutas.put("ARCADE", "/tipografias/Arcade.ttf");
+    }
+
+    /**
+     * Obtiene la fuente asociada a la clave con el tamaño indicado.
+     * Si la tipografía no se puede cargar, devuelve una fuente monoespaciada del mismo tamaño.
+     * @param clave Identificador de la tipografía ("TITULO" o "ARCADE")
+     * @param tamanio Tamaño de la fuente
+     * @return Fuente lista para usar
+     */
+    public Font obtenerFuente(String clave, double tamanio) {
+        return fuentes.computeIfAbsent(clave + "@" + tamanio, k -> cargarFuente(clave, tamanio));
+    }
+
+    /**
+     * Carga la fuente desde los recursos del proyecto.
+     * @param clave Identificador de la tipografía
+     * @param tamanio Tamaño de la fuente
+     * @return Fuente cargada, o la fuente alternativa si ocurre un error
+     */
+    private Font cargarFuente(String clave, double tamanio) {
+        String ruta = rutas.get(clave);
+        Font fuente = null;
+        if (ruta != null) {
+            try (InputStream inputStream = GestorFuentes.class.getResourceAsStream(ruta)) {
+                if (inputStream != null) {
+                    fuente = Font.loadFont(inputStream, tamanio);
+                }
+            } catch (Exception e) {
+                System.err.println("Error al cargar la fuente: " + ruta);
+            }
+        }
+        if (fuente == null) {
+            fuente = Font.font(FUENTE_ALTERNATIVA, tamanio);
+        }
+        return fuente;
+    }
+
+    /**
+     * Obtiene la imagen de un cartel con el mensaje escrito en la fuente arcade, relleno verde y borde negro,
+     * sobre fondo transparente. El cartel se dibuja una sola vez y se reutiliza en las llamadas siguientes.
+     * @param mensaje Texto del cartel
+     * @param tamanio Tamaño de la fuente
+     * @return Imagen del cartel
+     */
+    public Image obtenerCartel(String mensaje, double tamanio) {
+        return carteles.computeIfAbsent(mensaje + "@" + tamanio, k -> dibujarCartel(mensaje, tamanio));
+    }
+
+    /**
+     * Dibuja un cartel en un canvas auxiliar y lo convierte en imagen.
+     * La línea base del texto queda a la altura del texto más el margen, con un margen igual a cada lado.
+     * @param mensaje Texto del cartel
+     * @param tamanio Tamaño de la fuente
+     * @return Imagen del cartel
+     */
+    private Image dibujarCartel(String mensaje, double tamanio) {
+        Font fuente = obtenerFuente("ARCADE", tamanio);
+        Text texto = new Text(mensaje);
+        texto.setFont(fuente);
+        double anchoTexto = texto.getLayoutBounds().getWidth();
+        double altoTexto = texto.getLayoutBounds().getHeight();
+
+        Canvas canvas = new Canvas(Math.ceil(anchoTexto + 2 * MARGEN_CARTEL), Math.ceil(altoTexto + 2 * MARGEN_CARTEL));
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFont(fuente);
+        gc.setFill(Color.GREENYELLOW);
+        gc.fillText(mensaje, MARGEN_CARTEL, MARGEN_CARTEL + altoTexto);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(GROSOR_BORDE_CARTEL);
+        gc.strokeText(mensaje, MARGEN_CARTEL, MARGEN_CARTEL + altoTexto);
+
+        SnapshotParameters parametros = new SnapshotParameters();
+        parametros.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(parametros, null);
+    }
+}
@@ -1,27 +1,45 @@
 package org.game.visualizacion;
 
 import javafx.scene.media.AudioClip;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
-public class GestorSonido {
-	private final Map<String, AudioClip> sonidos;
+public class GestorSonido implements SalidaAudio {
+	private static final int CAPACIDAD_ORDENES = 64;
+
+	private final Map<String, CanalSonido> canales;
+	private final List<CanalSonido> pendientes;
+	private final BlockingQueue<Runnable> ordenes;
+	private final Thread mezclador;
 
 	/**
-	 * Constructor de GestorSonido. Inicializa el mapa de sonidos y carga todos los clips necesarios.
+	 * Constructor de GestorSonido. Carga todos los clips necesarios e inicia el hilo mezclador,
+	 * que es el único que llama a play() y stop() para no frenar el hilo de JavaFX.
 	 */
 	public GestorSonido() {
-		sonidos = new HashMap<>();
+		canales = new HashMap<>();
+		pendientes = new ArrayList<>();
+		ordenes = new ArrayBlockingQueue<>(CAPACIDAD_ORDENES);
 		cargarSonidos();
+		mezclador = new Thread(this::mezclar, "mezclador-sonido");
+		mezclador.setDaemon(true);
+		mezclador.start();
 	}
 
 	/**
-	 * Carga un sonido desde el recurso especificado y lo asocia a una clave en el mapa.
+	 * Carga un sonido desde el recurso especificado y crea su canal asociado a una clave.
 	 * Si ocurre un error o el recurso no existe, muestra un mensaje de error.
 	 * @param clave Identificador único para el sonido.
 	 * @param ruta Ruta del recurso de sonido dentro del proyecto.
+	 * @param maxVoces Cantidad máxima de veces que el sonido puede sonar a la vez.
+	 * @param duracionSegundos Duración aproximada del sonido, usada para saber cuándo se libera una voz.
+	 * @param enBucle true si el sonido se repite indefinidamente.
 	 */
-	private void cargarSonido(String clave, String ruta) {
+	private void cargarSonido(String clave, String ruta, int maxVoces, double duracionSegundos, boolean enBucle) {
 		try {
 			java.net.URL url = getClass().getResource(ruta);
 			if (url == null) {
@@ -29,7 +47,7 @@ public class GestorSonido {
 				return;
 			}
 			AudioClip clip = new AudioClip(url.toExternalForm());
-			sonidos.put(clave, clip);
+			canales.put(clave, new CanalSonido(clip, maxVoces, duracionSegundos, enBucle));
 		} catch (Exception e) {
 			System.err.println("Error al cargar el sonido: " + ruta);
 			e.printStackTrace();
@@ -38,41 +56,121 @@ public class GestorSonido {
 
 	/**
 	 * Carga todos los sonidos necesarios para el juego y los almacena en el mapa.
-	 * Asocia cada sonido a una clave identificadora.
+	 * Asocia cada sonido a una clave identificadora, con su límite de voces y su duración aproximada.
 	 */
 	private void cargarSonidos() {
-		cargarSonido("DESTRUCCION_BASE", "/sonidos/DestruccionBase.mp3");
-		cargarSonido("DISPARO", "/sonidos/Disparo.mp3");
-		cargarSonido("IMPACTO_LADRILLO", "/sonidos/ImpactoLadrillo.mp3");
-		cargarSonido("IMPACTO_TANQUE_BLINDADO", "/sonidos/ImpactoTanqueBlindado.mp3");
-		cargarSonido("MUERTE_TANQUE", "/sonidos/MuerteTanque.mp3");
-		cargarSonido("MUSICA_FONDO", "/sonidos/MusicaFondo.mp3");
+		cargarSonido("DESTRUCCION_BASE", "/sonidos/DestruccionBase.mp3", 1, 3.8, false);
+		cargarSonido("DISPARO", "/sonidos/Disparo.mp3", 4, 0.95, false);
+		cargarSonido("IMPACTO_LADRILLO", "/sonidos/ImpactoLadrillo.mp3", 3, 1.5, false);
+		cargarSonido("IMPACTO_TANQUE_BLINDADO", "/sonidos/ImpactoTanqueBlindado.mp3", 2, 1.0, false);
+		cargarSonido("MUERTE_TANQUE", "/sonidos/MuerteTanque.mp3", 3, 0.85, false);
+		cargarSonido("MUSICA_FONDO", "/sonidos/MusicaFondo.mp3", 1, Double.MAX_VALUE, true);
+	}
+
+	/**
+	 * Bucle del hilo mezclador: ejecuta las órdenes de reproducción y detención a medida que llegan.
+	 */
+	private void mezclar() {
+		try {
+			while (true) {
+				ordenes.take().run();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Envía una orden al hilo mezclador. Si la cola está llena la orden se descarta en lugar de esperar.
+	 * @param orden Orden a ejecutar.
+	 * @return true si la orden se encoló, false si se descartó.
+	 */
+	private boolean enviar(Runnable orden) {
+		return ordenes.offer(orden);
+	}
+
+	/**
+	 * Envía la reproducción del canal si le queda alguna voz libre. La voz se ocupa solo si la orden llegó
+	 * a encolarse, para que un pedido descartado no la retenga (en la música, para siempre).
+	 * @param canal Canal del sonido.
+	 * @param ahora Instante actual en nanosegundos.
+	 */
+	private void reproducirCanal(CanalSonido canal, long ahora) {
+		LimitadorVoces voces = canal.obtenerVoces();
+		if (voces.hayVozLibre(ahora) && enviar(canal.obtenerAccionReproducir())) {
+			voces.ocupar(ahora);
+		}
 	}
 
 	/**
-	 * Reproduce el sonido asociado a la clave indicada. Si es música de fondo, la reproduce en bucle.
+	 * Pide reproducir el sonido asociado a la clave indicada. Los efectos se juntan hasta el final del cuadro,
+	 * de modo que varios pedidos del mismo sonido en un cuadro suenan una sola vez. La música en bucle
+	 * se envía en el momento, ya que se pide fuera del bucle de juego.
 	 * @param clave Identificador del sonido a reproducir.
 	 */
+	@Override
 	public void reproducir(String clave) {
-		AudioClip clip = sonidos.get(clave);
-		if (clip != null) {
-			if ("MUSICA_FONDO".equals(clave)) {
-				clip.setCycleCount(AudioClip.INDEFINITE);
-			} else {
-				clip.setCycleCount(1);
-			}
-			clip.play();
+		CanalSonido canal = canales.get(clave);
+		if (canal == null) {
+			return;
+		}
+		if (canal.estaEnBucle()) {
+			reproducirCanal(canal, System.nanoTime());
+		} else if (canal.marcarPendiente()) {
+			pendientes.add(canal);
 		}
 	}
 
 	/**
-	 * Detiene la reproducción del sonido asociado a la clave indicada.
+	 * Detiene la reproducción del sonido asociado a la clave indicada y libera sus voces.
 	 * @param clave Identificador del sonido a detener.
 	 */
+	@Override
 	public void detener(String clave) {
-		AudioClip clip = sonidos.get(clave);
-		if (clip != null) {
-			clip.stop();
+		CanalSonido canal = canales.get(clave);
+		if (canal != null) {
+			if (pendientes.remove(canal)) {
+				canal.limpiarPendiente();
+			}
+			canal.obtenerVoces().liberar();
+			enviar(canal.obtenerAccionDetener());
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Envía al mezclador los efectos pedidos durante el cuadro. Cada sonido suena a lo sumo una vez por cuadro
+	 * y solo si le queda alguna voz libre; si no, el pedido se descarta.
+	 */
+	@Override
+	public void finalizarCuadro() {
+		long ahora = System.nanoTime();
+		for (int i = 0; i < pendientes.size(); i++) {
+			CanalSonido canal = pendientes.get(i);
+			canal.limpiarPendiente();
+			reproducirCanal(canal, ahora);
+		}
+		pendientes.clear();
+	}
+
+	/**
+	 * Devuelve la cantidad de voces del sonido que siguen sonando.
+	 * @param clave Identificador del sonido.
+	 * @return cantidad de voces activas, o 0 si la clave no existe.
+	 */
+	public int obtenerVocesActivas(String clave) {
+		CanalSonido canal = canales.get(clave);
+		if (canal == null) {
+			return 0;
+		}
+		return canal.obtenerVoces().activas(System.nanoTime());
+	}
+
+	/**
+	 * Detiene el hilo mezclador. Las órdenes que no llegaron a ejecutarse se descartan.
+	 */
+	@Override
+	public void cerrar() {
+		mezclador.interrupt();
+		ordenes.clear();
+	}
+}
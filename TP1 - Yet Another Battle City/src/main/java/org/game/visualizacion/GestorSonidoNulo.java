@@ -0,0 +1,35 @@
+package org.game.visualizacion;
+
+public class GestorSonidoNulo implements SalidaAudio {
+	/**
+	 * Constructor de GestorSonidoNulo. No carga ningún clip ni inicia ningún hilo, por lo que puede usarse
+	 * sin el toolkit multimedia de JavaFX (por ejemplo, en simulaciones sin pantalla).
+	 */
+	public GestorSonidoNulo() {}
+
+	/**
+	 * No reproduce nada.
+	 * @param clave Identificador del sonido a reproducir.
+	 */
+	@Override
+	public void reproducir(String clave) {}
+
+	/**
+	 * No detiene nada.
+	 * @param clave Identificador del sonido a detener.
+	 */
+	@Override
+	public void detener(String clave) {}
+
+	/**
+	 * No hay pedidos que enviar.
+	 */
+	@Override
+	public void finalizarCuadro() {}
+
+	/**
+	 * No hay recursos que liberar.
+	 */
+	@Override
+	public void cerrar() {}
+}
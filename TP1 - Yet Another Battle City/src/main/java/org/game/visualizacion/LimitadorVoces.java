@@ -0,0 +1,69 @@
+package org.game.visualizacion;
+
+import java.util.Arrays;
+
+public class LimitadorVoces {
+	private final long duracionNanos;
+	private final long[] inicios;
+	private int siguiente;
+
+	/**
+	 * Crea un limitador que deja sonar a la vez como máximo la cantidad de voces indicada de un mismo sonido.
+	 * Guarda cuándo empezó cada voz en un arreglo circular: una voz queda libre cuando pasó la duración del sonido.
+	 * @param maxVoces Cantidad máxima de voces simultáneas.
+	 * @param duracionSegundos Duración aproximada del sonido en segundos.
+	 */
+	public LimitadorVoces(int maxVoces, double duracionSegundos) {
+		this.duracionNanos = (long)(duracionSegundos * 1_000_000_000L);
+		this.inicios = new long[Math.max(1, maxVoces)];
+		Arrays.fill(inicios, Long.MIN_VALUE);
+		this.siguiente = 0;
+	}
+
+	/**
+	 * Indica si hay alguna voz libre en el instante indicado, sin ocuparla.
+	 * @param ahoraNanos Instante actual en nanosegundos.
+	 * @return true si se puede ocupar una voz.
+	 */
+	public boolean hayVozLibre(long ahoraNanos) {
+		long inicioMasViejo = inicios[siguiente];
+		return inicioMasViejo == Long.MIN_VALUE || ahoraNanos - inicioMasViejo >= duracionNanos;
+	}
+
+	/**
+	 * Ocupa una voz si hay alguna libre en el instante indicado.
+	 * @param ahoraNanos Instante actual en nanosegundos.
+	 * @return true si se ocupó una voz, false si ya suenan todas.
+	 */
+	public boolean ocupar(long ahoraNanos) {
+		if (!hayVozLibre(ahoraNanos)) {
+			return false;
+		}
+		inicios[siguiente] = ahoraNanos;
+		siguiente = (siguiente + 1) % inicios.length;
+		return true;
+	}
+
+	/**
+	 * Cuenta las voces que siguen sonando en el instante indicado.
+	 * @param ahoraNanos Instante actual en nanosegundos.
+	 * @return cantidad de voces ocupadas.
+	 */
+	public int activas(long ahoraNanos) {
+		int total = 0;
+		for (long inicio: inicios) {
+			if (inicio != Long.MIN_VALUE && ahoraNanos - inicio < duracionNanos) {
+				total++;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Libera todas las voces, por ejemplo al detener el sonido.
+	 */
+	public void liberar() {
+		Arrays.fill(inicios, Long.MIN_VALUE);
+		siguiente = 0;
+	}
+}
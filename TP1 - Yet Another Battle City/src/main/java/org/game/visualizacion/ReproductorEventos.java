@@ -0,0 +1,44 @@
+package org.game.visualizacion;
+
+import org.game.modelo.ConsumidorEventos;
+import org.game.modelo.TipoEvento;
+import org.game.modelo.terreno.TipoBloque;
+
+public class ReproductorEventos implements ConsumidorEventos {
+	private final SalidaAudio salidaAudio;
+
+	/**
+	 * Crea un consumidor que traduce los eventos del juego a sonidos.
+	 * @param salidaAudio Salida de audio con la que reproducirlos.
+	 */
+	public ReproductorEventos(SalidaAudio salidaAudio) {
+		this.salidaAudio = salidaAudio;
+	}
+
+	/**
+	 * Reproduce el sonido que corresponde al evento, si tiene uno.
+	 * @param tipo Tipo del evento.
+	 * @param x Coordenada X del evento.
+	 * @param y Coordenada Y del evento.
+	 * @param dato Dato adicional del evento.
+	 */
+	@Override
+	public void procesar(TipoEvento tipo, int x, int y, int dato) {
+		switch (tipo) {
+			case DISPARO -> salidaAudio.reproducir("DISPARO");
+			case BLOQUE_IMPACTADO -> {
+				if (dato == TipoBloque.LADRILLO.ordinal()) {
+					salidaAudio.reproducir("IMPACTO_LADRILLO");
+				}
+			}
+			case BASE_DESTRUIDA -> salidaAudio.reproducir("DESTRUCCION_BASE");
+			case TANQUE_IMPACTADO -> {
+				if (dato == 1) {
+					salidaAudio.reproducir("IMPACTO_TANQUE_BLINDADO");
+				}
+			}
+			case TANQUE_DESTRUIDO -> salidaAudio.reproducir("MUERTE_TANQUE");
+			default -> { }
+		}
+	}
+}
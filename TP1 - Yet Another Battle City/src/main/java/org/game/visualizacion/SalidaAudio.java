@@ -0,0 +1,26 @@
+package org.game.visualizacion;
+
+public interface SalidaAudio {
+	/**
+	 * Pide reproducir el sonido asociado a la clave. Los pedidos de un mismo cuadro se juntan
+	 * y se envían al terminar el cuadro.
+	 * @param clave Identificador del sonido a reproducir.
+	 */
+	void reproducir(String clave);
+
+	/**
+	 * Detiene el sonido asociado a la clave y descarta sus pedidos pendientes.
+	 * @param clave Identificador del sonido a detener.
+	 */
+	void detener(String clave);
+
+	/**
+	 * Envía los sonidos pedidos durante el cuadro, una sola vez por sonido y respetando su límite de voces.
+	 */
+	void finalizarCuadro();
+
+	/**
+	 * Libera los recursos de la salida de audio. Luego de cerrarla no vuelve a sonar nada.
+	 */
+	void cerrar();
+}
@@ -1,21 +1,24 @@
 package org.game.visualizacion;
 
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import org.game.modelo.Direccion;
 import org.game.modelo.EstadoJuego;
 import org.game.modelo.Juego;
 import org.game.modelo.entidades.Tanque;
-import org.game.modelo.terreno.TanqueDestruido;
 import org.game.modelo.powerups.PowerUp;
 import org.game.modelo.terreno.Bloque;
+import org.game.modelo.terreno.Terreno;
+import org.game.modelo.terreno.TipoBloque;
 import org.game.modelo.entidades.Bala;
+import org.game.modelo.entidades.PoolBalas;
 import org.game.modelo.ConstantesTablero;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.game.niveles.Nivel;
 
 public class VistaJuego extends Pane {
     private static final long DURACION_CARTEL = 2000;
@@ -24,38 +27,53 @@ public class VistaJuego extends Pane {
     private static final String MENSAJE_VICTORIA = "VICTORY";
     private static final String MENSAJE_DERROTA = "DEFEAT";
     private static final String MENSAJE_NIVEL = "LEVEL ";
+    private static final double DISTANCIA_MAXIMA_INTERPOLACION = Bloque.ANCHO_BLOQUE;
 
-    private List<Tanque> tanquesVivosPrevio;
     private String mensajeFin;
     private final Juego modeloJuego;
     private final Canvas canvas;
     private final GestorImagen gestorImagen;
+    private final GestorFuentes gestorFuentes;
+    private final Canvas canvasTerreno;
+    private final WritableImage imagenTerreno;
+    private final SnapshotParameters parametrosTerreno;
+    private Nivel nivelTerreno;
     private boolean nivelAvanzado;
     private boolean mostrandoCartelNivel;
     private boolean enTransicionFin;
     private long tiempoCartelNivel;
     private long tiempoInicioTransicionFin;
     private int proximoNivel;
+    private double alfa;
 
     /**
      * Constructor de la clase VistaJuego.
      * Inicializa las variables necesarias y configura el canvas para el dibujo.
      * @param modeloJuego El modelo del juego que contiene la lógica y datos del mismo
      * @param gestorImagen El gestor de imágenes encargado de cargar y proporcionar las imágenes para el juego
+     * @param gestorFuentes El gestor de fuentes usado para los carteles centrales
      */
-    public VistaJuego(Juego modeloJuego, GestorImagen gestorImagen) {
-        this.tanquesVivosPrevio = new ArrayList<>();
+    public VistaJuego(Juego modeloJuego, GestorImagen gestorImagen, GestorFuentes gestorFuentes) {
         this.mensajeFin = null;
         this.modeloJuego = modeloJuego;
         this.canvas = new Canvas(ConstantesTablero.ANCHO_SUBTABLERO, ConstantesTablero.ALTURA_SUBTABLERO);
         this.gestorImagen = gestorImagen;
+        this.gestorFuentes = gestorFuentes;
+        this.canvasTerreno = new Canvas(ConstantesTablero.ANCHO_SUBTABLERO, ConstantesTablero.ALTURA_SUBTABLERO);
+        this.imagenTerreno = new WritableImage(ConstantesTablero.ANCHO_SUBTABLERO, ConstantesTablero.ALTURA_SUBTABLERO);
+        this.parametrosTerreno = new SnapshotParameters();
+        this.parametrosTerreno.setFill(Color.TRANSPARENT);
+        this.nivelTerreno = null;
         this.nivelAvanzado = false;
         this.mostrandoCartelNivel = false;
         this.enTransicionFin = false;
         this.tiempoCartelNivel = 0;
         this.tiempoInicioTransicionFin = 0;
         this.proximoNivel = -1;
+        this.alfa = 1.0;
         getChildren().add(canvas);
+        gestorFuentes.obtenerCartel(MENSAJE_VICTORIA, TAMANIO_MENSAJE_CENTRAL);
+        gestorFuentes.obtenerCartel(MENSAJE_DERROTA, TAMANIO_MENSAJE_CENTRAL);
     }
 
     /**
@@ -86,11 +104,21 @@ public class VistaJuego extends Pane {
         mensajeFin = null;
     }
 
+    /**
+     * Renderiza todos los elementos visuales del juego en el estado del último paso de física.
+     */
+    public void render() {
+        render(1.0);
+    }
+
     /**
      * Renderiza todos los elementos visuales del juego: fondo, tanques, power-ups, bloques y balas.
      * También gestiona la visualización de mensajes centrales y transiciones.
+     * Los tanques y las balas se dibujan interpolando entre su posición previa y la actual.
+     * @param alfa fracción del paso de física transcurrida desde el último paso (entre 0 y 1)
      */
-    public void render() {
+    public void render(double alfa) {
+        this.alfa = alfa;
         if (manejarTransicionNivel()) {
             return;
         }
@@ -110,7 +138,6 @@ public class VistaJuego extends Pane {
         dibujarTanqueRotado(modeloJuego.obtenerJugador2(), gc);
         dibujarPowerUps(gc);
         dibujarBloques(gc);
-        actualizarTanquesDestruidos();
         dibujarBalas(gc);
         gc.restore();
     }
@@ -196,28 +223,6 @@ public class VistaJuego extends Pane {
         gc.save();
     }
 
-    /**
-     * Actualiza la lista de tanques destruidos para mostrar la animación o sprite correspondiente en el tablero.
-     */
-    private void actualizarTanquesDestruidos() {
-        List<Tanque> tanquesActuales = modeloJuego.obtenerNivelActual().obtenerTanques();
-        for (Tanque tanquePrevio: tanquesVivosPrevio) {
-            boolean sigueVivo = false;
-            for (Tanque tanqueActual: tanquesActuales) {
-                if (tanqueActual == tanquePrevio) {
-                    sigueVivo = true;
-                    break;
-                }
-            }
-            if (!sigueVivo) {
-                modeloJuego.obtenerNivelActual().obtenerBloques().add(
-                    new TanqueDestruido(tanquePrevio.obtenerPosicion())
-                );
-            }
-        }
-        tanquesVivosPrevio = new ArrayList<>(tanquesActuales);
-    }
-
     /**
      * Dibuja todos los tanques vivos en el tablero.
      * @param gc Contexto gráfico sobre el que dibujar
@@ -231,35 +236,124 @@ public class VistaJuego extends Pane {
     }
 
     /**
-     * Dibuja todos los bloques del tablero de juego.
+     * Dibuja todos los bloques del tablero de juego a partir de la capa de terreno precalculada.
+     * La capa se regenera por completo al cambiar de nivel y, en el resto de los frames,
+     * solo se vuelven a dibujar las celdas donde se agregó o destruyó un bloque.
      * @param gc Contexto gráfico sobre el que dibujar
      */
     private void dibujarBloques(GraphicsContext gc) {
-        for (Bloque bloque: modeloJuego.obtenerNivelActual().obtenerBloques()) {
-            gc.drawImage(
-                    gestorImagen.obtenerImagen(bloque.obtenerClaveImagen()),
-                    bloque.obtenerPosicion().x(),
-                    bloque.obtenerPosicion().y(),
-                    bloque.getAncho(),
-                    bloque.getAlto()
-            );
+        Nivel nivel = modeloJuego.obtenerNivelActual();
+        if (nivel != nivelTerreno) {
+            redibujarTerreno(nivel);
+        } else if (nivel.obtenerTerreno().hayModificaciones()) {
+            redibujarCeldasModificadas(nivel);
+        }
+        gc.drawImage(imagenTerreno, 0, 0);
+    }
+
+    /**
+     * Dibuja todos los bloques del nivel en la capa de terreno, leyendo las celdas del terreno
+     * directamente y luego los bloques sueltos.
+     * @param nivel Nivel cuyo terreno se dibuja
+     */
+    private void redibujarTerreno(Nivel nivel) {
+        GraphicsContext gcTerreno = canvasTerreno.getGraphicsContext2D();
+        gcTerreno.clearRect(0, 0, canvasTerreno.getWidth(), canvasTerreno.getHeight());
+        Terreno terreno = nivel.obtenerTerreno();
+        for (int celda = 0; celda < terreno.cantidadCeldas(); celda++) {
+            if (terreno.ocupada(celda)) {
+                dibujarCelda(terreno, celda, gcTerreno);
+            }
+        }
+        for (Bloque bloque: nivel.obtenerBloquesSueltos()) {
+            dibujarBloque(bloque, gcTerreno);
         }
+        terreno.limpiarModificaciones();
+        nivelTerreno = nivel;
+        canvasTerreno.snapshot(parametrosTerreno, imagenTerreno);
     }
 
     /**
-     * Dibuja todas las balas activas en el tablero de juego.
+     * Vuelve a dibujar en la capa de terreno solo las celdas marcadas como modificadas.
+     * Como un bloque puede sobresalir de su celda, también se dibujan los de las celdas vecinas que la tocan.
+     * @param nivel Nivel cuyo terreno se actualiza
+     */
+    private void redibujarCeldasModificadas(Nivel nivel) {
+        GraphicsContext gcTerreno = canvasTerreno.getGraphicsContext2D();
+        Terreno terreno = nivel.obtenerTerreno();
+        int tamanio = Terreno.TAMANIO_CELDA;
+        for (int fila = 0; fila < Terreno.FILAS; fila++) {
+            for (int columna = 0; columna < Terreno.COLUMNAS; columna++) {
+                if (terreno.consumirCeldaModificada(columna, fila)) {
+                    int x = columna * tamanio;
+                    int y = fila * tamanio;
+                    gcTerreno.save();
+                    gcTerreno.beginPath();
+                    gcTerreno.rect(x, y, tamanio, tamanio);
+                    gcTerreno.clip();
+                    gcTerreno.clearRect(x, y, tamanio, tamanio);
+                    for (int f = Math.max(0, fila - 1); f <= Math.min(Terreno.FILAS - 1, fila + 1); f++) {
+                        for (int c = Math.max(0, columna - 1); c <= Math.min(Terreno.COLUMNAS - 1, columna + 1); c++) {
+                            int celda = Terreno.celda(c, f);
+                            if (terreno.intersecta(celda, x, y, tamanio, tamanio)) {
+                                dibujarCelda(terreno, celda, gcTerreno);
+                            }
+                        }
+                    }
+                    for (Bloque bloque: nivel.bloquesSueltosEnArea(x, y, tamanio, tamanio)) {
+                        dibujarBloque(bloque, gcTerreno);
+                    }
+                    gcTerreno.restore();
+                }
+            }
+        }
+        terreno.limpiarModificaciones();
+        canvasTerreno.snapshot(parametrosTerreno, imagenTerreno);
+    }
+
+    /**
+     * Dibuja el bloque guardado en una celda del terreno, sin crear el objeto Bloque.
+     * @param terreno Terreno del nivel
+     * @param celda Índice de la celda
+     * @param gc Contexto gráfico sobre el que dibujar
+     */
+    private void dibujarCelda(Terreno terreno, int celda, GraphicsContext gc) {
+        TipoBloque tipo = terreno.tipo(celda);
+        gc.drawImage(
+                gestorImagen.obtenerImagen(tipo.obtenerClaveImagen()),
+                terreno.x(celda),
+                terreno.y(celda),
+                tipo.obtenerAncho(),
+                tipo.obtenerAlto()
+        );
+    }
+
+    /**
+     * Dibuja un bloque en su posición.
+     * @param bloque Bloque a dibujar
+     * @param gc Contexto gráfico sobre el que dibujar
+     */
+    private void dibujarBloque(Bloque bloque, GraphicsContext gc) {
+        gc.drawImage(
+                gestorImagen.obtenerImagen(bloque.obtenerClaveImagen()),
+                bloque.obtenerPosicion().x(),
+                bloque.obtenerPosicion().y(),
+                bloque.getAncho(),
+                bloque.getAlto()
+        );
+    }
+
+    /**
+     * Dibuja todas las balas activas en el tablero de juego, con la imagen que indica cada bala.
      * @param gc Contexto gráfico sobre el que dibujar
      */
     private void dibujarBalas(GraphicsContext gc) {
-        for (Bala bala: modeloJuego.obtenerNivelActual().obtenerBalas()) {
-            if (bala.estaActiva()) {
-                gc.drawImage(
-                        gestorImagen.obtenerImagen(bala.obtenerClaveImagen()),
-                        bala.obtenerPosicion().x(),
-                        bala.obtenerPosicion().y(),
-                        Bala.ANCHO_BALA,
-                        Bala.ALTURA_BALA
-                );
+        PoolBalas balas = modeloJuego.obtenerNivelActual().obtenerPoolBalas();
+        for (int i = 0; i < balas.cantidad(); i++) {
+            int bala = balas.obtenerIndice(i);
+            if (balas.activa(bala)) {
+                Image imagen = gestorImagen.obtenerImagen(balas.obtenerBala(bala).obtenerClaveImagen());
+                gc.drawImage(imagen, interpolar(balas.xPrevia(bala), balas.x(bala)), interpolar(balas.yPrevia(bala), balas.y(bala)), Bala.ANCHO_BALA, Bala.ALTURA_BALA);
             }
         }
     }
@@ -289,8 +383,8 @@ public class VistaJuego extends Pane {
         if (tanque != null && tanque.estaVivo()) {
             var imagenTanque = gestorImagen.obtenerImagen(tanque.obtenerClaveImagen());
             var imagenAnillo = gestorImagen.obtenerImagen("ANILLO");
-            double x = tanque.obtenerPosicion().x();
-            double y = tanque.obtenerPosicion().y();
+            double x = interpolar(tanque.obtenerXPrevia(), tanque.obtenerX());
+            double y = interpolar(tanque.obtenerYPrevia(), tanque.obtenerY());
             double ancho = Bloque.ANCHO_TANQUE;
             double alto = Bloque.ALTURA_TANQUE;
             double centroX = x + Bloque.ANCHO_BLOQUE / 2.0;
@@ -307,6 +401,20 @@ public class VistaJuego extends Pane {
         }
     }
 
+    /**
+     * Interpola una coordenada entre su valor en el paso anterior y el actual según el alfa del cuadro.
+     * Si el salto es mayor que un bloque (por ejemplo, al reaparecer) se usa directamente el valor actual.
+     * @param previa Coordenada en el paso anterior
+     * @param actual Coordenada en el paso actual
+     * @return Coordenada a dibujar
+     */
+    private double interpolar(double previa, double actual) {
+        if (Math.abs(actual - previa) > DISTANCIA_MAXIMA_INTERPOLACION) {
+            return actual;
+        }
+        return previa + (actual - previa) * alfa;
+    }
+
     /**
      * Devuelve el ángulo de rotación en grados correspondiente a la dirección indicada.
      * Si la dirección es null, retorna 0.
@@ -326,7 +434,7 @@ public class VistaJuego extends Pane {
     }
 
     /**
-     * Muestra un mensaje central en pantalla.
+     * Muestra un mensaje central en pantalla usando el cartel precalculado por el gestor de fuentes.
      * Limpia la lista de tanques vivos previos para evitar duplicados visuales.
      * @param mensaje Mensaje a mostrar en el centro de la pantalla
      */
@@ -337,23 +445,10 @@ public class VistaJuego extends Pane {
         gc.setFill(javafx.scene.paint.Color.BLACK);
         gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
         gc.setGlobalAlpha(1.0);
-        javafx.scene.text.Font fuenteArcade = javafx.scene.text.Font.loadFont(getClass().getResourceAsStream("/tipografias/Arcade.ttf"), TAMANIO_MENSAJE_CENTRAL);
-        if (fuenteArcade == null) {
-            fuenteArcade = javafx.scene.text.Font.font("Monospaced", TAMANIO_MENSAJE_CENTRAL);
-        }
-        gc.setFont(fuenteArcade);
-        javafx.scene.text.Text text = new javafx.scene.text.Text(mensaje);
-        text.setFont(fuenteArcade);
-        double textWidth = text.getLayoutBounds().getWidth();
-        double textHeight = text.getLayoutBounds().getHeight();
-        double x = (canvas.getWidth() - textWidth) / 2;
-        double y = (canvas.getHeight() + textHeight) / 2 - 20;
-        gc.setFill(Color.GREENYELLOW);
-        gc.fillText(mensaje, x, y);
-        gc.setStroke(Color.BLACK);
-        gc.setLineWidth(6);
-        gc.strokeText(mensaje, x, y);
+        Image cartel = gestorFuentes.obtenerCartel(mensaje, TAMANIO_MENSAJE_CENTRAL);
+        double x = (canvas.getWidth() - cartel.getWidth()) / 2;
+        double y = (canvas.getHeight() - cartel.getHeight()) / 2 - 20;
+        gc.drawImage(cartel, x, y);
         gc.restore();
-        tanquesVivosPrevio.clear();
     }
 }
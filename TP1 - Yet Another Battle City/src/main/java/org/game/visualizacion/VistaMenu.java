@@ -28,13 +28,14 @@ public class VistaMenu extends VBox {
      * Constructor de VistaMenu. Inicializa el menú principal, carga fuentes, logo y configura las opciones.
      * También gestiona el manejo de eventos de teclado para la navegación y selección.
      * @param gestorImagen Gestor de imágenes para obtener el logo
+     * @param gestorFuentes Gestor de fuentes para obtener las tipografías del menú
      */
-	public VistaMenu(GestorImagen gestorImagen) {
+	public VistaMenu(GestorImagen gestorImagen, GestorFuentes gestorFuentes) {
         this.textos = new String[]{"1 PLAYER", "2 PLAYERS", "EXIT"};
         this.indiceSeleccionado = 0;
 
-		Font fuenteTitulo = Font.loadFont(getClass().getResourceAsStream("/tipografias/BattleCity.ttf"), TAMANIO_TITULO);
-		Font fuenteRetro = Font.loadFont(getClass().getResourceAsStream("/tipografias/Arcade.ttf"), TAMANIO_OPCIONES);
+		Font fuenteTitulo = gestorFuentes.obtenerFuente("TITULO", TAMANIO_TITULO);
+		Font fuenteRetro = gestorFuentes.obtenerFuente("ARCADE", TAMANIO_OPCIONES);
 
         ImageView vistaLogo = new ImageView();
         Image logo = gestorImagen.obtenerImagen("LOGO");
@@ -43,11 +44,7 @@ public class VistaMenu extends VBox {
         vistaLogo.setPreserveRatio(true);
 
         Label titulo = new Label(TITULO);
-        if (fuenteTitulo != null) {
-            titulo.setFont(fuenteTitulo);
-        } else {
-            titulo.setFont(Font.font("Monospaced", TAMANIO_TITULO));
-        }
+        titulo.setFont(fuenteTitulo);
         titulo.setTextFill(Color.GREENYELLOW);
         titulo.setAlignment(Pos.CENTER);
         titulo.setMinWidth(320);
@@ -57,11 +54,7 @@ public class VistaMenu extends VBox {
         opciones = new Label[textos.length];
         for (int i = 0; i < textos.length; i++) {
             opciones[i] = new Label();
-            if (fuenteRetro != null) {
-                opciones[i].setFont(fuenteRetro);
-            } else {
-                opciones[i].setFont(Font.font("Monospaced", TAMANIO_OPCIONES));
-            }
+            opciones[i].setFont(fuenteRetro);
             opciones[i].setTextFill(Color.WHITE);
             opciones[i].setMinWidth(320);
             opciones[i].setAlignment(Pos.CENTER);
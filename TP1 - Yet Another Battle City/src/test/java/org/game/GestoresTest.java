@@ -2,7 +2,9 @@ package org.game;
 
 import org.game.visualizacion.GestorImagen;
 import org.game.visualizacion.GestorSonido;
+import org.game.visualizacion.LimitadorVoces;
 import javafx.scene.image.Image;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -18,6 +20,11 @@ public class GestoresTest {
         gestorSonido = new GestorSonido();
     }
 
+    @After
+    public void tearDown() {
+        gestorSonido.cerrar();
+    }
+
     // Se cargan correctamente imágenes válidas.
     @Test
     public void testGestorImagenCargaImagenesValidas() {
@@ -115,4 +122,28 @@ public class GestoresTest {
             fail("Detener sin reproducir no debe lanzar excepción");
         }
     }
+
+    // El limitador no deja sonar más voces que el máximo y las libera al pasar la duración del sonido.
+    @Test
+    public void testLimitadorVocesRespetaMaximo() {
+        LimitadorVoces voces = new LimitadorVoces(2, 1.0);
+        assertTrue(voces.ocupar(0));
+        assertTrue(voces.ocupar(100_000_000L));
+        assertFalse("No debe superar el máximo de voces", voces.ocupar(200_000_000L));
+        assertEquals(2, voces.activas(200_000_000L));
+        assertTrue("La primera voz debe liberarse al terminar", voces.ocupar(1_000_000_000L));
+        assertEquals(2, voces.activas(1_000_000_000L));
+    }
+
+    // Los pedidos del mismo sonido en un cuadro se juntan en uno solo.
+    @Test
+    public void testGestorSonidoJuntaPedidosDelCuadro() {
+        gestorSonido.reproducir("DISPARO");
+        gestorSonido.reproducir("DISPARO");
+        gestorSonido.reproducir("DISPARO");
+        gestorSonido.finalizarCuadro();
+        assertEquals("Los tres pedidos deben sonar como una sola voz", 1, gestorSonido.obtenerVocesActivas("DISPARO"));
+        gestorSonido.detener("DISPARO");
+        assertEquals(0, gestorSonido.obtenerVocesActivas("DISPARO"));
+    }
 }
@@ -3,19 +3,18 @@ package org.game;
 import org.game.modelo.Direccion;
 import org.game.modelo.EstadoJuego;
 import org.game.modelo.Juego;
-import org.game.visualizacion.GestorSonido;
+import org.game.modelo.Posicion;
+import org.game.modelo.entidades.EnemigoBasico;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
 public class JuegoTest {
     private Juego juego;
-    private GestorSonido gestorSonido;
 
     @Before
     public void setUp() {
-        gestorSonido = new GestorSonido();
-        juego = new Juego(1, gestorSonido);
+        juego = new Juego(1);
     }
 
     // Estado inicial del juego.
@@ -54,7 +53,7 @@ public class JuegoTest {
         assertNotNull(juego.obtenerJugador1());
         assertNull(juego.obtenerJugador2());
 
-        Juego juego2 = new Juego(2, gestorSonido);
+        Juego juego2 = new Juego(2);
         assertNotNull(juego2.obtenerJugador1());
         assertNotNull(juego2.obtenerJugador2());
     }
@@ -114,4 +113,36 @@ public class JuegoTest {
         assertEquals("No debe avanzar de nivel tras victoria", nivelAntes, juego.getNroNivelActual());
         assertEquals(EstadoJuego.VICTORIA, juego.obtenerEstadoJuego());
     }
+
+    // El movimiento de un tanque se limita al tablero y un choque lo devuelve a su posición anterior.
+    @Test
+    public void testMovimientoTanque() {
+        var jugador = juego.obtenerJugador1();
+        for (int i = 0; i < 200; i++) {
+            jugador.movimiento(Direccion.IZQUIERDA, 0.1);
+        }
+        assertEquals(0, jugador.obtenerX(), 0);
+        double y = jugador.obtenerY();
+        jugador.movimiento(Direccion.ABAJO, 0.01);
+        assertTrue(jugador.obtenerY() > y);
+        jugador.colisionarConTanque(new EnemigoBasico(jugador.obtenerPosicion()));
+        assertEquals(y, jugador.obtenerY(), 0);
+        assertEquals(new Posicion(0, y), jugador.obtenerPosicion());
+    }
+
+    // Reiniciar el nivel crea un nivel nuevo con todos sus enemigos y el jugador en la posición inicial.
+    @Test
+    public void testReiniciarNivel() {
+        int enemigos = juego.obtenerNivelActual().obtenerTanquesEnemigos().size();
+        var nivelAnterior = juego.obtenerNivelActual();
+        var posicionInicial = juego.obtenerJugador1().obtenerPosicion();
+        juego.obtenerNivelActual().obtenerTanquesEnemigos().get(0).matarEnemigo();
+        juego.update(0.5);
+        juego.reiniciarNivel();
+        assertNotSame(nivelAnterior, juego.obtenerNivelActual());
+        assertEquals(1, juego.getNroNivelActual());
+        assertEquals(EstadoJuego.CORRIENDO, juego.obtenerEstadoJuego());
+        assertEquals(enemigos, juego.obtenerNivelActual().obtenerTanquesEnemigos().size());
+        assertEquals(posicionInicial, juego.obtenerJugador1().obtenerPosicion());
+    }
 }
@@ -1,27 +1,33 @@
 package org.game;
 
+import org.game.modelo.BufferEventos;
 import org.game.modelo.Direccion;
 import org.game.modelo.Posicion;
+import org.game.modelo.TipoEvento;
 import org.game.modelo.entidades.*;
+import org.game.modelo.ia.*;
 import org.game.modelo.terreno.*;
+import org.game.niveles.CatalogoNiveles;
+import org.game.niveles.FormatoNivelBinario;
 import org.game.niveles.Nivel;
 import org.game.niveles.NivelLoader;
-import org.game.visualizacion.GestorSonido;
+import org.game.niveles.PlantillaNivel;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.junit.Assert.*;
 
 public class NivelTest {
     private Nivel nivel;
-    private GestorSonido gestorSonido;
 
     @Before
     public void setUp() {
-        gestorSonido = new GestorSonido();
-        nivel = new Nivel(gestorSonido);
+        nivel = new Nivel();
     }
 
     // Agregar y obtener bloques.
@@ -39,7 +45,7 @@ public class NivelTest {
     // Agregar y obtener tanques.
     @Test
     public void testAgregarYObtenerTanques() {
-        Tanque jugador = new TanquePrimerJugador(new Posicion(0,0), gestorSonido);
+        Tanque jugador = new TanqueJugador(1, new Posicion(0,0), 150, 3, 2, "A", "B");
         nivel.agregarTanque(jugador);
         assertTrue("El tanque debe estar en la lista de tanques", nivel.obtenerTanques().contains(jugador));
         assertEquals("Debe haber exactamente un tanque", 1, nivel.obtenerTanques().size());
@@ -48,7 +54,7 @@ public class NivelTest {
     // Agregar y obtener enemigos.
     @Test
     public void testAgregarYObtenerEnemigos() {
-        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(5,5), gestorSonido);
+        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(5,5));
         nivel.agregarEnemigo(enemigo);
         assertTrue("El enemigo debe estar en la lista de enemigos", nivel.obtenerTanquesEnemigos().contains(enemigo));
         assertEquals("Debe haber exactamente un enemigo", 1, nivel.obtenerTanquesEnemigos().size());
@@ -57,13 +63,29 @@ public class NivelTest {
     // Agregar y obtener balas.
     @Test
     public void testAgregarYObtenerBalas() {
-        Tanque jugador = new TanquePrimerJugador(new Posicion(0,0), gestorSonido);
-        Bala bala = new Bala(new Posicion(1,1), Direccion.ARRIBA, 1.0, jugador, gestorSonido);
+        Tanque jugador = new TanqueJugador(1, new Posicion(0,0), 150, 3, 2, "A", "B");
+        Bala bala = new Bala(new Posicion(1,1), Direccion.ARRIBA, 1.0, jugador);
         nivel.agregarBala(bala);
         assertTrue("La bala debe estar en la lista de balas", nivel.obtenerBalas().contains(bala));
         assertEquals("Debe haber exactamente una bala", 1, nivel.obtenerBalas().size());
     }
 
+    // Las balas que salen del tablero liberan su lugar del pool para el siguiente disparo.
+    @Test
+    public void testPoolBalasReciclaLugares() {
+        Tanque jugador = new TanqueJugador(1, new Posicion(300, 300), 150, 3, 2, "A", "B");
+        PoolBalas balas = nivel.obtenerPoolBalas();
+        assertTrue("El disparo debe ocupar un lugar del pool", jugador.disparar(Direccion.ARRIBA, balas));
+        int lugar = balas.obtenerIndice(0);
+        Bala vista = balas.obtenerBala(lugar);
+        nivel.update(1.0);
+        assertEquals("La bala fuera del tablero debe liberarse", 0, balas.cantidad());
+        assertFalse("La vista de una bala liberada debe quedar inactiva", vista.estaActiva());
+        assertTrue(jugador.disparar(Direccion.ARRIBA, balas));
+        assertEquals("El nuevo disparo debe reutilizar el lugar liberado", lugar, balas.obtenerIndice(0));
+        assertNotSame("El lugar reutilizado no debe devolver la vista anterior", vista, balas.obtenerBala(lugar));
+    }
+
     // Posiciones iniciales de jugadores.
     @Test
     public void testSetYGetPosInicialJugadores() {
@@ -78,13 +100,31 @@ public class NivelTest {
     // Nivel completo.
     @Test
     public void testNivelCompleto() {
-        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(5,5), gestorSonido);
+        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(5,5));
         nivel.agregarEnemigo(enemigo);
         assertFalse("El nivel no debe estar completo si hay tanques", nivel.nivelCompleto());
         nivel.obtenerTanques().clear();
         assertTrue("El nivel debe estar completo si no hay tanques", nivel.nivelCompleto());
     }
 
+    // Las listas de enemigos y jugadores se mantienen al día sin crearse de nuevo.
+    @Test
+    public void testListasPorTipoSeMantienenAlDia() {
+        TanqueJugador jugador = new TanqueJugador(1, new Posicion(300, 300), 150, 3, 2, "A", "B");
+        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(5, 5));
+        nivel.agregarTanque(jugador);
+        nivel.agregarEnemigo(enemigo);
+        List<TanqueEnemigo> enemigos = nivel.obtenerTanquesEnemigos();
+        assertSame("La lista de enemigos no debe crearse en cada consulta", enemigos, nivel.obtenerTanquesEnemigos());
+        assertEquals(List.of(jugador), nivel.obtenerJugadores());
+        assertEquals(1, nivel.cantidadEnemigos());
+        enemigo.matarEnemigo();
+        nivel.update(0.01);
+        assertTrue("El enemigo destruido debe salir de la lista", enemigos.isEmpty());
+        assertTrue(nivel.nivelCompleto());
+        assertEquals(List.of(jugador), nivel.obtenerJugadores());
+    }
+
     // Obtener base.
     @Test
     public void testObtenerBase() {
@@ -93,10 +133,191 @@ public class NivelTest {
         assertEquals("La base debe ser la agregada", base, nivel.obtenerBase());
     }
 
+    // Las consultas por área devuelven solo las entidades cercanas.
+    @Test
+    public void testConsultasPorArea() {
+        Bloque cercano = new BloqueAcero(new Posicion(0, 0));
+        Bloque lejano = new BloqueAcero(new Posicion(500, 500));
+        nivel.agregarBloque(cercano);
+        nivel.agregarBloque(lejano);
+        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(10, 10));
+        nivel.agregarEnemigo(enemigo);
+        List<Bloque> bloques = nivel.bloquesEnArea(5, 5, 10, 10);
+        assertTrue("Debe encontrar el bloque cercano", bloques.contains(cercano));
+        assertFalse("No debe encontrar el bloque lejano", bloques.contains(lejano));
+        assertTrue("Debe encontrar el tanque cercano", nivel.tanquesEnArea(5, 5, 10, 10).contains(enemigo));
+        assertTrue("No debe encontrar tanques lejos", nivel.tanquesEnArea(400, 400, 10, 10).isEmpty());
+    }
+
+    // Agregar o destruir un bloque marca solo las celdas de terreno que ocupa.
+    @Test
+    public void testTerrenoModificadoPorCeldas() {
+        Bloque ladrillo = new BloqueLadrillo(new Posicion(Bloque.ANCHO_BLOQUE, 0));
+        nivel.agregarBloque(ladrillo);
+        Terreno terreno = nivel.obtenerTerreno();
+        assertTrue("Agregar un bloque debe modificar el terreno", terreno.hayModificaciones());
+        terreno.limpiarModificaciones();
+        while (ladrillo.existe()) {
+            ladrillo.impactoBala();
+        }
+        nivel.update(0);
+        assertTrue("Destruir un bloque debe modificar el terreno", terreno.hayModificaciones());
+        assertTrue("La celda del bloque debe estar modificada", terreno.consumirCeldaModificada(1, 0));
+        assertFalse("La celda ya consumida no debe seguir modificada", terreno.consumirCeldaModificada(1, 0));
+        assertFalse("Las celdas vecinas no deben estar modificadas", terreno.consumirCeldaModificada(0, 0));
+    }
+
+    // El terreno guarda los bloques por celda y solo crea objetos Bloque cuando se piden.
+    @Test
+    public void testTerrenoPorCeldas() {
+        Posicion posicion = new Posicion(2 * Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE);
+        nivel.agregarBloque(TipoBloque.LADRILLO, posicion);
+        nivel.agregarBloque(TipoBloque.ACERO, posicion);
+        Terreno terreno = nivel.obtenerTerreno();
+        int celda = Terreno.celda(2, 1);
+        assertEquals("La celda debe guardar el primer bloque", TipoBloque.LADRILLO, terreno.tipo(celda));
+        assertEquals("El bloque en una celda ocupada debe quedar suelto", 1, nivel.obtenerBloquesSueltos().size());
+        assertTrue("El terreno debe impedir el paso sobre el ladrillo", terreno.impidePaso((int)posicion.x() + 5, (int)posicion.y() + 5, 10, 10));
+        Bloque vista = terreno.obtenerBloque(celda);
+        assertSame("La vista de la celda debe ser siempre la misma", vista, nivel.bloquesEnArea((int)posicion.x(), (int)posicion.y(), 1, 1).get(0));
+        while (terreno.ocupada(celda)) {
+            vista.impactoBala();
+        }
+        assertFalse("La vista debe quedar destruida al vaciarse la celda", vista.existe());
+        assertEquals("La celda destruida debe quedar vacía", TipoBloque.VACIO, terreno.tipo(celda));
+    }
+
+    // Con un paso largo la bala no atraviesa el bloque que está en su recorrido.
+    @Test
+    public void testBalaNoAtraviesaBloquesConPasoLargo() {
+        nivel.agregarBloque(TipoBloque.LADRILLO, new Posicion(2 * Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE));
+        Tanque jugador = new TanqueJugador(1, new Posicion(500, 500), 150, 3, 2, "A", "B");
+        PoolBalas balas = nivel.obtenerPoolBalas();
+        balas.disparar(400, Bloque.ALTURA_BLOQUE + 10, Direccion.IZQUIERDA, 400, jugador);
+        nivel.update(0.9);
+        assertEquals("La bala debe detenerse en el ladrillo", 0, balas.cantidad());
+        assertEquals("El ladrillo debe recibir el impacto", 2, nivel.obtenerTerreno().vida(Terreno.celda(2, 1)));
+    }
+
+    // Los impactos y destrucciones se anotan en el buffer de eventos en lugar de reproducir sonidos.
+    @Test
+    public void testImpactosSeAnotanComoEventos() {
+        nivel.agregarBloque(TipoBloque.LADRILLO, new Posicion(2 * Bloque.ANCHO_BLOQUE, Bloque.ALTURA_BLOQUE));
+        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(300, 300));
+        nivel.agregarEnemigo(enemigo);
+        Tanque jugador = new TanqueJugador(1, new Posicion(500, 500), 150, 3, 2, "A", "B");
+        nivel.obtenerPoolBalas().disparar(400, Bloque.ALTURA_BLOQUE + 10, Direccion.IZQUIERDA, 400, jugador);
+        enemigo.matarEnemigo();
+        nivel.update(0.9);
+        BufferEventos eventos = nivel.obtenerEventos();
+        assertEquals(1, eventos.contar(TipoEvento.BLOQUE_IMPACTADO));
+        assertEquals(1, eventos.contar(TipoEvento.TANQUE_DESTRUIDO));
+        int[] tipoBloque = {-1};
+        eventos.recorrer((tipo, x, y, dato) -> {
+            if (tipo == TipoEvento.BLOQUE_IMPACTADO) {
+                tipoBloque[0] = dato;
+            }
+        });
+        assertEquals("El evento debe indicar el tipo de bloque impactado", TipoBloque.LADRILLO.ordinal(), tipoBloque[0]);
+        eventos.limpiar();
+        assertEquals(0, eventos.cantidad());
+    }
+
+    // El campo de flujo rodea los bloques indestructibles, guía a los enemigos y solo se recalcula si cambia el terreno.
+    @Test
+    public void testCampoFlujoGuiaEnemigosHaciaLaBase() {
+        int t = Terreno.TAMANIO_CELDA;
+        nivel.agregarBloque(new BloqueBase(new Posicion(6 * t, 12 * t)));
+        nivel.agregarBloque(TipoBloque.ACERO, new Posicion(6 * t, 11 * t));
+        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(6 * t, 2 * t));
+        nivel.agregarEnemigo(enemigo);
+        nivel.usarModoIA(ModoIA.DIRIGIDO);
+        nivel.update(0);
+        CampoFlujo campo = nivel.obtenerCampoBase();
+        Direccion desdeArriba = campo.direccion(Terreno.celda(6, 10));
+        assertTrue("Debe rodear el acero", desdeArriba == Direccion.IZQUIERDA || desdeArriba == Direccion.DERECHA);
+        assertEquals(4, campo.costo(Terreno.celda(6, 10)));
+        nivel.update(0.1);
+        assertEquals("Sin cambios en el terreno no debe recalcularse", 1, campo.obtenerCalculos());
+        nivel.agregarBloque(TipoBloque.LADRILLO, new Posicion(6 * t, 9 * t));
+        nivel.update(0.1);
+        assertEquals(2, campo.obtenerCalculos());
+        double yInicial = enemigo.obtenerPosicion().y();
+        for (int i = 0; i < 30; i++) {
+            nivel.update(0.05);
+        }
+        assertTrue("El enemigo debe avanzar hacia la base", enemigo.obtenerPosicion().y() > yInicial);
+    }
+
+    // Dañar un ladrillo abarata el camino que lo atraviesa sin esperar a que se rompa.
+    @Test
+    public void testCampoFlujoSeActualizaAlDaniarUnLadrillo() {
+        int t = Terreno.TAMANIO_CELDA;
+        nivel.agregarBloque(new BloqueBase(new Posicion(0, 12 * t)));
+        nivel.agregarBloque(TipoBloque.ACERO, new Posicion(0, 11 * t));
+        nivel.agregarBloque(TipoBloque.LADRILLO, new Posicion(t, 12 * t));
+        nivel.usarModoIA(ModoIA.DIRIGIDO);
+        nivel.update(0);
+        CampoFlujo campo = nivel.obtenerCampoBase();
+        int costoLadrilloEntero = campo.costo(Terreno.celda(2, 12));
+        nivel.obtenerTerreno().impactar(Terreno.celda(1, 12));
+        nivel.update(0);
+        assertEquals(costoLadrilloEntero - CampoFlujo.COSTO_POR_IMPACTO, campo.costo(Terreno.celda(2, 12)));
+    }
+
+    // Cada tipo de enemigo tiene su conducta y el planificador reparte las decisiones por turnos entre ticks.
+    @Test
+    public void testPlanificadorReparteDecisionesPorTurnos() {
+        assertTrue(new EnemigoRapido(new Posicion(0, 0)).obtenerConducta() instanceof ConductaCazador);
+        assertTrue(new EnemigoBlindado(new Posicion(0, 0)).obtenerConducta() instanceof ConductaDefensor);
+        assertTrue(new EnemigoBasico(new Posicion(0, 0)).obtenerConducta() instanceof ConductaAsaltoBase);
+        for (int i = 0; i < 5; i++) {
+            nivel.agregarEnemigo(new EnemigoPotente(new Posicion(i * 2 * Terreno.TAMANIO_CELDA, 0)));
+        }
+        PlanificadorIA planificador = new PlanificadorIA(2, 0);
+        nivel.usarPlanificadorIA(planificador);
+        nivel.usarModoIA(ModoIA.DIRIGIDO);
+        nivel.update(0.01);
+        assertEquals("No debe decidir más enemigos que el límite por tick", 2, planificador.obtenerDecisiones());
+        nivel.update(0.01);
+        nivel.update(0.01);
+        assertEquals(6, planificador.obtenerDecisiones());
+    }
+
+    // El enemigo apunta al jugador que tiene a la vista y no dispara si un bloque de acero tapa la línea.
+    @Test
+    public void testEnemigoApuntaSoloConLineaDeVision() {
+        int t = Terreno.TAMANIO_CELDA;
+        EnemigoBasico enemigo = new EnemigoBasico(new Posicion(2 * t, 2 * t));
+        TanqueJugador jugador = new TanqueJugador(1, new Posicion(8 * t, 2 * t), 150, 3, 2, "A", "B");
+        nivel.agregarEnemigo(enemigo);
+        nivel.agregarTanque(jugador);
+        assertEquals(Direccion.DERECHA, enemigo.apuntar(nivel));
+        assertEquals("Debe girar hacia el blanco", Direccion.DERECHA, enemigo.obtenerDireccion());
+        nivel.agregarBloque(TipoBloque.ACERO, new Posicion(5 * t, 2 * t));
+        assertNull(enemigo.apuntar(nivel));
+    }
+
+    // Los efectos temporales de los tanques se descuentan con el tiempo de juego.
+    @Test
+    public void testEfectosTemporalesUsanTiempoDeJuego() {
+        Tanque jugador = new TanqueJugador(1, new Posicion(0,0), 150, 3, 2, "A", "B");
+        nivel.agregarTanque(jugador);
+        jugador.congelar();
+        jugador.hacerInvulnerable();
+        nivel.update(2.5);
+        assertFalse("Debe seguir congelado antes de los 3 segundos", jugador.puedeMoverse());
+        nivel.update(1.0);
+        assertTrue("Debe descongelarse luego de 3 segundos de juego", jugador.puedeMoverse());
+        assertTrue("Debe seguir invulnerable antes de los 10 segundos", jugador.esInvulnerable());
+        nivel.update(7.0);
+        assertFalse("La invulnerabilidad debe expirar luego de 10 segundos de juego", jugador.esInvulnerable());
+    }
+
     // Carga y validación de un nivel real.
     @Test
     public void testIntegracionNivelLoaderCompleto() {
-        NivelLoader loader = new NivelLoader(gestorSonido);
+        NivelLoader loader = new NivelLoader();
         Nivel nivelCargado = loader.load(1);
         assertNotNull("El nivel cargado no debe ser null", nivelCargado);
         assertNotNull("La lista de bloques no debe ser null", nivelCargado.obtenerBloques());
@@ -110,4 +331,45 @@ public class NivelTest {
             assertNotNull("El tanque debe tener posición", t.obtenerPosicion());
         }
     }
+
+    // El formato binario conserva todos los registros del nivel XML.
+    @Test
+    public void testFormatoBinarioConservaNivel() throws Exception {
+        PlantillaNivel xml;
+        try (InputStream entrada = getClass().getResourceAsStream("/niveles/GeneratedLevels/Level1.xml")) {
+            xml = NivelLoader.leerXML(entrada);
+        }
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        FormatoNivelBinario.escribir(xml, salida);
+        PlantillaNivel binario = FormatoNivelBinario.leer(new ByteArrayInputStream(salida.toByteArray()));
+
+        assertEquals(xml.obtenerPosJugador1(), binario.obtenerPosJugador1());
+        assertEquals(xml.obtenerPosJugador2(), binario.obtenerPosJugador2());
+        assertEquals(xml.cantidadEnemigos(), binario.cantidadEnemigos());
+        for (int i = 0; i < xml.cantidadEnemigos(); i++) {
+            assertEquals(xml.tipoEnemigo(i), binario.tipoEnemigo(i));
+            assertEquals(xml.xEnemigo(i), binario.xEnemigo(i), 0);
+            assertEquals(xml.yEnemigo(i), binario.yEnemigo(i), 0);
+        }
+        assertEquals(xml.cantidadBloques(), binario.cantidadBloques());
+        for (int i = 0; i < xml.cantidadBloques(); i++) {
+            assertEquals(xml.tipoBloque(i), binario.tipoBloque(i));
+            assertEquals(xml.xBloque(i), binario.xBloque(i), 0);
+            assertEquals(xml.yBloque(i), binario.yBloque(i), 0);
+        }
+    }
+
+    // El catálogo indexa los niveles disponibles y reutiliza la plantilla de cada uno.
+    @Test
+    public void testCatalogoNiveles() {
+        CatalogoNiveles catalogo = new CatalogoNiveles();
+        assertEquals("Deben estar indexados los tres niveles", 3, catalogo.cantidadNiveles());
+        assertTrue(catalogo.existeNivel(1));
+        assertFalse(catalogo.existeNivel(0));
+        assertFalse(catalogo.existeNivel(4));
+        catalogo.precargar();
+        assertSame("La plantilla debe leerse una sola vez", catalogo.obtenerPlantilla(2), catalogo.obtenerPlantilla(2));
+        NivelLoader loader = new NivelLoader(new java.util.SplittableRandom(1), catalogo);
+        assertNotSame("Cada carga debe crear un nivel nuevo", loader.load(2), loader.load(2));
+    }
 }
@@ -0,0 +1,145 @@
+package org.game;
+
+import org.game.controladores.EntradaJugadores;
+import org.game.modelo.Direccion;
+import org.game.modelo.EstadoJuego;
+import org.game.modelo.Juego;
+import org.game.modelo.entidades.ModoIA;
+import org.game.modelo.entidades.Tanque;
+import org.game.modelo.ia.PlanificadorIA;
+import org.game.repeticion.Repeticion;
+import org.game.repeticion.ReproductorRepeticion;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class SimuladorTest {
+    private Simulador simulador;
+
+    @Before
+    public void setUp() {
+        simulador = new Simulador(new Juego(1), 60);
+    }
+
+    // El simulador no ejecuta más ticks que el máximo indicado.
+    @Test
+    public void testEjecutarRespetaMaximoDeTicks() {
+        long ejecutados = simulador.ejecutar(100);
+        assertTrue("No debe superar el máximo de ticks", ejecutados <= 100);
+        assertEquals(ejecutados, simulador.obtenerTicks());
+        assertEquals(ejecutados / 60.0, simulador.obtenerTiempoSimulado(), 1e-9);
+    }
+
+    // Ejecutar una partida completa la lleva a un estado final.
+    @Test
+    public void testPartidaCompletaTermina() {
+        simulador.ejecutar(60L * 60 * 60);
+        assertTrue("La partida debe haber terminado", simulador.terminado());
+        EstadoJuego estado = simulador.obtenerJuego().obtenerEstadoJuego();
+        assertTrue(estado == EstadoJuego.FIN || estado == EstadoJuego.VICTORIA);
+        assertTrue("Debe medir la velocidad de simulación", simulador.obtenerTicksPorSegundo() > 0);
+    }
+
+    // Dos partidas con la misma semilla y sin entradas evolucionan de forma idéntica.
+    @Test
+    public void testMismaSemillaReproduceLaPartida() {
+        Simulador a = new Simulador(new Juego(1, 42L), 60);
+        Simulador b = new Simulador(new Juego(1, 42L), 60);
+        a.ejecutar(3000);
+        b.ejecutar(3000);
+        assertEquals(a.obtenerTicks(), b.obtenerTicks());
+        assertEquals(a.obtenerJuego().obtenerEstadoJuego(), b.obtenerJuego().obtenerEstadoJuego());
+        assertEquals(posiciones(a.obtenerJuego()), posiciones(b.obtenerJuego()));
+    }
+
+    // El paso fijo reparte el tiempo real en pasos enteros y acota los pasos de un cuadro largo.
+    @Test
+    public void testPasoFijoAcumulaYAcota() {
+        PasoFijo pasoFijo = new PasoFijo(100, 5);
+        assertEquals(0, pasoFijo.avanzar(0.004));
+        assertEquals(1, pasoFijo.avanzar(0.011));
+        assertEquals(0.5, pasoFijo.obtenerAlfa(), 1e-9);
+        assertEquals("Un cuadro muy largo no debe ejecutar más pasos que el máximo", 5, pasoFijo.avanzar(2.0));
+        assertEquals("El tiempo descartado no debe arrastrarse al cuadro siguiente", 0, pasoFijo.avanzar(0.0));
+    }
+
+    // Las partidas jugadas en paralelo dan el mismo resultado que jugadas de a una.
+    @Test
+    public void testEjecutorParaleloCoincideConSecuencial() {
+        EjecutorPartidas ejecutor = new EjecutorPartidas(4, 1, 2000, 60);
+        long[] semillas = {1L, 2L, 3L, 4L, 5L, 6L};
+        int[] niveles = {1, 2, 3, 1, 2, 3};
+        List<ResultadoPartida> resultados = ejecutor.ejecutar(semillas, niveles);
+        assertEquals(semillas.length, resultados.size());
+        for (int i = 0; i < semillas.length; i++) {
+            assertEquals(ejecutor.jugar(semillas[i], niveles[i]), resultados.get(i));
+            assertTrue("La partida debe comenzar en el nivel indicado", resultados.get(i).nivelAlcanzado() >= niveles[i]);
+        }
+        assertEquals(semillas.length, ResumenPartidas.de(resultados).partidas());
+    }
+
+    // Una partida grabada tick a tick se guarda comprimida junto con la configuración de la inteligencia y,
+    // al reproducirla, llega exactamente al mismo estado.
+    @Test
+    public void testRepeticionReproduceLaPartidaGrabada() throws Exception {
+        Juego juego = new Juego(2, 7L);
+        juego.usarModoIA(ModoIA.DIRIGIDO);
+        juego.usarDisparoApuntado(true);
+        juego.usarPlanificadorIA(new PlanificadorIA(3, 0));
+        Repeticion grabacion = Repeticion.grabar(juego, 60);
+        SplittableRandom teclas = new SplittableRandom(3L);
+        Direccion[] direcciones = Direccion.values();
+        int entrada = EntradaJugadores.SIN_ENTRADA;
+        for (int tick = 0; tick < 1500 && juego.obtenerEstadoJuego() == EstadoJuego.CORRIENDO; tick++) {
+            if (tick % 20 == 0) {
+                entrada = EntradaJugadores.codificar(direcciones[teclas.nextInt(direcciones.length)], teclas.nextBoolean(),
+                        teclas.nextBoolean() ? null : direcciones[teclas.nextInt(direcciones.length)], false);
+            }
+            grabacion.agregar(entrada);
+            EntradaJugadores.aplicar(juego, entrada, 1.0 / 60);
+            juego.update(1.0 / 60);
+        }
+        assertTrue("Las rachas deben comprimir los ticks", grabacion.cantidadRachas() < grabacion.obtenerTicks() / 10);
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        grabacion.escribir(salida);
+        Repeticion leida = Repeticion.leer(new ByteArrayInputStream(salida.toByteArray()));
+        assertEquals(grabacion.obtenerTicks(), leida.obtenerTicks());
+
+        ReproductorRepeticion reproductor = new ReproductorRepeticion(leida);
+        Juego reproducido = reproductor.obtenerJuego();
+        assertEquals(ModoIA.DIRIGIDO, reproducido.obtenerModoIA());
+        assertTrue(reproducido.usaDisparoApuntado());
+        assertEquals(3, reproducido.obtenerPlanificadorIA().obtenerDecisionesPorTick());
+        reproductor.avanzarHasta(leida.obtenerTicks() / 2);
+        assertEquals("Debe poder adelantarse hasta un tick", leida.obtenerTicks() / 2, reproductor.obtenerTick());
+        reproductor.avanzarHasta(Long.MAX_VALUE);
+        assertTrue(reproductor.terminada());
+        assertEquals(juego.obtenerEstadoJuego(), reproductor.obtenerJuego().obtenerEstadoJuego());
+        assertEquals(posiciones(juego), posiciones(reproductor.obtenerJuego()));
+    }
+
+    // Con presupuesto de tiempo las decisiones de los enemigos dependen de la máquina, así que no se puede grabar.
+    @Test(expected = IllegalArgumentException.class)
+    public void testGrabarRechazaPlanificadorConPresupuesto() {
+        Juego juego = new Juego(1, 7L);
+        juego.usarPlanificadorIA(new PlanificadorIA(PlanificadorIA.DECISIONES_POR_TICK, 500_000));
+        Repeticion.grabar(juego, 60);
+    }
+
+    private static List<Object> posiciones(Juego juego) {
+        List<Object> posiciones = new ArrayList<>();
+        for (Tanque tanque: juego.obtenerNivelActual().obtenerTanques()) {
+            posiciones.add(tanque.obtenerPosicion());
+        }
+        posiciones.add(juego.obtenerNivelActual().obtenerBloques().size());
+        return posiciones;
+    }
+}